@@ -0,0 +1,40 @@
+package cs1302.game.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the garbage collection profiler always on, so every result
+ * reports the allocation rate ({@code gc.alloc.rate.norm}, bytes per operation) next to
+ * the throughput. Takes the same command line options as JMH itself, for example
+ * {@code java -jar benchmarks.jar MoveBenchmark -p size=1000 -rf json}.
+ */
+public class Benchmarks {
+
+    /**
+     * Runs the benchmarks from the command line.
+     *
+     * @param args JMH command line options
+     * @throws RunnerException if a benchmark fails
+     */
+    public static void main(String[] args) throws RunnerException {
+        CommandLineOptions commandLine = null;
+        try {
+            commandLine = new CommandLineOptions(args);
+        } catch (CommandLineOptionException cloe) {
+            System.err.println("\nError parsing command line: " + cloe.getMessage());
+            System.exit(1);
+        } // try-catch
+        Options options = new OptionsBuilder()
+            .parent(commandLine)
+            .addProfiler(GCProfiler.class)
+            .build();
+        new Runner(options).run();
+    } // main
+
+} // Benchmarks
@@ -0,0 +1,122 @@
+package cs1302.game.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import cs1302.game.BitBoard;
+import cs1302.game.SquareList;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for revealing a square in a corner, on an edge, or in the interior of the mine
+ * field. The count of surrounding mines is worked out once as mines are placed, and the
+ * neighbor loops of a region reveal are clamped to the mine field, so a square on the
+ * border should cost no more than one in the interior and no exception is ever thrown.
+ *
+ * <p>
+ * A reveal changes the mine field, so every call plays on a new copy of it, made before the
+ * call and not measured. The copy has no mines next to the square and a mine on every
+ * square two away from it, so {@code revealRegion} reveals exactly the square and its
+ * neighbors: 4 squares in a corner, 6 on an edge, and 9 in the interior. Each call is timed
+ * on its own, which adds the same few nanoseconds of timer overhead to every position.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class BoardBenchmark {
+
+    /**
+     * The square being revealed, on a new copy of the mine field for every call.
+     */
+    @State(Scope.Thread)
+    public static class Square {
+
+        /** Where the square is: "corner", "edge", or "interior". */
+        @Param({"corner", "edge", "interior"})
+        public String position;
+
+        private MineFieldState field;
+        private BitBoard mineField;
+        private SquareList changed;
+        private int row;
+        private int col;
+
+        /**
+         * Picks the square.
+         *
+         * @param field the mine field
+         */
+        @Setup(Level.Trial)
+        public void setUp(MineFieldState field) {
+            this.field = field;
+            row = position.equals("interior") ? field.size / 2 : 0;
+            col = position.equals("corner") ? 0 : field.size / 2;
+            changed = new SquareList();
+        } // setUp
+
+        /**
+         * Makes a new copy of the mine field with every square hidden, no mines on or next
+         * to the square, and a mine on every square two away from it. The square is read
+         * once so the call does not pay for bringing a new copy into the cache.
+         */
+        @Setup(Level.Invocation)
+        public void reset() {
+            mineField = new BitBoard(field.size, field.size);
+            for (int i = 0; i < field.mines.length; i += 2) {
+                int r = field.mines[i];
+                int c = field.mines[i + 1];
+                if (Math.max(Math.abs(r - row), Math.abs(c - col)) > 2) {
+                    mineField.placeMine(r, c);
+                }
+            } // for
+            for (int r = Math.max(row - 2, 0); r <= Math.min(row + 2, field.size - 1); r++) {
+                for (int c = Math.max(col - 2, 0); c <= Math.min(col + 2, field.size - 1); c++) {
+                    if (Math.max(Math.abs(r - row), Math.abs(c - col)) == 2) {
+                        mineField.placeMine(r, c);
+                    }
+                } // for-inner
+            } // for-outer
+            mineField.getMarker(row, col);
+            changed.clear();
+        } // reset
+
+    } // Square
+
+    /**
+     * Reveals the square on its own.
+     *
+     * @param square the square
+     * @return the number of revealed squares
+     */
+    @Benchmark
+    public int reveal(Square square) {
+        square.mineField.reveal(square.row, square.col);
+        return square.mineField.getNumRevealed();
+    } // reveal
+
+    /**
+     * Reveals the square and the region of squares with no surrounding mines around it,
+     * keeping the changed squares as the game does.
+     *
+     * @param square the square
+     * @return the number of revealed squares
+     */
+    @Benchmark
+    public int revealRegion(Square square) {
+        return square.mineField.revealRegion(square.row, square.col, square.changed);
+    } // revealRegion
+
+} // BoardBenchmark
@@ -0,0 +1,74 @@
+package cs1302.game.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import cs1302.game.BitBoard;
+import cs1302.game.MineGenerator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for placing mines from a random seed, on mine fields of 1, 10, and 100
+ * million squares. Each call builds a new mine field and places every mine on it, the way
+ * a generated seed file is played, with the first square revealed in the middle of the
+ * mine field. Mine fields this large are only built a few times, so each call is timed
+ * on its own.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgs = {"-Xms3g", "-Xmx3g"})
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class GeneratorBenchmark {
+
+    /**
+     * The size of the mine field and how many mines to place.
+     */
+    @State(Scope.Benchmark)
+    public static class Field {
+
+        /** Number of rows and columns in the mine field. */
+        @Param({"1000", "3163", "10000"})
+        public int size;
+
+        /** Fraction of the squares that are mines. */
+        @Param({"0.01", "0.2", "0.8"})
+        public double density;
+
+        private MineGenerator generator;
+
+        /**
+         * Creates the generator.
+         */
+        @Setup(Level.Trial)
+        public void setUp() {
+            generator = new MineGenerator(size, size, (int) ((long) size * size * density), 1302);
+        } // setUp
+
+    } // Field
+
+    /**
+     * Builds a mine field and places every mine, leaving the middle square safe.
+     *
+     * @param field the size of the mine field and how many mines to place
+     * @return the mine field
+     */
+    @Benchmark
+    public BitBoard generate(Field field) {
+        BitBoard mineField = new BitBoard(field.size, field.size);
+        field.generator.placeMines(mineField, field.size / 2, field.size / 2);
+        return mineField;
+    } // generate
+
+} // GeneratorBenchmark
@@ -0,0 +1,205 @@
+package cs1302.game.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import cs1302.game.MalformedSeedException;
+import cs1302.game.MinesweeperEngine;
+import cs1302.game.MinesweeperGame;
+import cs1302.game.MinesweeperReplay;
+import cs1302.game.MoveJournal;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for writing a move journal and replaying it. The journal flags every mine and
+ * then reveals every square without a mine but one, in random order, so the game is never
+ * over and every move changes the mine field. The "moves" counter of {@code replay} is the
+ * number of moves replayed each second.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JournalBenchmark {
+
+    /**
+     * A journal of one game, and replays of it with and without snapshots.
+     */
+    @State(Scope.Benchmark)
+    public static class Journal {
+
+        /** Replays the journal from the first move every time. */
+        public MinesweeperReplay fromStart;
+
+        /** Replays the journal from the nearest snapshot. */
+        public MinesweeperReplay fromCheckpoint;
+
+        /** Number of moves in the journal. */
+        public long moves;
+
+        private Path journalPath;
+        private long next;
+
+        /**
+         * Plays the game and writes its journal.
+         *
+         * @param field the mine field
+         * @throws IOException if a file cannot be read or written
+         * @throws MalformedSeedException if the seed file is malformed
+         */
+        @Setup(Level.Trial)
+        public void setUp(MineFieldState field) throws IOException, MalformedSeedException {
+            journalPath = Files.createTempFile("minesweeper-bench", ".journal");
+            MinesweeperEngine engine = new MinesweeperEngine(field.readSeedFile());
+            try (MoveJournal journal = new MoveJournal(journalPath, engine, 1 << 12, 1000)) {
+                engine.setJournal(journal);
+                for (int i = 0; i < field.mines.length; i += 2) {
+                    engine.mark(field.mines[i], field.mines[i + 1]);
+                } // for
+                for (int i = 1; i < field.safeSquares.length; i++) {
+                    engine.reveal(field.safeSquares[i] / field.size,
+                        field.safeSquares[i] % field.size);
+                } // for
+            } // try
+            String seedPath = field.seedPath.toString();
+            int maxSize = MinesweeperGame.LARGE_MAX_SIZE;
+            fromStart = new MinesweeperReplay(seedPath, journalPath, maxSize, Integer.MAX_VALUE);
+            fromCheckpoint = new MinesweeperReplay(seedPath, journalPath, maxSize);
+            moves = fromStart.getMoves();
+            fromCheckpoint.replayTo(moves);
+        } // setUp
+
+        /**
+         * Returns the next move to go to, stepping through the journal 7919 moves at a time.
+         *
+         * @return the move
+         */
+        public long nextMove() {
+            next = (next + 7919) % (moves + 1);
+            return next;
+        } // nextMove
+
+        /**
+         * Deletes the journal.
+         *
+         * @throws IOException if the journal cannot be deleted
+         */
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            Files.deleteIfExists(journalPath);
+        } // tearDown
+
+    } // Journal
+
+    /**
+     * Counts the moves replayed, reported by JMH as moves per second.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Counters {
+
+        /** Number of moves replayed in this iteration. */
+        public long moves;
+
+        /**
+         * Starts counting again for each iteration.
+         */
+        @Setup(Level.Iteration)
+        public void reset() {
+            moves = 0;
+        } // reset
+
+    } // Counters
+
+    /**
+     * A journal being written, with {@code group} records forced to the disk together.
+     */
+    @State(Scope.Thread)
+    public static class Writer {
+
+        /** Number of records written and forced together. */
+        @Param({"1", "64", "4096"})
+        public int group;
+
+        /** The journal. */
+        public MoveJournal journal;
+
+        private Path journalPath;
+
+        /**
+         * Opens a new journal.
+         *
+         * @param field the mine field
+         * @throws IOException if the journal cannot be opened
+         */
+        @Setup(Level.Iteration)
+        public void setUp(MineFieldState field) throws IOException {
+            journalPath = Files.createTempFile("minesweeper-bench", ".journal");
+            journal = new MoveJournal(journalPath, field.newEngine(), group, 1000);
+        } // setUp
+
+        /**
+         * Closes and deletes the journal.
+         *
+         * @throws IOException if the journal cannot be closed or deleted
+         */
+        @TearDown(Level.Iteration)
+        public void tearDown() throws IOException {
+            journal.close();
+            Files.deleteIfExists(journalPath);
+        } // tearDown
+
+    } // Writer
+
+    /**
+     * Replays the whole journal from the first move.
+     *
+     * @param journal  the journal
+     * @param counters counts the moves replayed
+     * @return the game after the last move
+     */
+    @Benchmark
+    public MinesweeperEngine replay(Journal journal, Counters counters) {
+        counters.moves += journal.moves;
+        return journal.fromStart.replayTo(journal.moves);
+    } // replay
+
+    /**
+     * Goes to a move spread through the journal, starting from the nearest snapshot.
+     *
+     * @param journal the journal
+     * @return the game after the move
+     */
+    @Benchmark
+    public MinesweeperEngine seek(Journal journal) {
+        return journal.fromCheckpoint.replayTo(journal.nextMove());
+    } // seek
+
+    /**
+     * Adds one record to a journal.
+     *
+     * @param writer the journal
+     */
+    @Benchmark
+    public void append(Writer writer) {
+        writer.journal.append(MoveJournal.REVEAL, 1, 2);
+    } // append
+
+} // JournalBenchmark
@@ -0,0 +1,101 @@
+package cs1302.game.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import cs1302.game.GameMetrics;
+import cs1302.game.Histogram;
+import cs1302.game.MinesweeperEngine;
+import cs1302.game.MoveResult;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for recording metrics. {@code record} records into one histogram shared by
+ * every benchmark thread (run with {@code -t} to see it under contention), and
+ * {@code reveal} is {@code MoveBenchmark.reveal} with metrics recorded, to compare against
+ * it. Neither should allocate anything ({@code gc.alloc.rate.norm} of 0 for {@code record},
+ * and the same as {@code MoveBenchmark.reveal} for {@code reveal}).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MetricsBenchmark {
+
+    /**
+     * Metrics shared by every benchmark thread.
+     */
+    @State(Scope.Benchmark)
+    public static class Shared {
+
+        private final GameMetrics metrics = new GameMetrics();
+        private final Histogram histogram = new Histogram();
+
+    } // Shared
+
+    /**
+     * A game being played by one benchmark thread, with its metrics recorded.
+     */
+    @State(Scope.Thread)
+    public static class Game {
+
+        private MinesweeperEngine engine;
+        private int next;
+        private long value;
+
+        /**
+         * Starts a new game.
+         *
+         * @param field  the mine field
+         * @param shared the metrics
+         */
+        @Setup(Level.Iteration)
+        public void reset(MineFieldState field, Shared shared) {
+            engine = field.newEngine();
+            engine.setMetrics(shared.metrics);
+            next = 0;
+        } // reset
+
+    } // Game
+
+    /**
+     * Records one value, spread over a wide range of buckets.
+     *
+     * @param shared the histogram
+     * @param game   where the next value is kept
+     */
+    @Benchmark
+    public void record(Shared shared, Game game) {
+        game.value = game.value * 6364136223846793005L + 1442695040888963407L;
+        shared.histogram.record(game.value >>> (game.value >>> 58));
+    } // record
+
+    /**
+     * Reveals the next square without a mine, recording how long it took.
+     *
+     * @param field  the mine field
+     * @param shared the metrics
+     * @param game   the game being played
+     * @return what the move did
+     */
+    @Benchmark
+    public MoveResult reveal(MineFieldState field, Shared shared, Game game) {
+        if (game.next == field.safeSquares.length) {
+            game.reset(field, shared);
+        }
+        int square = field.safeSquares[game.next++];
+        return game.engine.reveal(square / field.size, square % field.size);
+    } // reveal
+
+} // MetricsBenchmark
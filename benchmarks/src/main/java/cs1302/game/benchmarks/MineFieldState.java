@@ -0,0 +1,156 @@
+package cs1302.game.benchmarks;
+
+import java.util.Random;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import cs1302.game.BitBoard;
+import cs1302.game.MinesweeperEngine;
+import cs1302.game.MinesweeperGame;
+import cs1302.game.SeedFile;
+import cs1302.game.MalformedSeedException;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmark state holding a random mine field with {@code size} rows and columns and about
+ * {@code density} of its squares mined. The mine field is written to a seed file once per
+ * trial, and the same mine field (from a fixed random seed) is used for every benchmark with
+ * the same parameters, so results can be compared from run to run.
+ */
+@State(Scope.Benchmark)
+public class MineFieldState {
+
+    /** Number of rows and columns in the mine field. */
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    /** Fraction of the squares that are mines. */
+    @Param({"0.1", "0.2"})
+    public double density;
+
+    /** Number of mines in the mine field. */
+    public int numberOfMines;
+
+    /** Row and column of every mine, one pair after another. */
+    public int[] mines;
+
+    /** Every square without a mine (as {@code row * size + col}), in random order. */
+    public int[] safeSquares;
+
+    /** Every square (as {@code row * size + col}), in random order. */
+    public int[] allSquares;
+
+    /** Seed file describing the mine field. */
+    public Path seedPath;
+
+    /**
+     * Picks the mines at random and writes the seed file.
+     *
+     * @throws IOException if the seed file cannot be written
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Random random = new Random(1302);
+        int squares = size * size;
+        numberOfMines = Math.max(1, (int) (squares * density));
+        int[] order = shuffledSquares(squares, random);
+        boolean[] mined = new boolean[squares];
+        mines = new int[numberOfMines * 2];
+        for (int i = 0; i < numberOfMines; i++) {
+            mined[order[i]] = true;
+            mines[2 * i] = order[i] / size;
+            mines[2 * i + 1] = order[i] % size;
+        } // for
+        safeSquares = new int[squares - numberOfMines];
+        int next = 0;
+        for (int square : shuffledSquares(squares, random)) {
+            if (!mined[square]) {
+                safeSquares[next++] = square;
+            }
+        } // for
+        allSquares = shuffledSquares(squares, random);
+        seedPath = Files.createTempFile("minesweeper-bench", ".seed.txt");
+        try (PrintWriter seed = new PrintWriter(Files.newBufferedWriter(seedPath,
+            StandardCharsets.UTF_8))) {
+            seed.println(size + " " + size);
+            seed.println(numberOfMines);
+            for (int i = 0; i < mines.length; i += 2) {
+                seed.println(mines[i] + " " + mines[i + 1]);
+            } // for
+        } // try
+    } // setUp
+
+    /**
+     * Deletes the seed file.
+     *
+     * @throws IOException if the seed file cannot be deleted
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(seedPath);
+    } // tearDown
+
+    /**
+     * Returns a new mine field with every mine placed and every square hidden.
+     *
+     * @return the mine field
+     */
+    public BitBoard newMineField() {
+        BitBoard mineField = new BitBoard(size, size);
+        for (int i = 0; i < mines.length; i += 2) {
+            mineField.placeMine(mines[i], mines[i + 1]);
+        } // for
+        return mineField;
+    } // newMineField
+
+    /**
+     * Returns a new game on a new copy of the mine field.
+     *
+     * @return the game
+     */
+    public MinesweeperEngine newEngine() {
+        return new MinesweeperEngine(newMineField(), numberOfMines);
+    } // newEngine
+
+    /**
+     * Reads the seed file the way the game does.
+     *
+     * @return the seed file
+     * @throws IOException if the seed file cannot be read
+     * @throws MalformedSeedException if the seed file is malformed
+     */
+    public SeedFile readSeedFile() throws IOException, MalformedSeedException {
+        return new SeedFile(seedPath.toString(), MinesweeperGame.LARGE_MAX_SIZE);
+    } // readSeedFile
+
+    /**
+     * Returns the numbers 0 to {@code squares - 1} in random order.
+     *
+     * @param squares how many numbers to return
+     * @param random where the order comes from
+     * @return the shuffled numbers
+     */
+    private static int[] shuffledSquares(int squares, Random random) {
+        int[] order = new int[squares];
+        for (int i = 0; i < squares; i++) {
+            order[i] = i;
+        } // for
+        for (int i = squares - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        } // for
+        return order;
+    } // shuffledSquares
+
+} // MineFieldState
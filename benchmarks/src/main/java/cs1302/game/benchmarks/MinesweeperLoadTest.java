@@ -0,0 +1,167 @@
+package cs1302.game.benchmarks;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Load test client for {@code MinesweeperServer}. Opens {@code sessions} connections to
+ * a server on the local machine at once, and on each one plays {@code moves} random
+ * commands ("r", "m", "g", "h", and "nofog" on random squares), starting a new game
+ * whenever one ends. Prints the number of commands per second and the average and
+ * 99th percentile time between sending a command and receiving the next prompt.
+ *
+ * <p>
+ * A connection that cannot be made, or that the server closes before its first prompt,
+ * is a failed attempt. Failed attempts are counted and printed, and a session that fails
+ * {@code ATTEMPTS} times in a row gives up and keeps the commands it already sent, so a
+ * server that is down or answers with something unexpected never keeps the test running.
+ * Run it from the benchmarks jar:
+ * {@code java -cp target/benchmarks.jar cs1302.game.benchmarks.MinesweeperLoadTest}.
+ */
+public class MinesweeperLoadTest {
+
+    /** Number of failed attempts in a row after which a session gives up. */
+    public static final int ATTEMPTS = 10;
+
+    private static final byte[] PROMPT = "minesweeper-alpha: ".getBytes(StandardCharsets.UTF_8);
+    private static final String[] COMMANDS = {"r", "m", "g", "r", "m", "h", "nofog"};
+
+    /**
+     * Runs the load test from the command line.
+     *
+     * @param args "PORT SESSIONS MOVES [SIZE]", where SIZE is the number of rows and
+     * columns random squares are picked from (10 if not given)
+     * @throws InterruptedException if interrupted while waiting for the sessions to finish
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int port = 0;
+        int sessions = 0;
+        int moves = 0;
+        int size = 10;
+        try {
+            port = Integer.parseInt(args[0]);
+            sessions = Integer.parseInt(args[1]);
+            moves = Integer.parseInt(args[2]);
+            if (args.length > 3) {
+                size = Integer.parseInt(args[3]);
+            }
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            System.err.println("\nUsage: MinesweeperLoadTest PORT SESSIONS MOVES [SIZE]");
+            System.exit(1);
+        } // try-catch
+        long[][] latencies = new long[sessions][];
+        AtomicLong failures = new AtomicLong();
+        Thread[] threads = new Thread[sessions];
+        long start = System.nanoTime();
+        for (int i = 0; i < sessions; i++) {
+            final int session = i;
+            final int p = port;
+            final int m = moves;
+            final int s = size;
+            threads[i] = new Thread(() -> {
+                latencies[session] = play(p, m, s, new Random(session), failures);
+            });
+            threads[i].start();
+        } // for
+        for (Thread thread : threads) {
+            thread.join();
+        } // for
+        long elapsed = System.nanoTime() - start;
+        long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+        int gaveUp = 0;
+        for (long[] session : latencies) {
+            gaveUp += session.length < moves ? 1 : 0;
+        } // for
+        System.out.println("sessions:        " + sessions + " (" + gaveUp + " gave up)");
+        System.out.println("failed attempts: " + failures.get());
+        System.out.println("commands:        " + all.length);
+        System.out.printf("commands/second: %.0f\n", all.length / (elapsed / 1e9));
+        if (all.length > 0) {
+            System.out.printf("average latency: %.3f ms\n",
+                Arrays.stream(all).average().getAsDouble() / 1e6);
+            System.out.printf("p99 latency:     %.3f ms\n", all[(int) (all.length * 0.99)] / 1e6);
+        }
+    } // main
+
+    /**
+     * Sends {@code moves} random commands to the server, connecting again whenever
+     * a game ends, and returns the latency of each command in nanoseconds. Gives up after
+     * {@code ATTEMPTS} failed attempts in a row.
+     *
+     * @param port the port of the server
+     * @param moves the number of commands to send
+     * @param size the number of rows and columns random squares are picked from
+     * @param random where the commands come from
+     * @param failures counts every failed attempt
+     * @return the latency of each command sent, fewer than {@code moves} if the session
+     * gave up
+     */
+    private static long[] play(int port, int moves, int size, Random random,
+        AtomicLong failures) {
+        long[] latencies = new long[moves];
+        int done = 0;
+        int failed = 0;
+        while (done < moves && failed < ATTEMPTS) {
+            try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+                socket.setTcpNoDelay(true);
+                InputStream in = new BufferedInputStream(socket.getInputStream());
+                OutputStream out = socket.getOutputStream();
+                boolean open = readUntilPrompt(in);
+                if (!open) {
+                    failures.incrementAndGet();
+                    failed++;
+                    continue;
+                }
+                failed = 0;
+                while (open && done < moves) {
+                    String command = COMMANDS[random.nextInt(COMMANDS.length)];
+                    if (!command.equals("h") && !command.equals("nofog")) {
+                        command += " " + random.nextInt(size) + " " + random.nextInt(size);
+                    }
+                    long sent = System.nanoTime();
+                    out.write((command + "\n").getBytes(StandardCharsets.UTF_8));
+                    out.flush();
+                    open = readUntilPrompt(in);
+                    latencies[done++] = System.nanoTime() - sent;
+                } // while
+            } catch (IOException ioe) {
+                failures.incrementAndGet();
+                failed++;
+            } // try-catch
+        } // while
+        return Arrays.copyOf(latencies, done);
+    } // play
+
+    /**
+     * Reads from {@code in} until the prompt is received or the server closes the
+     * connection.
+     *
+     * @param in the input from the server
+     * @return true if the prompt was received, false if the connection was closed
+     * @throws IOException if the connection fails
+     */
+    private static boolean readUntilPrompt(InputStream in) throws IOException {
+        int matched = 0;
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == PROMPT[matched]) {
+                matched++;
+                if (matched == PROMPT.length) {
+                    return true;
+                }
+            } else {
+                matched = b == PROMPT[0] ? 1 : 0;
+            } // if
+        } // while
+        return false;
+    } // readUntilPrompt
+
+} // MinesweeperLoadTest
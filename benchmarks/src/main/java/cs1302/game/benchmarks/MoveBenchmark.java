@@ -0,0 +1,125 @@
+package cs1302.game.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import cs1302.game.MinesweeperEngine;
+import cs1302.game.MoveResult;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the moves a player makes. Every call plays a square that has not been
+ * played yet, in random order, so no call is answered with "already played". Once every
+ * square has been played the game starts over on a new copy of the mine field; that happens
+ * once every {@code size * size} calls and is included in the measurement.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MoveBenchmark {
+
+    /**
+     * A game being played by one benchmark thread.
+     */
+    @State(Scope.Thread)
+    public static class Game {
+
+        private MinesweeperEngine engine;
+        private int next;
+
+        /**
+         * Starts a new game.
+         *
+         * @param field the mine field
+         */
+        @Setup(Level.Iteration)
+        public void reset(MineFieldState field) {
+            engine = field.newEngine();
+            next = 0;
+        } // reset
+
+    } // Game
+
+    /**
+     * A game with half of the squares without mines revealed and half of the mines
+     * flagged, so {@code isWon} is not answered by the first check.
+     */
+    @State(Scope.Thread)
+    public static class HalfPlayed {
+
+        private MinesweeperEngine engine;
+
+        /**
+         * Plays half of the game.
+         *
+         * @param field the mine field
+         */
+        @Setup(Level.Trial)
+        public void setUp(MineFieldState field) {
+            engine = field.newEngine();
+            for (int i = 0; i < field.safeSquares.length / 2; i++) {
+                engine.reveal(field.safeSquares[i] / field.size, field.safeSquares[i] % field.size);
+            } // for
+            for (int i = 0; i < field.mines.length / 2; i += 2) {
+                engine.mark(field.mines[i], field.mines[i + 1]);
+            } // for
+        } // setUp
+
+    } // HalfPlayed
+
+    /**
+     * Reveals the next square without a mine.
+     *
+     * @param field the mine field
+     * @param game  the game being played
+     * @return what the move did
+     */
+    @Benchmark
+    public MoveResult reveal(MineFieldState field, Game game) {
+        if (game.next == field.safeSquares.length) {
+            game.reset(field);
+        }
+        int square = field.safeSquares[game.next++];
+        return game.engine.reveal(square / field.size, square % field.size);
+    } // reveal
+
+    /**
+     * Flags the next square.
+     *
+     * @param field the mine field
+     * @param game  the game being played
+     * @return what the move did
+     */
+    @Benchmark
+    public MoveResult mark(MineFieldState field, Game game) {
+        if (game.next == field.allSquares.length) {
+            game.reset(field);
+        }
+        int square = field.allSquares[game.next++];
+        return game.engine.mark(square / field.size, square % field.size);
+    } // mark
+
+    /**
+     * Checks whether a half-played game is won.
+     *
+     * @param game the half-played game
+     * @return false
+     */
+    @Benchmark
+    public boolean isWon(HalfPlayed game) {
+        return game.engine.isWon();
+    } // isWon
+
+} // MoveBenchmark
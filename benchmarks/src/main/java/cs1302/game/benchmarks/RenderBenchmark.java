@@ -0,0 +1,99 @@
+package cs1302.game.benchmarks;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+
+import cs1302.game.FieldRenderer;
+import cs1302.game.MinesweeperEngine;
+import cs1302.game.MinesweeperGame;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for printing the mine field. Throughput is the number of frames drawn per
+ * second. The mine field has half of its squares without mines revealed, and the printed
+ * view is centered on the middle of the mine field.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RenderBenchmark {
+
+    /**
+     * A half-played game printing to an output stream that throws its bytes away.
+     */
+    @State(Scope.Thread)
+    public static class Screen {
+
+        private MinesweeperEngine engine;
+        private MinesweeperGame game;
+        private FieldRenderer renderer;
+        private int middle;
+
+        /**
+         * Plays half of the game.
+         *
+         * @param field the mine field
+         */
+        @Setup(Level.Trial)
+        public void setUp(MineFieldState field) {
+            engine = field.newEngine();
+            for (int i = 0; i < field.safeSquares.length / 2; i++) {
+                engine.reveal(field.safeSquares[i] / field.size, field.safeSquares[i] % field.size);
+            } // for
+            middle = field.size / 2;
+            engine.reveal(middle, middle);
+            PrintStream out = new PrintStream(OutputStream.nullOutputStream());
+            game = new MinesweeperGame(new Scanner(""), out, out, engine);
+            renderer = new FieldRenderer(engine.getMineField());
+        } // setUp
+
+    } // Screen
+
+    /**
+     * Prints the mine field through the game.
+     *
+     * @param screen the game
+     */
+    @Benchmark
+    public void printMineField(Screen screen) {
+        screen.game.printMineField("print");
+    } // printMineField
+
+    /**
+     * Prints the "cheat" mine field through the game.
+     *
+     * @param screen the game
+     */
+    @Benchmark
+    public void printNoFog(Screen screen) {
+        screen.game.printMineField("nofog");
+    } // printNoFog
+
+    /**
+     * Draws a frame into the renderer's buffer without printing it.
+     *
+     * @param screen the game
+     * @return the number of bytes in the frame
+     */
+    @Benchmark
+    public int render(Screen screen) {
+        return screen.renderer.render(screen.engine.getRounds(), false, screen.middle,
+            screen.middle);
+    } // render
+
+} // RenderBenchmark
@@ -0,0 +1,55 @@
+package cs1302.game.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import cs1302.game.BitBoard;
+import cs1302.game.MalformedSeedException;
+import cs1302.game.SeedFile;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for building a mine field from a seed file.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SeedFileBenchmark {
+
+    /**
+     * Reads the seed file the way the game does. {@code parseSeedFile} places each mine
+     * as soon as its location is read, so this includes placing the mines, which alone is
+     * measured by the next benchmark.
+     *
+     * @param field the mine field
+     * @return the seed file
+     * @throws IOException if the seed file cannot be read
+     * @throws MalformedSeedException if the seed file is malformed
+     */
+    @Benchmark
+    public SeedFile parseSeedFile(MineFieldState field)
+        throws IOException, MalformedSeedException {
+        return field.readSeedFile();
+    } // parseSeedFile
+
+    /**
+     * Places every mine on a new mine field, without reading a seed file.
+     *
+     * @param field the mine field
+     * @return the mine field with every mine placed
+     */
+    @Benchmark
+    public BitBoard assignMines(MineFieldState field) {
+        return field.newMineField();
+    } // assignMines
+
+} // SeedFileBenchmark
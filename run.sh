@@ -1,5 +1,5 @@
 #!/usr/bin/bash -ex
 
-javac -d bin src/cs1302/game/MinesweeperGame.java
-javac -d bin -cp bin src/cs1302/game/MinesweeperDriver.java
+javac -d bin -sourcepath src src/cs1302/game/MinesweeperGame.java
+javac -d bin -cp bin -sourcepath src src/cs1302/game/MinesweeperDriver.java
 java -cp bin cs1302.game.MinesweeperDriver tests/tckathrynne.txt
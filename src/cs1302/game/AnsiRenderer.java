@@ -0,0 +1,257 @@
+package cs1302.game;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+
+/**
+ * Object class that draws a {@code mineField} on an ANSI terminal, where the mine field
+ * stays in one place on the screen and only the squares that changed are drawn again.
+ * The first frame is the same as a {@code FieldRenderer} frame, drawn starting at screen
+ * row {@code top}. After that, the squares changed by every command, which this class is
+ * told about as a {@code ChangeListener}, and the number of rounds are drawn over the old
+ * frame with cursor addressing ("ESC [ row ; col H"), so a command that reveals one square
+ * writes a few dozen bytes instead of the whole frame. The cursor is saved before and
+ * restored after, so messages and the prompt below the mine field are left alone.
+ *
+ * <p>
+ * The whole frame is drawn again, one line at a time, when the part of the mine field
+ * that is drawn moves, and when the "cheat" version of the mine field is drawn or
+ * replaced. Lines printed below the mine field should be cleared with {@code clearBelow}
+ * before the screen fills up, since a terminal that scrolls moves the mine field with it.
+ */
+public class AnsiRenderer implements ChangeListener {
+
+    private static final String ESC = "\u001b";
+    /** Moves the cursor to the top left corner and clears the screen. */
+    public static final String CLEAR_SCREEN = ESC + "[H" + ESC + "[2J";
+
+    private final FieldRenderer full;
+    private final Board mineField;
+    private final int rows;
+    private final int cols;
+    private final SquareList pending = new SquareList();
+    private int top = 1;
+    private int bottom = 1;
+    private boolean drawn = false;
+    private boolean noFog = false;
+    private int firstRow;
+    private int firstCol;
+    private int labelWidth;
+    private int header;
+    private byte[] frame = new byte[256];
+    private int length = 0;
+
+    /**
+     * Constructor method that creates a new {@code AnsiRenderer} that draws
+     * {@code mineField}.
+     *
+     * @param mineField the mine field to draw
+     */
+    public AnsiRenderer(Board mineField) {
+        this.mineField = mineField;
+        this.rows = mineField.getRows();
+        this.cols = mineField.getCols();
+        full = new FieldRenderer(mineField);
+    } // constructor
+
+    /**
+     * Sets the screen row, counting from 1, that the first line of the first frame is
+     * drawn on.
+     *
+     * @param top the screen row
+     */
+    public void setTop(int top) {
+        this.top = top;
+    } // setTop
+
+    @Override
+    public void changed(MoveResult result, char[] markers) {
+        for (int square : result.getChanged()) {
+            pending.add(square);
+        } // for
+    } // changed
+
+    /**
+     * Draws a frame and writes it to {@code out} with one call: the whole frame the first
+     * time and whenever the part drawn moves, otherwise only the squares changed since the
+     * last frame and the number of rounds.
+     *
+     * @param out      where the frame is written
+     * @param rounds   the number of rounds completed
+     * @param noFog    whether to draw the "cheat" version of the mine field that
+     *                 indicates where the mines are located
+     * @param focusRow the row to center the frame on
+     * @param focusCol the column to center the frame on
+     * @return the number of bytes written
+     */
+    public int print(PrintStream out, int rounds, boolean noFog, int focusRow, int focusCol) {
+        length = 0;
+        if (!drawn || noFog || this.noFog
+            || FieldRenderer.viewStart(focusRow, rows) != firstRow
+            || FieldRenderer.viewStart(focusCol, cols) != firstCol) {
+            repaint(rounds, noFog, focusRow, focusCol);
+        } else {
+            patch(rounds);
+        } // if
+        pending.clear();
+        out.write(frame, 0, length);
+        return length;
+    } // print
+
+    /**
+     * Moves the cursor to the line just below the mine field and clears everything from
+     * there to the end of the screen, such as the last prompt and any messages.
+     *
+     * @param out where the escape sequences are written
+     */
+    public void clearBelow(PrintStream out) {
+        out.print(ESC + "[" + bottom + ";1H" + ESC + "[J");
+    } // clearBelow
+
+    /**
+     * Draws the whole frame into the buffer, clearing every line before it is drawn. A
+     * frame whose column numbers have fewer digits than the last column is followed by
+     * blank lines, so every frame of a mine field is as tall and the lines below it never
+     * move.
+     *
+     * @param rounds   the number of rounds completed
+     * @param noFog    whether to draw the "cheat" version of the mine field
+     * @param focusRow the row to center the frame on
+     * @param focusCol the column to center the frame on
+     */
+    private void repaint(int rounds, boolean noFog, int focusRow, int focusCol) {
+        firstRow = FieldRenderer.viewStart(focusRow, rows);
+        firstCol = FieldRenderer.viewStart(focusCol, cols);
+        int lastRow = Math.min(firstRow + FieldRenderer.VIEW_SIZE, rows) - 1;
+        int lastCol = Math.min(firstCol + FieldRenderer.VIEW_SIZE, cols) - 1;
+        labelWidth = FieldRenderer.digits(lastRow);
+        header = lastRow - firstRow + 1 < rows || lastCol - firstCol + 1 < cols ? 5 : 3;
+        int size = full.render(rounds, noFog, focusRow, focusCol);
+        byte[] lines = full.getFrame();
+        if (drawn) {
+            put(ESC + "7");
+        }
+        moveTo(top, 1);
+        int row = top;
+        int start = 0;
+        for (int i = 0; i < size; i++) {
+            if (lines[i] == '\n') {
+                put(ESC + "[2K");
+                put(lines, start, i + 1 - start);
+                start = i + 1;
+                row++;
+            }
+        } // for
+        bottom = top + header + lastRow - firstRow + 1 + FieldRenderer.digits(cols - 1) + 1;
+        for (; row < bottom; row++) {
+            put(ESC + "[2K\n");
+        } // for
+        if (drawn) {
+            put(ESC + "8");
+        }
+        drawn = true;
+        this.noFog = noFog;
+    } // repaint
+
+    /**
+     * Draws the number of rounds and every changed square in the part of the mine field
+     * that is drawn into the buffer, each over the old one, between saving and restoring
+     * the cursor.
+     *
+     * @param rounds the number of rounds completed
+     */
+    private void patch(int rounds) {
+        put(ESC + "7");
+        moveTo(top + 1, 20);
+        putInt(rounds);
+        put(ESC + "[K");
+        int lastRow = Math.min(firstRow + FieldRenderer.VIEW_SIZE, rows) - 1;
+        int lastCol = Math.min(firstCol + FieldRenderer.VIEW_SIZE, cols) - 1;
+        for (int k = 0; k < pending.size(); k++) {
+            int i = pending.get(k) / cols;
+            int j = pending.get(k) % cols;
+            if (i >= firstRow && i <= lastRow && j >= firstCol && j <= lastCol) {
+                moveTo(top + header + i - firstRow, labelWidth + 5 + (j - firstCol) * 4);
+                put(mineField.getMarker(i, j));
+            }
+        } // for
+        put(ESC + "8");
+    } // patch
+
+    /**
+     * Adds the escape sequence that moves the cursor to {@code row} and {@code col},
+     * counting from 1, to the buffer.
+     *
+     * @param row the screen row
+     * @param col the screen column
+     */
+    private void moveTo(int row, int col) {
+        put(ESC + "[");
+        putInt(row);
+        put(';');
+        putInt(col);
+        put('H');
+    } // moveTo
+
+    /**
+     * Adds {@code n}, which is not negative, to the buffer.
+     *
+     * @param n the number
+     */
+    private void putInt(int n) {
+        int digits = FieldRenderer.digits(n);
+        ensureCapacity(digits);
+        for (int i = length + digits - 1; i >= length; i--) {
+            frame[i] = (byte) ('0' + n % 10);
+            n /= 10;
+        } // for
+        length += digits;
+    } // putInt
+
+    /**
+     * Adds {@code n} bytes of {@code bytes}, starting at {@code start}, to the buffer.
+     *
+     * @param bytes the bytes
+     * @param start the index of the first byte
+     * @param n     the number of bytes
+     */
+    private void put(byte[] bytes, int start, int n) {
+        ensureCapacity(n);
+        System.arraycopy(bytes, start, frame, length, n);
+        length += n;
+    } // put
+
+    /**
+     * Adds {@code s}, which only has ASCII characters, to the buffer.
+     *
+     * @param s the text
+     */
+    private void put(String s) {
+        ensureCapacity(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            frame[length++] = (byte) s.charAt(i);
+        } // for
+    } // put
+
+    /**
+     * Adds {@code c}, which is an ASCII character, to the buffer.
+     *
+     * @param c the character
+     */
+    private void put(char c) {
+        ensureCapacity(1);
+        frame[length++] = (byte) c;
+    } // put
+
+    /**
+     * Makes sure the buffer has room for {@code n} more bytes, doubling it if not.
+     *
+     * @param n the number of bytes
+     */
+    private void ensureCapacity(int n) {
+        if (length + n > frame.length) {
+            frame = Arrays.copyOf(frame, Math.max(frame.length * 2, length + n));
+        }
+    } // ensureCapacity
+
+} // AnsiRenderer
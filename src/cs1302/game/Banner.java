@@ -0,0 +1,129 @@
+package cs1302.game;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Object class that holds the text of one of the banners printed by
+ * {@code MinesweeperGame} (welcome.txt, gamewon.txt, and gameover.txt). Each banner is
+ * read once, as UTF-8, and kept for as long as the program runs, so any number of games
+ * can print it without reading it again. A banner is looked for on the classpath next to
+ * this class first, which is where the jar built by Maven puts it, and then in the
+ * resources directory of the working directory, where {@code run.sh} finds it.
+ *
+ * <p>
+ * A banner never changes once it is read, so it can be printed by many games at once.
+ */
+public class Banner {
+
+    private static final String NEWLINE = System.lineSeparator();
+    private static final ConcurrentHashMap<String, Banner> CACHE =
+        new ConcurrentHashMap<String, Banner>();
+
+    private final String[] lines;
+    private final String text;
+
+    /**
+     * Constructor method that creates a new {@code Banner} with the given lines.
+     *
+     * @param lines the lines of the banner, without line separators
+     */
+    private Banner(String[] lines) {
+        this.lines = lines;
+        this.text = getText(0, null);
+    } // constructor
+
+    /**
+     * Returns the banner named {@code name}, reading it the first time it is asked for.
+     *
+     * @param name the name of the banner, for example "welcome.txt"
+     * @return the banner
+     * @throws FileNotFoundException if the banner is neither on the classpath nor in the
+     * resources directory, or cannot be read
+     */
+    public static Banner get(String name) throws FileNotFoundException {
+        Banner banner = CACHE.get(name);
+        if (banner == null) {
+            banner = read(name);
+            Banner first = CACHE.putIfAbsent(name, banner);
+            if (first != null) {
+                banner = first;
+            }
+        }
+        return banner;
+    } // get
+
+    /**
+     * Returns the text of the banner, with every line followed by the line separator.
+     *
+     * @return the text
+     */
+    public String getText() {
+        return text;
+    } // getText
+
+    /**
+     * Returns the text of the banner with {@code end} in place of the line separator after
+     * line {@code lineNumber} (counting from 1), for example to print the score at the end
+     * of that line. If the banner has fewer lines, the text is the same as
+     * {@code getText}.
+     *
+     * @param lineNumber the number of the line to end with {@code end}
+     * @param end        what to print after that line instead of the line separator
+     * @return the text
+     */
+    public String getText(int lineNumber, String end) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < lines.length; i++) {
+            builder.append(lines[i]);
+            builder.append(i + 1 == lineNumber ? end : NEWLINE);
+        } // for
+        return builder.toString();
+    } // getText
+
+    /**
+     * Returns the number of lines in the banner.
+     *
+     * @return the number of lines
+     */
+    public int getLineCount() {
+        return lines.length;
+    } // getLineCount
+
+    /**
+     * Reads the banner named {@code name}. Lines are split the same way
+     * {@code Scanner.nextLine} splits them, and blank lines at the end are left out, as
+     * they always have been.
+     *
+     * @param name the name of the banner
+     * @return the banner
+     * @throws FileNotFoundException if the banner cannot be found or read
+     */
+    private static Banner read(String name) throws FileNotFoundException {
+        InputStream in = Banner.class.getResourceAsStream(name);
+        if (in == null) {
+            in = new FileInputStream("resources/" + name);
+        }
+        String text;
+        try (InputStream stream = in) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            stream.transferTo(bytes);
+            text = bytes.toString(StandardCharsets.UTF_8);
+        } catch (IOException ioe) {
+            throw new FileNotFoundException(name + ": " + ioe.getMessage());
+        } // try-catch
+        String[] lines = text.split("\r\n|[\n\r\\u2028\\u2029\\u0085]", -1);
+        int count = lines.length;
+        while (count > 0 && lines[count - 1].isBlank()) {
+            count--;
+        } // while
+        return new Banner(Arrays.copyOf(lines, count));
+    } // read
+
+} // Banner
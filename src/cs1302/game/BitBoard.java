@@ -0,0 +1,382 @@
+package cs1302.game;
+
+import java.util.Arrays;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+
+/**
+ * Compact {@code Board} that stores the state of every square in packed {@code long}
+ * bitsets, one bit per square, for mines, revealed squares, flagged squares, and guessed
+ * squares. The number of mines around every square is kept in a {@code byte} per square,
+ * which is filled in once as mines are placed, so revealing a square is a table lookup.
+ * Square ({@code row}, {@code col}) is stored at index {@code row * cols + col}.
+ * The number of revealed and flagged squares is kept up to date as squares change,
+ * so no operation other than construction depends on the size of the mine field.
+ */
+public class BitBoard implements Board {
+
+    private final int rows;
+    private final int cols;
+    private final long[] mines;
+    private final long[] revealed;
+    private final long[] flagged;
+    private final long[] guessed;
+    private final byte[] adjMines;
+    private int numRevealed = 0;
+    private int numFlagged = 0;
+    private int[] queue = new int[16];
+
+    /**
+     * Constructor method that creates a new {@code BitBoard} with every square hidden
+     * and no mines.
+     *
+     * @param rows the number of rows in the mine field
+     * @param cols the number of columns in the mine field
+     */
+    public BitBoard(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        int words = (rows * cols + 63) >>> 6;
+        mines = new long[words];
+        revealed = new long[words];
+        flagged = new long[words];
+        guessed = new long[words];
+        adjMines = new byte[rows * cols];
+    } // constructor
+
+    @Override
+    public int getRows() {
+        return rows;
+    } // getRows
+
+    @Override
+    public int getCols() {
+        return cols;
+    } // getCols
+
+    /**
+     * {@inheritDoc}
+     * The number of mines around the square and every square next to it increases by one,
+     * skipping squares that are not in the mine field. Placing a mine on a square that
+     * already contains one does nothing.
+     */
+    @Override
+    public void placeMine(int row, int col) {
+        int m = index(row, col);
+        if (get(mines, m)) {
+            return;
+        }
+        set(mines, m);
+        countMine(row, col);
+    } // placeMine
+
+    /**
+     * Returns true if the square at index {@code i} contains a mine. Used by
+     * {@code MineGenerator}, which works with indexes rather than rows and columns.
+     *
+     * @param i the index of the square
+     * @return true if the square contains a mine, otherwise false
+     */
+    boolean hasMine(int i) {
+        return get(mines, i);
+    } // hasMine
+
+    /**
+     * Places a mine on the square at index {@code i} without changing the number of mines
+     * around any square. Used by {@code MineGenerator}, which places many mines at once and
+     * then calls {@code countAdjMines} once, instead of updating the squares around each
+     * mine as it is placed.
+     *
+     * @param i the index of the square
+     */
+    void setMine(int i) {
+        set(mines, i);
+    } // setMine
+
+    /**
+     * Works out the number of mines around every square from scratch. The mines are
+     * visited in index order, so the table is updated from start to end rather than at
+     * random, which is much faster for mine fields too big to fit in the processor's cache.
+     */
+    void countAdjMines() {
+        Arrays.fill(adjMines, (byte) 0);
+        for (int w = 0; w < mines.length; w++) {
+            long bits = mines[w];
+            while (bits != 0) {
+                int m = (w << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                countMine(m / cols, m % cols);
+            } // while
+        } // for
+    } // countAdjMines
+
+    /**
+     * Writes the mine, revealed, flagged, and guessed bitsets to {@code out}, one after
+     * another, as {@code getPlaneWords()} longs each. Used by {@code GameSnapshot}.
+     *
+     * @param out where the bitsets are written, at its position
+     */
+    void writePlanes(ByteBuffer out) {
+        LongBuffer longs = out.asLongBuffer();
+        longs.put(mines).put(revealed).put(flagged).put(guessed);
+        out.position(out.position() + longs.position() * Long.BYTES);
+    } // writePlanes
+
+    /**
+     * Reads the bitsets written by {@code writePlanes} from {@code in} into this mine field,
+     * which has no mines and every square hidden, then works out the number of mines around
+     * every square and the number of revealed and flagged squares.
+     * Used by {@code GameSnapshot}.
+     *
+     * @param in where the bitsets are read from, at its position
+     */
+    void readPlanes(ByteBuffer in) {
+        LongBuffer longs = in.asLongBuffer();
+        longs.get(mines).get(revealed).get(flagged).get(guessed);
+        in.position(in.position() + longs.position() * Long.BYTES);
+        countAdjMines();
+        numRevealed = 0;
+        numFlagged = 0;
+        for (int w = 0; w < mines.length; w++) {
+            numRevealed += Long.bitCount(revealed[w]);
+            numFlagged += Long.bitCount(flagged[w]);
+        } // for
+    } // readPlanes
+
+    /**
+     * Returns the number of {@code long} words in each bitset of this mine field.
+     *
+     * @return the number of words
+     */
+    int getPlaneWords() {
+        return mines.length;
+    } // getPlaneWords
+
+    /**
+     * Increases the number of mines around the square given by {@code row} and {@code col}
+     * and every square next to it by one, skipping squares that are not in the mine field.
+     *
+     * @param row the row number of the mine
+     * @param col the column number of the mine
+     */
+    private void countMine(int row, int col) {
+        for (int i = Math.max(row - 1, 0); i <= Math.min(row + 1, rows - 1); i++) {
+            for (int j = Math.max(col - 1, 0); j <= Math.min(col + 1, cols - 1); j++) {
+                adjMines[i * cols + j]++;
+            } // for-inner
+        } // for-outer
+    } // countMine
+
+    @Override
+    public boolean isMine(int row, int col) {
+        return get(mines, index(row, col));
+    } // isMine
+
+    @Override
+    public boolean isPlayed(int row, int col) {
+        int i = index(row, col);
+        return get(revealed, i) || get(flagged, i);
+    } // isPlayed
+
+    @Override
+    public boolean isRevealed(int row, int col) {
+        return get(revealed, index(row, col));
+    } // isRevealed
+
+    @Override
+    public boolean isFlagged(int row, int col) {
+        return get(flagged, index(row, col));
+    } // isFlagged
+
+    @Override
+    public int getNumRevealed() {
+        return numRevealed;
+    } // getNumRevealed
+
+    @Override
+    public int getNumFlagged() {
+        return numFlagged;
+    } // getNumFlagged
+
+    @Override
+    public int getNumAdjMines(int row, int col) {
+        return adjMines[index(row, col)];
+    } // getNumAdjMines
+
+    @Override
+    public void reveal(int row, int col) {
+        int i = index(row, col);
+        hide(i);
+        set(revealed, i);
+        numRevealed++;
+    } // reveal
+
+    /**
+     * {@inheritDoc}
+     * Squares are visited in order of distance from the given square using a queue
+     * of square indices that is reused between calls, so large regions do not
+     * recurse and only grow the queue when it is full.
+     */
+    @Override
+    public int revealRegion(int row, int col, SquareList changed) {
+        int start = index(row, col);
+        hide(start);
+        set(revealed, start);
+        numRevealed++;
+        if (changed != null) {
+            changed.add(start);
+        }
+        if (adjMines[start] != 0 || get(mines, start)) {
+            return 1;
+        }
+        int count = 1;
+        int head = 0;
+        int size = 0;
+        queue[0] = start;
+        size++;
+        while (size > 0) {
+            int i = queue[head];
+            head = (head + 1) & (queue.length - 1);
+            size--;
+            int r = i / cols;
+            int c = i - r * cols;
+            for (int nr = Math.max(r - 1, 0); nr <= Math.min(r + 1, rows - 1); nr++) {
+                for (int nc = Math.max(c - 1, 0); nc <= Math.min(c + 1, cols - 1); nc++) {
+                    int n = nr * cols + nc;
+                    if (get(revealed, n) || get(flagged, n)) {
+                        continue;
+                    }
+                    clear(guessed, n);
+                    set(revealed, n);
+                    numRevealed++;
+                    count++;
+                    if (changed != null) {
+                        changed.add(n);
+                    }
+                    if (adjMines[n] == 0) {
+                        if (size == queue.length) {
+                            growQueue(head);
+                            head = 0;
+                        }
+                        queue[(head + size) & (queue.length - 1)] = n;
+                        size++;
+                    }
+                } // for-inner
+            } // for-outer
+        } // while
+        return count;
+    } // revealRegion
+
+    /**
+     * Doubles the length of the full {@code queue}, moving its contents so the
+     * square at {@code head} is at index 0.
+     *
+     * @param head the index of the first square in the queue
+     */
+    private void growQueue(int head) {
+        int[] bigger = new int[queue.length * 2];
+        System.arraycopy(queue, head, bigger, 0, queue.length - head);
+        System.arraycopy(queue, 0, bigger, queue.length - head, head);
+        queue = bigger;
+    } // growQueue
+
+    @Override
+    public void flag(int row, int col) {
+        int i = index(row, col);
+        hide(i);
+        set(flagged, i);
+        numFlagged++;
+    } // flag
+
+    @Override
+    public void guess(int row, int col) {
+        int i = index(row, col);
+        hide(i);
+        set(guessed, i);
+    } // guess
+
+    @Override
+    public char getMarker(int row, int col) {
+        int i = index(row, col);
+        if (get(revealed, i)) {
+            return (char) ('0' + adjMines[i]);
+        } else if (get(flagged, i)) {
+            return 'F';
+        } else if (get(guessed, i)) {
+            return '?';
+        } else {
+            return ' ';
+        } // if
+    } // getMarker
+
+    /**
+     * Returns the index of the bit for the square given by {@code row} and {@code col}.
+     * The row number is checked before the column number, so the message of the
+     * exception matches the one given by a {@code [rows][cols]} array.
+     *
+     * @param row the row number of the square
+     * @param col the column number of the square
+     * @return the index of the square
+     * @throws ArrayIndexOutOfBoundsException if the square is not in the mine field
+     */
+    private int index(int row, int col) {
+        if (row < 0 || row >= rows) {
+            throw new ArrayIndexOutOfBoundsException(
+                "Index " + row + " out of bounds for length " + rows);
+        } else if (col < 0 || col >= cols) {
+            throw new ArrayIndexOutOfBoundsException(
+                "Index " + col + " out of bounds for length " + cols);
+        } // if
+        return row * cols + col;
+    } // index
+
+    /**
+     * Returns the square at index {@code i} to the hidden state, updating
+     * {@code numRevealed} and {@code numFlagged} if it was revealed or flagged.
+     *
+     * @param i the index of the square
+     */
+    private void hide(int i) {
+        if (get(revealed, i)) {
+            clear(revealed, i);
+            numRevealed--;
+        } else if (get(flagged, i)) {
+            clear(flagged, i);
+            numFlagged--;
+        } else {
+            clear(guessed, i);
+        } // if
+    } // hide
+
+    /**
+     * Returns the bit at index {@code i} of the bitset {@code bits}.
+     *
+     * @param bits the bitset
+     * @param i the index of the bit
+     * @return true if the bit is set, otherwise false
+     */
+    private static boolean get(long[] bits, int i) {
+        return (bits[i >>> 6] & (1L << i)) != 0;
+    } // get
+
+    /**
+     * Sets the bit at index {@code i} of the bitset {@code bits}.
+     *
+     * @param bits the bitset
+     * @param i the index of the bit
+     */
+    private static void set(long[] bits, int i) {
+        bits[i >>> 6] |= 1L << i;
+    } // set
+
+    /**
+     * Clears the bit at index {@code i} of the bitset {@code bits}.
+     *
+     * @param bits the bitset
+     * @param i the index of the bit
+     */
+    private static void clear(long[] bits, int i) {
+        bits[i >>> 6] &= ~(1L << i);
+    } // clear
+
+} // BitBoard
@@ -0,0 +1,158 @@
+package cs1302.game;
+
+/**
+ * Interface describing a Minesweeper mine field with {@code rows} rows and
+ * {@code cols} columns. Each square of the field either contains a mine or does not,
+ * and is in exactly one of four states: hidden, revealed, flagged ("F"), or guessed ("?").
+ * Squares are addressed by a row number and a column number, both starting at 0.
+ */
+public interface Board {
+
+    /**
+     * Returns the number of rows in the mine field.
+     *
+     * @return the number of rows
+     */
+    int getRows();
+
+    /**
+     * Returns the number of columns in the mine field.
+     *
+     * @return the number of columns
+     */
+    int getCols();
+
+    /**
+     * Places a mine at the square given by {@code row} and {@code col}, and updates
+     * the number of adjacent mines of the squares around it.
+     *
+     * @param row the row number of the square
+     * @param col the column number of the square
+     * @throws ArrayIndexOutOfBoundsException if the square is not in the mine field
+     */
+    void placeMine(int row, int col);
+
+    /**
+     * Returns {@code true} if the square given by {@code row} and {@code col} contains a mine.
+     *
+     * @param row the row number of the square
+     * @param col the column number of the square
+     * @return true if the square contains a mine, otherwise false
+     * @throws ArrayIndexOutOfBoundsException if the square is not in the mine field
+     */
+    boolean isMine(int row, int col);
+
+    /**
+     * Returns {@code true} if the square given by {@code row} and {@code col} has been
+     * revealed or flagged, which is what the game considers an already played square.
+     *
+     * @param row the row number of the square
+     * @param col the column number of the square
+     * @return true if the square is revealed or flagged, otherwise false
+     * @throws ArrayIndexOutOfBoundsException if the square is not in the mine field
+     */
+    boolean isPlayed(int row, int col);
+
+    /**
+     * Returns {@code true} if the square given by {@code row} and {@code col} has been revealed.
+     *
+     * @param row the row number of the square
+     * @param col the column number of the square
+     * @return true if the square is revealed, otherwise false
+     * @throws ArrayIndexOutOfBoundsException if the square is not in the mine field
+     */
+    boolean isRevealed(int row, int col);
+
+    /**
+     * Returns {@code true} if the square given by {@code row} and {@code col} is flagged.
+     *
+     * @param row the row number of the square
+     * @param col the column number of the square
+     * @return true if the square is flagged, otherwise false
+     * @throws ArrayIndexOutOfBoundsException if the square is not in the mine field
+     */
+    boolean isFlagged(int row, int col);
+
+    /**
+     * Returns the number of squares in the mine field that are currently revealed.
+     *
+     * @return the number of revealed squares
+     */
+    int getNumRevealed();
+
+    /**
+     * Returns the number of squares in the mine field that are currently flagged.
+     *
+     * @return the number of flagged squares
+     */
+    int getNumFlagged();
+
+    /**
+     * Returns the number of mines in the squares surrounding the square given
+     * by {@code row} and {@code col}.
+     *
+     * @param row the row number of the square
+     * @param col the column number of the square
+     * @return the number of mines around the square
+     * @throws ArrayIndexOutOfBoundsException if the square is not in the mine field
+     */
+    int getNumAdjMines(int row, int col);
+
+    /**
+     * Reveals the square given by {@code row} and {@code col}, replacing any flag or
+     * guess on that square with the number of mines around it.
+     *
+     * @param row the row number of the square
+     * @param col the column number of the square
+     * @throws ArrayIndexOutOfBoundsException if the square is not in the mine field
+     */
+    void reveal(int row, int col);
+
+    /**
+     * Reveals the square given by {@code row} and {@code col} like {@code reveal}. If no
+     * mines surround that square, every square connected to it through squares with no
+     * surrounding mines is revealed too, along with the numbered squares bordering them.
+     * Flagged squares other than the given square are left alone.
+     *
+     * @param row the row number of the square
+     * @param col the column number of the square
+     * @param changed list that the index of every square revealed is added to,
+     *                or {@code null}
+     * @return the number of squares revealed
+     * @throws ArrayIndexOutOfBoundsException if the square is not in the mine field
+     */
+    int revealRegion(int row, int col, SquareList changed);
+
+    /**
+     * Flags the square given by {@code row} and {@code col}, replacing whatever
+     * was shown on that square before.
+     *
+     * @param row the row number of the square
+     * @param col the column number of the square
+     * @throws ArrayIndexOutOfBoundsException if the square is not in the mine field
+     */
+    void flag(int row, int col);
+
+    /**
+     * Marks the square given by {@code row} and {@code col} as a guess, replacing whatever
+     * was shown on that square before.
+     *
+     * @param row the row number of the square
+     * @param col the column number of the square
+     * @throws ArrayIndexOutOfBoundsException if the square is not in the mine field
+     */
+    void guess(int row, int col);
+
+    /**
+     * Returns the character printed in the mine field for the square given by
+     * {@code row} and {@code col}: a space if it is hidden, the number of adjacent mines
+     * if it is revealed, 'F' if it is flagged, and '?' if it is guessed.
+     *
+     * @param row the row number of the square
+     * @param col the column number of the square
+     * @return the marker for the square
+     * @throws ArrayIndexOutOfBoundsException if the square is not in the mine field
+     */
+    char getMarker(int row, int col);
+
+} // Board
@@ -0,0 +1,25 @@
+package cs1302.game;
+
+/**
+ * Interface for anything that follows a game as it is played, such as a remote client,
+ * without looking at the whole mine field. A {@code MinesweeperEngine} calls every
+ * listener added with {@code addChangeListener} once for every command it carries out,
+ * including invalid commands, since every command changes the number of rounds. Listeners
+ * are called after the time the command took has been recorded in the game's
+ * {@code GameMetrics}, so the time a listener takes is never counted as part of the command.
+ */
+public interface ChangeListener {
+
+    /**
+     * Called after a command has been carried out.
+     *
+     * @param result  what the command did, including the indices
+     *                ({@code row * cols + col}) of the squares that changed
+     * @param markers the marker each changed square shows now, in the same order as
+     *                {@code result.getChanged()}, as {@code Board.getMarker} returns it;
+     *                the array is reused for every command and can be longer than
+     *                {@code result.getChanged()}, so it must not be kept after the call
+     */
+    void changed(MoveResult result, char[] markers);
+
+} // ChangeListener
@@ -0,0 +1,404 @@
+package cs1302.game;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * {@code Board} that any number of threads can play on at once without a lock. The state
+ * of every square (hidden, revealed, flagged, or guessed) is kept in two bits, 32 squares
+ * to a word of an {@code AtomicLongArray}, and every change to a square is one
+ * compare-and-set of its word, retried if another square in the same word changed first.
+ * The words hold the state of the squares; the counts below only follow them.
+ *
+ * <p>
+ * The number of revealed squares without a mine and the number of flagged squares are also
+ * counted, together in one {@code AtomicLong}, and revealed mines on their own. A count is
+ * updated just after the compare-and-set of the square, as a separate step, so while other
+ * threads are playing, a square can already be revealed or flagged and not counted yet.
+ * The counts are only eventually consistent: once every thread has stopped changing
+ * squares they are exact, and while only the {@code try} methods are used, which never
+ * take a revealed or flagged square back, they never count a square before it changes.
+ * {@code isCleared} only uses them to rule out a win cheaply, and decides a win from the
+ * words.
+ *
+ * <p>
+ * The mines, and the number of mines around every square, never change once play starts:
+ * they are set by the constructor, or by {@code placeMine} before the mine field is given
+ * to other threads, and only read after that.
+ *
+ * <p>
+ * The methods of {@code Board} change a square whatever was on it before, as they do for
+ * one player. For several players, {@code tryReveal}, {@code tryFlag}, and
+ * {@code tryGuess} only change a square that nobody has revealed or flagged yet, so when
+ * two players play the same square at once, the first one to change it wins and the
+ * other one is told it failed.
+ */
+public class ConcurrentBoard implements Board {
+
+    private static final int HIDDEN = 0;
+    private static final int REVEALED = 1;
+    private static final int FLAGGED = 2;
+    private static final int GUESSED = 3;
+    private static final int ANY = 0b1111;
+    private static final int OPEN = 1 << HIDDEN | 1 << GUESSED;
+
+    private final int rows;
+    private final int cols;
+    private final long[] mines;
+    private final byte[] adjMines;
+    private final AtomicLongArray squares;
+    private final AtomicLong counts = new AtomicLong();
+    private final AtomicInteger revealedMines = new AtomicInteger();
+
+    /**
+     * Constructor method that creates a new {@code ConcurrentBoard} with every square
+     * hidden and no mines.
+     *
+     * @param rows the number of rows in the mine field
+     * @param cols the number of columns in the mine field
+     */
+    public ConcurrentBoard(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        mines = new long[(rows * cols + 63) >>> 6];
+        adjMines = new byte[rows * cols];
+        squares = new AtomicLongArray((rows * cols + 31) >>> 5);
+    } // constructor
+
+    /**
+     * Constructor method that creates a new {@code ConcurrentBoard} with the same size and
+     * mines as {@code layout}, and every square hidden.
+     *
+     * @param layout the mine field to copy the mines of
+     */
+    public ConcurrentBoard(Board layout) {
+        this(layout.getRows(), layout.getCols());
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                if (layout.isMine(i, j)) {
+                    placeMine(i, j);
+                }
+            } // for-inner
+        } // for-outer
+    } // constructor
+
+    @Override
+    public int getRows() {
+        return rows;
+    } // getRows
+
+    @Override
+    public int getCols() {
+        return cols;
+    } // getCols
+
+    /**
+     * {@inheritDoc}
+     * This is not thread-safe: every mine has to be placed before the mine field is
+     * given to other threads.
+     */
+    @Override
+    public void placeMine(int row, int col) {
+        int m = index(row, col);
+        if ((mines[m >>> 6] & 1L << m) != 0) {
+            return;
+        }
+        mines[m >>> 6] |= 1L << m;
+        for (int i = Math.max(row - 1, 0); i <= Math.min(row + 1, rows - 1); i++) {
+            for (int j = Math.max(col - 1, 0); j <= Math.min(col + 1, cols - 1); j++) {
+                adjMines[i * cols + j]++;
+            } // for-inner
+        } // for-outer
+    } // placeMine
+
+    @Override
+    public boolean isMine(int row, int col) {
+        return mine(index(row, col));
+    } // isMine
+
+    @Override
+    public boolean isPlayed(int row, int col) {
+        int state = state(index(row, col));
+        return state == REVEALED || state == FLAGGED;
+    } // isPlayed
+
+    @Override
+    public boolean isRevealed(int row, int col) {
+        return state(index(row, col)) == REVEALED;
+    } // isRevealed
+
+    @Override
+    public boolean isFlagged(int row, int col) {
+        return state(index(row, col)) == FLAGGED;
+    } // isFlagged
+
+    /**
+     * {@inheritDoc}
+     * While other threads are playing, this can be less than the number of squares
+     * revealed, by the squares they have changed but not counted yet.
+     */
+    @Override
+    public int getNumRevealed() {
+        long both = counts.get();
+        return (int) ((both - (int) both) >> 32) + revealedMines.get();
+    } // getNumRevealed
+
+    /**
+     * {@inheritDoc}
+     * While other threads are playing, this can be off by the squares they have changed
+     * but not counted yet.
+     */
+    @Override
+    public int getNumFlagged() {
+        return (int) counts.get();
+    } // getNumFlagged
+
+    @Override
+    public int getNumAdjMines(int row, int col) {
+        return adjMines[index(row, col)];
+    } // getNumAdjMines
+
+    @Override
+    public void reveal(int row, int col) {
+        change(index(row, col), REVEALED, ANY);
+    } // reveal
+
+    /**
+     * {@inheritDoc}
+     * Squares around the given square are only revealed if they are still hidden or
+     * guessed when they are reached, so regions revealed by several threads at once
+     * overlap without revealing any square twice.
+     */
+    @Override
+    public int revealRegion(int row, int col, SquareList changed) {
+        int start = index(row, col);
+        change(start, REVEALED, ANY);
+        return cascade(start, changed);
+    } // revealRegion
+
+    @Override
+    public void flag(int row, int col) {
+        change(index(row, col), FLAGGED, ANY);
+    } // flag
+
+    @Override
+    public void guess(int row, int col) {
+        change(index(row, col), GUESSED, ANY);
+    } // guess
+
+    @Override
+    public char getMarker(int row, int col) {
+        int i = index(row, col);
+        int state = state(i);
+        if (state == REVEALED) {
+            return (char) ('0' + adjMines[i]);
+        } else if (state == FLAGGED) {
+            return 'F';
+        } else if (state == GUESSED) {
+            return '?';
+        } else {
+            return ' ';
+        } // if
+    } // getMarker
+
+    /**
+     * Reveals the square given by {@code row} and {@code col} if it is hidden or guessed.
+     * If {@code cascade} is true and no mines surround it, the region around it is revealed
+     * as {@code revealRegion} does. If the square has been revealed or flagged, by this
+     * thread or any other, nothing changes.
+     *
+     * @param row     the row number of the square
+     * @param col     the column number of the square
+     * @param cascade whether to reveal the region around a square with no surrounding mines
+     * @param changed list that the index of every square revealed is added to, or
+     *                {@code null}
+     * @return the number of squares revealed, 0 if the square was already played
+     * @throws ArrayIndexOutOfBoundsException if the square is not in the mine field
+     */
+    public int tryReveal(int row, int col, boolean cascade, SquareList changed) {
+        int start = index(row, col);
+        if (change(start, REVEALED, OPEN) < 0) {
+            return 0;
+        }
+        if (!cascade) {
+            if (changed != null) {
+                changed.add(start);
+            }
+            return 1;
+        }
+        return cascade(start, changed);
+    } // tryReveal
+
+    /**
+     * Flags the square given by {@code row} and {@code col} if it is hidden or guessed.
+     *
+     * @param row the row number of the square
+     * @param col the column number of the square
+     * @return true if the square was flagged, false if it was already played
+     * @throws ArrayIndexOutOfBoundsException if the square is not in the mine field
+     */
+    public boolean tryFlag(int row, int col) {
+        return change(index(row, col), FLAGGED, OPEN) >= 0;
+    } // tryFlag
+
+    /**
+     * Marks the square given by {@code row} and {@code col} as a guess if it is hidden or
+     * already guessed.
+     *
+     * @param row the row number of the square
+     * @param col the column number of the square
+     * @return true if the square is now guessed, false if it was already played
+     * @throws ArrayIndexOutOfBoundsException if the square is not in the mine field
+     */
+    public boolean tryGuess(int row, int col) {
+        return change(index(row, col), GUESSED, OPEN) >= 0;
+    } // tryGuess
+
+    /**
+     * Returns {@code true} if every square without a mine is revealed and every mine is
+     * flagged. The counts are read first: with the {@code try} methods they never count a
+     * square before it changes, so if they are short, the mine field is not cleared yet, or
+     * the thread whose count completes them has yet to call this after it. Only when the
+     * counts say the mine field is cleared is every square read from the words to decide.
+     * With the {@code try} methods a square is never hidden again, so once this is true it
+     * stays true.
+     *
+     * @param numberOfMines the number of mines in the mine field
+     * @return true if the mine field is cleared
+     */
+    public boolean isCleared(int numberOfMines) {
+        long both = counts.get();
+        int numFlagged = (int) both;
+        int numRevealed = (int) ((both - numFlagged) >> 32);
+        if (numRevealed != rows * cols - numberOfMines || numFlagged != numberOfMines) {
+            return false;
+        }
+        for (int i = 0; i < rows * cols; i++) {
+            if (state(i) != (mine(i) ? FLAGGED : REVEALED)) {
+                return false;
+            }
+        } // for
+        return true;
+    } // isCleared
+
+    /**
+     * Adds {@code start}, which has just been revealed, to {@code changed}, and if no mines
+     * surround it, reveals every hidden or guessed square connected to it through squares
+     * with no surrounding mines, along with their numbered border.
+     *
+     * @param start   the index of the revealed square
+     * @param changed list that the index of every square revealed is added to, or
+     *                {@code null}
+     * @return the number of squares revealed, including {@code start}
+     */
+    private int cascade(int start, SquareList changed) {
+        if (changed != null) {
+            changed.add(start);
+        }
+        if (adjMines[start] != 0 || mine(start)) {
+            return 1;
+        }
+        int count = 1;
+        SquareList queue = new SquareList();
+        queue.add(start);
+        for (int head = 0; head < queue.size(); head++) {
+            int i = queue.get(head);
+            int r = i / cols;
+            int c = i - r * cols;
+            for (int nr = Math.max(r - 1, 0); nr <= Math.min(r + 1, rows - 1); nr++) {
+                for (int nc = Math.max(c - 1, 0); nc <= Math.min(c + 1, cols - 1); nc++) {
+                    int n = nr * cols + nc;
+                    if (change(n, REVEALED, OPEN) < 0) {
+                        continue;
+                    }
+                    count++;
+                    if (changed != null) {
+                        changed.add(n);
+                    }
+                    if (adjMines[n] == 0) {
+                        queue.add(n);
+                    }
+                } // for-inner
+            } // for-outer
+        } // for
+        return count;
+    } // cascade
+
+    /**
+     * Sets the state of square {@code i} to {@code next} if its state is one of
+     * {@code allowed}, with one compare-and-set of its word, and updates the number of
+     * revealed and flagged squares.
+     *
+     * @param i       the index of the square
+     * @param next    the new state
+     * @param allowed one bit for each state the square can be changed from
+     * @return the state the square had, or -1 if it was not changed
+     */
+    private int change(int i, int next, int allowed) {
+        int w = i >>> 5;
+        int shift = (i & 31) << 1;
+        while (true) {
+            long word = squares.get(w);
+            int old = (int) (word >>> shift) & 3;
+            if ((allowed & 1 << old) == 0) {
+                return -1;
+            } else if (old == next) {
+                return old;
+            } // if
+            long updated = word & ~(3L << shift) | (long) next << shift;
+            if (squares.compareAndSet(w, word, updated)) {
+                int revealed = (next == REVEALED ? 1 : 0) - (old == REVEALED ? 1 : 0);
+                int flagged = (next == FLAGGED ? 1 : 0) - (old == FLAGGED ? 1 : 0);
+                if (mine(i)) {
+                    revealedMines.addAndGet(revealed);
+                    revealed = 0;
+                }
+                counts.addAndGet(((long) revealed << 32) + flagged);
+                return old;
+            }
+        } // while
+    } // change
+
+    /**
+     * Returns the state of square {@code i}.
+     *
+     * @param i the index of the square
+     * @return {@code HIDDEN}, {@code REVEALED}, {@code FLAGGED}, or {@code GUESSED}
+     */
+    private int state(int i) {
+        return (int) (squares.get(i >>> 5) >>> ((i & 31) << 1)) & 3;
+    } // state
+
+    /**
+     * Returns true if square {@code i} contains a mine.
+     *
+     * @param i the index of the square
+     * @return true if the square contains a mine
+     */
+    private boolean mine(int i) {
+        return (mines[i >>> 6] & 1L << i) != 0;
+    } // mine
+
+    /**
+     * Returns the index of the square given by {@code row} and {@code col}. The row number
+     * is checked before the column number, so the message of the exception matches the one
+     * given by a {@code [rows][cols]} array.
+     *
+     * @param row the row number of the square
+     * @param col the column number of the square
+     * @return the index of the square
+     * @throws ArrayIndexOutOfBoundsException if the square is not in the mine field
+     */
+    private int index(int row, int col) {
+        if (row < 0 || row >= rows) {
+            throw new ArrayIndexOutOfBoundsException(
+                "Index " + row + " out of bounds for length " + rows);
+        } else if (col < 0 || col >= cols) {
+            throw new ArrayIndexOutOfBoundsException(
+                "Index " + col + " out of bounds for length " + cols);
+        } // if
+        return row * cols + col;
+    } // index
+
+} // ConcurrentBoard
@@ -0,0 +1,53 @@
+package cs1302.game;
+
+import java.io.PrintStream;
+
+/**
+ * {@code ChangeListener} that writes one short line per command instead of the whole mine
+ * field: the number of the command, its outcome, the number of rounds completed, and
+ * "row,col=MARKER" for every square that changed, followed by " # " and the message if
+ * there is one. For example, "4 PLAYED 8 4,4=2 4,5=1". A client that starts from an empty
+ * mine field and applies every line has the same mine field as the game.
+ */
+public class DiffRenderer implements ChangeListener {
+
+    private final PrintStream out;
+    private final int cols;
+    private int commands = 0;
+
+    /**
+     * Constructor method that creates a new {@code DiffRenderer}.
+     *
+     * @param out  where the lines are written
+     * @param cols the number of columns in the mine field
+     */
+    public DiffRenderer(PrintStream out, int cols) {
+        this.out = out;
+        this.cols = cols;
+    } // constructor
+
+    @Override
+    public void changed(MoveResult result, char[] markers) {
+        commands++;
+        out.print(commands);
+        out.print(' ');
+        out.print(result.getOutcome());
+        out.print(' ');
+        out.print(result.getRounds());
+        int[] changed = result.getChanged();
+        for (int i = 0; i < changed.length; i++) {
+            out.print(' ');
+            out.print(changed[i] / cols);
+            out.print(',');
+            out.print(changed[i] % cols);
+            out.print('=');
+            out.print(markers[i]);
+        } // for
+        if (result.getMessage() != null) {
+            out.print(" # ");
+            out.print(result.getMessage());
+        }
+        out.println();
+    } // changed
+
+} // DiffRenderer
@@ -0,0 +1,251 @@
+package cs1302.game;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+
+/**
+ * Object class that draws a {@code mineField} the way {@code MinesweeperGame} prints it:
+ * the number of rounds completed, then one line per row with the row number and the marker
+ * of every square, then the column numbers. Each frame is built in a byte buffer that is
+ * reused from frame to frame and written out with one call, so drawing a frame creates no
+ * objects once the buffer is big enough.
+ *
+ * <p>
+ * At most {@code VIEW_SIZE} rows and columns are drawn, centered on a given square, so
+ * drawing does not depend on the size of the mine field. If not every row and column is
+ * drawn, the range that is drawn is listed above the mine field, and column numbers with
+ * more than one digit are written from top to bottom.
+ */
+public class FieldRenderer {
+
+    /** Largest number of rows or columns drawn in a frame. */
+    public static final int VIEW_SIZE = 10;
+
+    private static final byte[] NEWLINE = System.lineSeparator().getBytes();
+
+    private final Board mineField;
+    private final int rows;
+    private final int cols;
+    private byte[] frame = new byte[1024];
+    private int length = 0;
+
+    /**
+     * Constructor method that creates a new {@code FieldRenderer} that draws
+     * {@code mineField}.
+     *
+     * @param mineField the mine field to draw
+     */
+    public FieldRenderer(Board mineField) {
+        this.mineField = mineField;
+        this.rows = mineField.getRows();
+        this.cols = mineField.getCols();
+    } // constructor
+
+    /**
+     * Draws a frame and writes it to {@code out}.
+     *
+     * @param out      where the frame is written
+     * @param rounds   the number of rounds completed
+     * @param noFog    whether to draw the "cheat" version of the mine field that
+     *                 indicates where the mines are located
+     * @param focusRow the row to center the frame on
+     * @param focusCol the column to center the frame on
+     */
+    public void print(PrintStream out, int rounds, boolean noFog, int focusRow, int focusCol) {
+        render(rounds, noFog, focusRow, focusCol);
+        out.write(frame, 0, length);
+    } // print
+
+    /**
+     * Draws a frame into the buffer, replacing the frame drawn before.
+     *
+     * @param rounds   the number of rounds completed
+     * @param noFog    whether to draw the "cheat" version of the mine field that
+     *                 indicates where the mines are located
+     * @param focusRow the row to center the frame on
+     * @param focusCol the column to center the frame on
+     * @return the number of bytes in the frame
+     */
+    public int render(int rounds, boolean noFog, int focusRow, int focusCol) {
+        length = 0;
+        int firstRow = viewStart(focusRow, rows);
+        int lastRow = Math.min(firstRow + VIEW_SIZE, rows) - 1;
+        int firstCol = viewStart(focusCol, cols);
+        int lastCol = Math.min(firstCol + VIEW_SIZE, cols) - 1;
+        put('\n');
+        put(" Rounds Completed: ");
+        putInt(rounds);
+        put('\n');
+        newline();
+        if (lastRow - firstRow + 1 < rows || lastCol - firstCol + 1 < cols) {
+            put(" Rows ");
+            putInt(firstRow);
+            put('-');
+            putInt(lastRow);
+            put(" and columns ");
+            putInt(firstCol);
+            put('-');
+            putInt(lastCol);
+            put(" of ");
+            putInt(rows);
+            put(" x ");
+            putInt(cols);
+            put('\n');
+            newline();
+        }
+        int labelWidth = digits(lastRow);
+        for (int i = firstRow; i <= lastRow; i++) {
+            put(' ');
+            putSpaces(labelWidth - digits(i));
+            putInt(i);
+            put(" |");
+            for (int j = firstCol; j <= lastCol; j++) {
+                boolean showMine = noFog && mineField.isMine(i, j);
+                put(showMine ? '<' : ' ');
+                put(mineField.getMarker(i, j));
+                put(showMine ? ">|" : " |");
+            } // for-inner
+            newline();
+        } // for-outer
+        int digits = digits(lastCol);
+        for (int d = 0; d < digits; d++) {
+            putSpaces(4 + labelWidth);
+            for (int k = firstCol; k < lastCol; k++) {
+                put(columnDigit(k, d, digits));
+                putSpaces(3);
+            } // for
+            put(columnDigit(lastCol, d, digits));
+            if (d == digits - 1) {
+                put('\n');
+            }
+            newline();
+        } // for
+        return length;
+    } // render
+
+    /**
+     * Returns the buffer holding the last frame drawn. Only the first
+     * {@code render} bytes are part of the frame.
+     *
+     * @return the buffer
+     */
+    public byte[] getFrame() {
+        return frame;
+    } // getFrame
+
+    /**
+     * Returns the first row (or column) drawn so that {@code focus} is as close to
+     * the middle of the drawn rows (or columns) as possible.
+     *
+     * @param focus the row (or column) number to center on
+     * @param size the number of rows (or columns) in the mine field
+     * @return the first row (or column) to draw
+     */
+    static int viewStart(int focus, int size) {
+        int start = focus - VIEW_SIZE / 2;
+        return Math.max(0, Math.min(start, size - VIEW_SIZE));
+    } // viewStart
+
+    /**
+     * Returns the number of digits in {@code n}, which is not negative.
+     *
+     * @param n the number
+     * @return the number of digits
+     */
+    static int digits(int n) {
+        int digits = 1;
+        for (; n >= 10; n /= 10) {
+            digits++;
+        } // for
+        return digits;
+    } // digits
+
+    /**
+     * Returns digit {@code d} (counting from the left) of column number {@code k}, written
+     * with {@code digits} digits and leading spaces, so column numbers can be written from
+     * top to bottom.
+     *
+     * @param k the column number
+     * @param d which digit to return, where 0 is the leftmost digit
+     * @param digits the number of digits to write the column number with
+     * @return the digit, or a space if {@code k} has fewer than {@code digits} digits
+     */
+    private static char columnDigit(int k, int d, int digits) {
+        if (d < digits - digits(k)) {
+            return ' ';
+        }
+        for (int i = d; i < digits - 1; i++) {
+            k /= 10;
+        } // for
+        return (char) ('0' + k % 10);
+    } // columnDigit
+
+    /**
+     * Adds the line separator to the frame.
+     */
+    private void newline() {
+        for (byte b : NEWLINE) {
+            put((char) b);
+        } // for
+    } // newline
+
+    /**
+     * Adds {@code n} spaces to the frame.
+     *
+     * @param n the number of spaces
+     */
+    private void putSpaces(int n) {
+        for (int i = 0; i < n; i++) {
+            put(' ');
+        } // for
+    } // putSpaces
+
+    /**
+     * Adds {@code n}, which is not negative, to the frame.
+     *
+     * @param n the number
+     */
+    private void putInt(int n) {
+        int digits = digits(n);
+        ensureCapacity(digits);
+        for (int i = length + digits - 1; i >= length; i--) {
+            frame[i] = (byte) ('0' + n % 10);
+            n /= 10;
+        } // for
+        length += digits;
+    } // putInt
+
+    /**
+     * Adds {@code s}, which only has ASCII characters, to the frame.
+     *
+     * @param s the text
+     */
+    private void put(String s) {
+        ensureCapacity(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            frame[length++] = (byte) s.charAt(i);
+        } // for
+    } // put
+
+    /**
+     * Adds {@code c}, which is an ASCII character, to the frame.
+     *
+     * @param c the character
+     */
+    private void put(char c) {
+        ensureCapacity(1);
+        frame[length++] = (byte) c;
+    } // put
+
+    /**
+     * Makes sure the buffer has room for {@code n} more bytes, doubling it if not.
+     *
+     * @param n the number of bytes
+     */
+    private void ensureCapacity(int n) {
+        if (length + n > frame.length) {
+            frame = Arrays.copyOf(frame, Math.max(frame.length * 2, length + n));
+        }
+    } // ensureCapacity
+
+} // FieldRenderer
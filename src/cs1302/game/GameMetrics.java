@@ -0,0 +1,239 @@
+package cs1302.game;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Object class that collects metrics for every game played with it: how long each
+ * reveal, mark, guess, and printing of the mine field took, how many commands were invalid,
+ * how many games were won, lost, and quit, and how many rounds each game lasted. Any
+ * number of games, on any number of threads, can share one {@code GameMetrics}; a game
+ * uses it once it is given to {@code MinesweeperEngine.setMetrics}.
+ *
+ * <p>
+ * Recording never locks and never creates objects: latencies and rounds go into
+ * {@code Histogram}s, and counts into {@code AtomicLong}s, so the metrics do not change
+ * the latencies they measure. The metrics can be read through JMX once
+ * {@code registerMBeans} is called, or as plain text from {@code dump}.
+ */
+public class GameMetrics implements GameMetricsMBean {
+
+    /** JMX domain the metrics are registered under. */
+    public static final String DOMAIN = "cs1302.game";
+
+    private final Histogram reveal = new Histogram();
+    private final Histogram mark = new Histogram();
+    private final Histogram guess = new Histogram();
+    private final Histogram printMineField = new Histogram();
+    private final Histogram rounds = new Histogram();
+    private final AtomicLong invalid = new AtomicLong();
+    private final AtomicLong won = new AtomicLong();
+    private final AtomicLong lost = new AtomicLong();
+    private final AtomicLong quit = new AtomicLong();
+
+    /**
+     * Records how long a command took. Only reveals, marks, and guesses are timed; other
+     * commands are ignored.
+     *
+     * @param command the command, one of the commands of {@code MoveJournal}
+     * @param nanos   how long the command took, in nanoseconds
+     */
+    void recordCommand(byte command, long nanos) {
+        if (command == MoveJournal.REVEAL) {
+            reveal.record(nanos);
+        } else if (command == MoveJournal.MARK) {
+            mark.record(nanos);
+        } else if (command == MoveJournal.GUESS) {
+            guess.record(nanos);
+        } // if
+    } // recordCommand
+
+    /**
+     * Records how long printing the mine field took.
+     *
+     * @param nanos how long it took, in nanoseconds
+     */
+    public void recordPrintMineField(long nanos) {
+        printMineField.record(nanos);
+    } // recordPrintMineField
+
+    /**
+     * Counts one command that was answered with an invalid command error.
+     */
+    void recordInvalid() {
+        invalid.incrementAndGet();
+    } // recordInvalid
+
+    /**
+     * Counts one game that ended, and records how many rounds it lasted.
+     *
+     * @param outcome     how the game ended: {@code WON}, {@code LOST}, or {@code QUIT}
+     * @param roundsTaken the number of rounds completed
+     */
+    void recordEnd(MoveResult.Outcome outcome, int roundsTaken) {
+        if (outcome == MoveResult.Outcome.WON) {
+            won.incrementAndGet();
+        } else if (outcome == MoveResult.Outcome.LOST) {
+            lost.incrementAndGet();
+        } else {
+            quit.incrementAndGet();
+        } // if
+        rounds.record(roundsTaken);
+    } // recordEnd
+
+    /**
+     * Returns how long each reveal took, in nanoseconds.
+     *
+     * @return the histogram
+     */
+    public Histogram getReveal() {
+        return reveal;
+    } // getReveal
+
+    /**
+     * Returns how long each mark took, in nanoseconds.
+     *
+     * @return the histogram
+     */
+    public Histogram getMark() {
+        return mark;
+    } // getMark
+
+    /**
+     * Returns how long each guess took, in nanoseconds.
+     *
+     * @return the histogram
+     */
+    public Histogram getGuess() {
+        return guess;
+    } // getGuess
+
+    /**
+     * Returns how long each printing of the mine field took, in nanoseconds.
+     *
+     * @return the histogram
+     */
+    public Histogram getPrintMineField() {
+        return printMineField;
+    } // getPrintMineField
+
+    /**
+     * Returns how many rounds each game that ended lasted.
+     *
+     * @return the histogram
+     */
+    public Histogram getRounds() {
+        return rounds;
+    } // getRounds
+
+    @Override
+    public long getGamesWon() {
+        return won.get();
+    } // getGamesWon
+
+    @Override
+    public long getGamesLost() {
+        return lost.get();
+    } // getGamesLost
+
+    @Override
+    public long getGamesQuit() {
+        return quit.get();
+    } // getGamesQuit
+
+    @Override
+    public double getWinRate() {
+        return rate(won.get());
+    } // getWinRate
+
+    @Override
+    public double getLossRate() {
+        return rate(lost.get());
+    } // getLossRate
+
+    @Override
+    public double getQuitRate() {
+        return rate(quit.get());
+    } // getQuitRate
+
+    @Override
+    public long getInvalidCommands() {
+        return invalid.get();
+    } // getInvalidCommands
+
+    @Override
+    public String getDump() {
+        StringBuilder dump = new StringBuilder();
+        line(dump, "games.won", won.get());
+        line(dump, "games.lost", lost.get());
+        line(dump, "games.quit", quit.get());
+        line(dump, "games.winRate", String.format("%.4f", getWinRate()));
+        line(dump, "games.lossRate", String.format("%.4f", getLossRate()));
+        line(dump, "games.quitRate", String.format("%.4f", getQuitRate()));
+        line(dump, "games.rounds", rounds.summary());
+        line(dump, "commands.invalid", invalid.get());
+        line(dump, "reveal.nanos", reveal.summary());
+        line(dump, "mark.nanos", mark.summary());
+        line(dump, "guess.nanos", guess.summary());
+        line(dump, "printMineField.nanos", printMineField.summary());
+        return dump.toString();
+    } // getDump
+
+    /**
+     * Prints every metric to {@code out}, one per line, as the name of the metric, a space,
+     * and its value. Histograms are printed as {@code Histogram.summary} does.
+     *
+     * @param out where the metrics are printed
+     */
+    public void dump(PrintStream out) {
+        out.print(getDump());
+        out.flush();
+    } // dump
+
+    /**
+     * Registers these metrics with the platform MBean server, as
+     * "cs1302.game:type=GameMetrics" for the counts and
+     * "cs1302.game:type=GameMetrics,name=NAME" for each histogram, where NAME is reveal,
+     * mark, guess, printMineField, or rounds.
+     *
+     * @throws JMException if the metrics cannot be registered, for example because
+     * other metrics are already registered under the same names
+     */
+    public void registerMBeans() throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        String type = DOMAIN + ":type=GameMetrics";
+        server.registerMBean(this, new ObjectName(type));
+        server.registerMBean(reveal, new ObjectName(type + ",name=reveal"));
+        server.registerMBean(mark, new ObjectName(type + ",name=mark"));
+        server.registerMBean(guess, new ObjectName(type + ",name=guess"));
+        server.registerMBean(printMineField, new ObjectName(type + ",name=printMineField"));
+        server.registerMBean(rounds, new ObjectName(type + ",name=rounds"));
+    } // registerMBeans
+
+    /**
+     * Returns {@code games} as a fraction of the games that ended.
+     *
+     * @param games a number of games
+     * @return the fraction, or 0 if no game has ended
+     */
+    private double rate(long games) {
+        long ended = won.get() + lost.get() + quit.get();
+        return ended == 0 ? 0 : (double) games / ended;
+    } // rate
+
+    /**
+     * Adds one line of the dump to {@code dump}.
+     *
+     * @param dump  the dump
+     * @param name  the name of the metric
+     * @param value the value of the metric
+     */
+    private static void line(StringBuilder dump, String name, Object value) {
+        dump.append(name).append(' ').append(value).append('\n');
+    } // line
+
+} // GameMetrics
@@ -0,0 +1,65 @@
+package cs1302.game;
+
+/**
+ * Interface describing the counts a {@code GameMetrics} shows through JMX. The latency and
+ * rounds histograms are shown as {@code HistogramMBean}s of their own.
+ */
+public interface GameMetricsMBean {
+
+    /**
+     * Returns the number of games won.
+     *
+     * @return the number of games
+     */
+    long getGamesWon();
+
+    /**
+     * Returns the number of games lost.
+     *
+     * @return the number of games
+     */
+    long getGamesLost();
+
+    /**
+     * Returns the number of games quit.
+     *
+     * @return the number of games
+     */
+    long getGamesQuit();
+
+    /**
+     * Returns the fraction of the games that ended that were won.
+     *
+     * @return the win rate, from 0 to 1, or 0 if no game has ended
+     */
+    double getWinRate();
+
+    /**
+     * Returns the fraction of the games that ended that were lost.
+     *
+     * @return the loss rate, from 0 to 1, or 0 if no game has ended
+     */
+    double getLossRate();
+
+    /**
+     * Returns the fraction of the games that ended that were quit.
+     *
+     * @return the quit rate, from 0 to 1, or 0 if no game has ended
+     */
+    double getQuitRate();
+
+    /**
+     * Returns the number of commands that were answered with an invalid command error.
+     *
+     * @return the number of invalid commands
+     */
+    long getInvalidCommands();
+
+    /**
+     * Returns a plain-text dump of every metric, as written by {@code GameMetrics.dump}.
+     *
+     * @return the dump
+     */
+    String getDump();
+
+} // GameMetricsMBean
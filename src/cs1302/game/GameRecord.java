@@ -0,0 +1,116 @@
+package cs1302.game;
+
+/**
+ * Object class that describes one finished game for a {@code Leaderboard}: which mine
+ * field it was played on, how it ended, the number of rounds it took, its score, and how
+ * long it was played. A {@code GameRecord} never changes once it is created.
+ */
+public class GameRecord {
+
+    private final long seed;
+    private final int rows;
+    private final int cols;
+    private final int numberOfMines;
+    private final MoveResult.Outcome outcome;
+    private final int rounds;
+    private final double score;
+    private final long nanos;
+
+    /**
+     * Constructor method that creates a new {@code GameRecord}.
+     *
+     * @param seed          the seed of the mine field, as {@code Leaderboard.seedOf}
+     *                      returns it
+     * @param rows          the number of rows in the mine field
+     * @param cols          the number of columns in the mine field
+     * @param numberOfMines the number of mines in the mine field
+     * @param outcome       how the game ended: {@code WON}, {@code LOST}, or {@code QUIT}
+     * @param rounds        the number of rounds completed
+     * @param score         the score if the game was won, otherwise 0
+     * @param nanos         how long the game was played, in nanoseconds
+     */
+    public GameRecord(long seed, int rows, int cols, int numberOfMines,
+        MoveResult.Outcome outcome, int rounds, double score, long nanos) {
+        this.seed = seed;
+        this.rows = rows;
+        this.cols = cols;
+        this.numberOfMines = numberOfMines;
+        this.outcome = outcome;
+        this.rounds = rounds;
+        this.score = score;
+        this.nanos = nanos;
+    } // constructor
+
+    /**
+     * Returns the seed of the mine field the game was played on.
+     *
+     * @return the seed
+     */
+    public long getSeed() {
+        return seed;
+    } // getSeed
+
+    /**
+     * Returns the number of rows in the mine field.
+     *
+     * @return the number of rows
+     */
+    public int getRows() {
+        return rows;
+    } // getRows
+
+    /**
+     * Returns the number of columns in the mine field.
+     *
+     * @return the number of columns
+     */
+    public int getCols() {
+        return cols;
+    } // getCols
+
+    /**
+     * Returns the number of mines in the mine field.
+     *
+     * @return the number of mines
+     */
+    public int getNumberOfMines() {
+        return numberOfMines;
+    } // getNumberOfMines
+
+    /**
+     * Returns how the game ended.
+     *
+     * @return {@code WON}, {@code LOST}, or {@code QUIT}
+     */
+    public MoveResult.Outcome getOutcome() {
+        return outcome;
+    } // getOutcome
+
+    /**
+     * Returns the number of rounds completed.
+     *
+     * @return the number of rounds
+     */
+    public int getRounds() {
+        return rounds;
+    } // getRounds
+
+    /**
+     * Returns the score of the game.
+     *
+     * @return the score if the game was won, otherwise 0
+     */
+    public double getScore() {
+        return score;
+    } // getScore
+
+    /**
+     * Returns how long the game was played.
+     *
+     * @return the number of nanoseconds
+     */
+    public long getNanos() {
+        return nanos;
+    } // getNanos
+
+} // GameRecord
@@ -0,0 +1,287 @@
+package cs1302.game;
+
+import java.util.zip.CRC32C;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Saves a game in progress to a compact binary snapshot and restores it, so a game can be
+ * stopped and later go on exactly as if it had never stopped. A snapshot holds the size of
+ * the mine field, the number of mines, the rounds completed, the score, how the game ended
+ * if it is over, cascade reveal mode, the last square played, the random seed of a generated mine
+ * field whose mines have not been placed yet, and four bitsets with one bit per square: the
+ * mines and the revealed, flagged, and guessed squares. The number of mines around each
+ * square and the counts of revealed and flagged squares are worked out again on restore.
+ *
+ * <p>
+ * Every number is big-endian. The layout of version 1 is:
+ * <pre>
+ * int    MAGIC ("MSW1")
+ * short  VERSION
+ * short  flags: 1 = won, 2 = lost, 4 = quit, 8 = cascade, 16 = mines not placed yet
+ * int    rows, cols, numberOfMines, rounds, lastSquare
+ * double score
+ * long   random seed (0 unless flag 16 is set)
+ * long[] mines, revealed, flagged, guessed ((rows * cols + 63) / 64 words each)
+ * int    CRC-32C of every byte before it
+ * </pre>
+ * A 10 x 10 game is 112 bytes. Files are written to a temporary file that is forced to disk
+ * and then moved in place of the old snapshot, so a crash never leaves half a snapshot
+ * behind; {@code save(engine, path, false)} skips forcing to disk for callers that save
+ * often and can lose the last save to a power loss.
+ */
+public class GameSnapshot {
+
+    /** First four bytes of every snapshot. */
+    public static final int MAGIC = 0x4D535731;
+    /** Version of the layout written by this class. */
+    public static final short VERSION = 1;
+
+    private static final int HEADER_BYTES = 4 + 2 + 2 + 5 * 4 + 8 + 8;
+    private static final short WON = 1;
+    private static final short LOST = 2;
+    private static final short QUIT = 4;
+    private static final short CASCADE = 8;
+    private static final short PENDING = 16;
+
+    /**
+     * Returns the number of bytes in a snapshot of {@code engine}.
+     *
+     * @param engine the game
+     * @return the size of its snapshot
+     */
+    public static int size(MinesweeperEngine engine) {
+        return HEADER_BYTES + 4 * planeWords(engine) * Long.BYTES + 4;
+    } // size
+
+    /**
+     * Writes a snapshot of {@code engine} to {@code out}, starting at its position, which is
+     * moved past the snapshot. {@code out} must have {@code size(engine)} bytes remaining.
+     *
+     * @param engine the game, which must be played on a {@code BitBoard}
+     * @param out    where the snapshot is written
+     * @throws IllegalArgumentException if the game is not played on a {@code BitBoard}
+     */
+    public static void encode(MinesweeperEngine engine, ByteBuffer out) {
+        Board board = engine.getMineField();
+        if (!(board instanceof BitBoard)) {
+            throw new IllegalArgumentException("only games played on a BitBoard can be saved");
+        }
+        MineGenerator generator = engine.getGenerator();
+        MoveResult.Outcome ending = engine.getEnding();
+        short flags = 0;
+        flags |= ending == MoveResult.Outcome.WON ? WON : 0;
+        flags |= ending == MoveResult.Outcome.LOST ? LOST : 0;
+        flags |= ending == MoveResult.Outcome.QUIT ? QUIT : 0;
+        flags |= engine.isCascade() ? CASCADE : 0;
+        flags |= generator != null ? PENDING : 0;
+        int start = out.position();
+        out.putInt(MAGIC);
+        out.putShort(VERSION);
+        out.putShort(flags);
+        out.putInt(board.getRows());
+        out.putInt(board.getCols());
+        out.putInt(engine.getNumberOfMines());
+        out.putInt(engine.getRounds());
+        out.putInt(engine.getLastSquare());
+        out.putDouble(engine.getScore());
+        out.putLong(generator != null ? generator.getSeed() : 0);
+        ((BitBoard) board).writePlanes(out);
+        out.putInt(checksum(out, start, out.position()));
+    } // encode
+
+    /**
+     * Returns a new buffer holding a snapshot of {@code engine}, ready to be read or written.
+     *
+     * @param engine the game, which must be played on a {@code BitBoard}
+     * @return the snapshot
+     */
+    public static ByteBuffer encode(MinesweeperEngine engine) {
+        ByteBuffer out = ByteBuffer.allocate(size(engine));
+        encode(engine, out);
+        return out.flip();
+    } // encode
+
+    /**
+     * Reads a snapshot from {@code in}, starting at its position, which is moved past the
+     * snapshot, and returns the game it describes.
+     *
+     * @param in where the snapshot is read from
+     * @return the restored game
+     * @throws IOException if {@code in} does not hold a whole, valid version 1 snapshot
+     */
+    public static MinesweeperEngine decode(ByteBuffer in) throws IOException {
+        int start = in.position();
+        if (in.remaining() < HEADER_BYTES + 4) {
+            throw new IOException("snapshot is too short");
+        } else if (in.getInt() != MAGIC) {
+            throw new IOException("not a minesweeper-alpha snapshot");
+        }
+        short version = in.getShort();
+        if (version != VERSION) {
+            throw new IOException("snapshot version " + version + " is not supported");
+        }
+        short flags = in.getShort();
+        int rows = in.getInt();
+        int cols = in.getInt();
+        int numberOfMines = in.getInt();
+        int rounds = in.getInt();
+        int lastSquare = in.getInt();
+        double score = in.getDouble();
+        long seed = in.getLong();
+        if (rows < 1 || cols < 1 || (long) rows * cols > Integer.MAX_VALUE - 63) {
+            throw new IOException("snapshot has a mine field of " + rows + " x " + cols);
+        } else if (numberOfMines < 1 || numberOfMines >= rows * cols) {
+            throw new IOException("snapshot has " + numberOfMines + " mines");
+        }
+        int words = (rows * cols + 63) >>> 6;
+        int end = start + HEADER_BYTES + 4 * words * Long.BYTES;
+        if (in.limit() - end < 4) {
+            throw new IOException("snapshot is too short");
+        } else if (in.getInt(end) != checksum(in, start, end)) {
+            throw new IOException("snapshot checksum does not match");
+        }
+        BitBoard board = new BitBoard(rows, cols);
+        board.readPlanes(in);
+        in.position(end + 4);
+        MineGenerator generator = null;
+        if ((flags & PENDING) != 0) {
+            generator = new MineGenerator(rows, cols, numberOfMines, seed);
+        }
+        MinesweeperEngine engine = new MinesweeperEngine(board, numberOfMines, generator);
+        engine.setCascade((flags & CASCADE) != 0);
+        MoveResult.Outcome ending = null;
+        if ((flags & WON) != 0) {
+            ending = MoveResult.Outcome.WON;
+        } else if ((flags & LOST) != 0) {
+            ending = MoveResult.Outcome.LOST;
+        } else if ((flags & QUIT) != 0) {
+            ending = MoveResult.Outcome.QUIT;
+        } // if
+        engine.restore(rounds, score, ending, lastSquare);
+        return engine;
+    } // decode
+
+    /**
+     * Saves a snapshot of {@code engine} to the file at {@code path}, replacing it if it
+     * exists, and waits until it is on disk. The snapshot is written to a temporary file
+     * next to it first and forced to disk, the temporary file is moved in place of
+     * {@code path}, and then the directory is forced to disk, so after a crash or a power
+     * loss {@code path} holds either the whole old snapshot or the whole new one.
+     *
+     * @param engine the game, which must be played on a {@code BitBoard}
+     * @param path   where the snapshot is saved
+     * @throws IOException if the snapshot cannot be written
+     */
+    public static void save(MinesweeperEngine engine, Path path) throws IOException {
+        save(engine, path, true);
+    } // save
+
+    /**
+     * Saves a snapshot of {@code engine} to the file at {@code path}, replacing it if it
+     * exists. The snapshot is written to a temporary file next to it first, which is then
+     * moved in place of {@code path}. If {@code durable} is true, this is the same as
+     * {@code save(engine, path)}. If it is false, nothing is forced to disk: the save is
+     * much faster and a crash of the program still never leaves half a snapshot behind,
+     * but after a crash of the operating system or a power loss {@code path} may be empty
+     * or hold only part of the new snapshot.
+     *
+     * @param engine  the game, which must be played on a {@code BitBoard}
+     * @param path    where the snapshot is saved
+     * @param durable whether to wait until the snapshot is on disk
+     * @throws IOException if the snapshot cannot be written
+     */
+    public static void save(MinesweeperEngine engine, Path path, boolean durable)
+        throws IOException {
+        ByteBuffer snapshot = encode(engine);
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (snapshot.hasRemaining()) {
+                channel.write(snapshot);
+            } // while
+            if (durable) {
+                channel.force(true);
+            }
+        } // try
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+        if (durable) {
+            forceDirectory(path.toAbsolutePath().getParent());
+        }
+    } // save
+
+    /**
+     * Forces the entries of {@code directory}, such as a file just moved into it, to disk.
+     * Some platforms, such as Windows, cannot open a directory this way; there the move is
+     * left to the file system.
+     *
+     * @param directory the directory
+     * @throws IOException if the directory was opened but could not be forced to disk
+     */
+    private static void forceDirectory(Path directory) throws IOException {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(directory, StandardOpenOption.READ);
+        } catch (IOException ioe) {
+            return;
+        } // try-catch
+        try (FileChannel dir = channel) {
+            dir.force(true);
+        } // try
+    } // forceDirectory
+
+    /**
+     * Restores the game saved in the file at {@code path}.
+     *
+     * @param path where the snapshot was saved
+     * @return the restored game
+     * @throws IOException if the file cannot be read or is not a valid snapshot
+     */
+    public static MinesweeperEngine load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("snapshot is too large");
+            }
+            ByteBuffer in = ByteBuffer.allocate((int) size);
+            int read = 0;
+            while (in.hasRemaining() && read >= 0) {
+                read = channel.read(in);
+            } // while
+            return decode(in.flip());
+        } // try
+    } // load
+
+    /**
+     * Returns the CRC-32C checksum of the bytes of {@code buffer} from {@code from} up to
+     * {@code to}, without moving its position.
+     *
+     * @param buffer the bytes
+     * @param from   the index of the first byte
+     * @param to     the index after the last byte
+     * @return the checksum
+     */
+    private static int checksum(ByteBuffer buffer, int from, int to) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.duplicate().position(from).limit(to));
+        return (int) crc.getValue();
+    } // checksum
+
+    /**
+     * Returns the number of {@code long} words in each bitset of the game's mine field.
+     *
+     * @param engine the game
+     * @return the number of words
+     */
+    private static int planeWords(MinesweeperEngine engine) {
+        Board board = engine.getMineField();
+        return (board.getRows() * board.getCols() + 63) >>> 6;
+    } // planeWords
+
+} // GameSnapshot
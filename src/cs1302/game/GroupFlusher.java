@@ -0,0 +1,57 @@
+package cs1302.game;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the late writes of the files that write records in groups, {@code MoveJournal} and
+ * {@code Leaderboard}. A group is written as soon as it is full, but a group that is not
+ * full must still be written when its time is up, even if no record is added after it,
+ * so a player who stops playing or a server with no games ending does not leave records
+ * in memory for longer than the group time. Each file schedules one task when it starts a
+ * group and cancels it when the group is written first.
+ *
+ * <p>
+ * Every task runs on one daemon thread shared by the whole program, so the thread never
+ * keeps the program from exiting, and tasks must be short.
+ */
+public class GroupFlusher {
+
+    private static final ScheduledThreadPoolExecutor EXECUTOR = newExecutor();
+
+    /**
+     * This class only has static methods.
+     */
+    private GroupFlusher() {
+    } // constructor
+
+    /**
+     * Runs {@code task} once, {@code nanos} nanoseconds from now.
+     *
+     * @param task  the task, which must not throw
+     * @param nanos how long to wait, in nanoseconds
+     * @return the scheduled task, which can be cancelled
+     */
+    static ScheduledFuture<?> schedule(Runnable task, long nanos) {
+        return EXECUTOR.schedule(task, nanos, TimeUnit.NANOSECONDS);
+    } // schedule
+
+    /**
+     * Returns the executor, with one daemon thread, that drops cancelled tasks at once.
+     *
+     * @return the executor
+     */
+    private static ScheduledThreadPoolExecutor newExecutor() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = Executors.defaultThreadFactory().newThread(runnable);
+            thread.setName("group-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    } // newExecutor
+
+} // GroupFlusher
@@ -0,0 +1,105 @@
+package cs1302.game;
+
+/**
+ * Object class describing what a {@code HintSolver} worked out from the numbers on the
+ * revealed squares of a mine field: the hidden squares that are certainly safe, the
+ * squares that certainly hold a mine, and, when no square is certainly safe, the chance
+ * that each hidden square next to a revealed number holds a mine. Squares are given by
+ * their index, {@code row * cols + col}.
+ */
+public class Hint {
+
+    private final int[] safe;
+    private final int[] mines;
+    private final int[] squares;
+    private final double[] probabilities;
+    private final double otherProbability;
+
+    /**
+     * Constructor method that creates a new {@code Hint}.
+     *
+     * @param safe             the hidden squares that are certainly safe, in increasing order
+     * @param mines            the squares not yet flagged that certainly hold a mine, in
+     *                         increasing order
+     * @param squares          the other hidden squares next to a revealed number, in
+     *                         increasing order, or none if some square is certainly safe
+     * @param probabilities    the chance that each of {@code squares} holds a mine
+     * @param otherProbability the chance that a hidden square not next to any revealed
+     *                         number holds a mine, or {@code NaN} if it was not worked out
+     */
+    public Hint(int[] safe, int[] mines, int[] squares, double[] probabilities,
+        double otherProbability) {
+        this.safe = safe;
+        this.mines = mines;
+        this.squares = squares;
+        this.probabilities = probabilities;
+        this.otherProbability = otherProbability;
+    } // constructor
+
+    /**
+     * Returns the hidden squares that certainly do not hold a mine, including flagged
+     * squares that were flagged by mistake.
+     *
+     * @return the indices of the safe squares, in increasing order
+     */
+    public int[] getSafe() {
+        return safe;
+    } // getSafe
+
+    /**
+     * Returns the squares that certainly hold a mine and have not been flagged yet.
+     *
+     * @return the indices of the mines, in increasing order
+     */
+    public int[] getMines() {
+        return mines;
+    } // getMines
+
+    /**
+     * Returns the hidden squares next to a revealed number that may or may not hold a mine.
+     * These are only given when no square is certainly safe, so the player has to guess.
+     *
+     * @return the indices of the squares, in increasing order
+     */
+    public int[] getSquares() {
+        return squares;
+    } // getSquares
+
+    /**
+     * Returns the chance that each square of {@code getSquares} holds a mine, in the same
+     * order.
+     *
+     * @return the probabilities, from 0 to 1
+     */
+    public double[] getProbabilities() {
+        return probabilities;
+    } // getProbabilities
+
+    /**
+     * Returns the chance that a hidden square with no revealed number next to it holds a
+     * mine. This is 0 if every such square is certainly safe, and {@code NaN} if there are
+     * no such squares or some square is certainly safe.
+     *
+     * @return the probability, from 0 to 1, or {@code NaN}
+     */
+    public double getOtherProbability() {
+        return otherProbability;
+    } // getOtherProbability
+
+    /**
+     * Returns the square of {@code getSquares} least likely to hold a mine, or -1 if there
+     * are none.
+     *
+     * @return the index of the square, or -1
+     */
+    public int getSafestSquare() {
+        int best = -1;
+        for (int i = 0; i < squares.length; i++) {
+            if (best < 0 || probabilities[i] < probabilities[best]) {
+                best = i;
+            }
+        } // for
+        return best < 0 ? -1 : squares[best];
+    } // getSafestSquare
+
+} // Hint
@@ -0,0 +1,776 @@
+package cs1302.game;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Object class that works out hints for a mine field from what the player can see: the
+ * number of mines around each revealed square, and the number of mines in the mine field.
+ * Flags and question marks are the player's own guesses, so flagged and guessed squares are
+ * treated as hidden squares.
+ *
+ * <p>
+ * Every hidden square next to a revealed number is on the frontier. Frontier squares are
+ * split into groups, where two squares are in the same group if some revealed number is
+ * next to both, so what is known about one group does not depend on any other. A group of
+ * at most {@code EXACT_SQUARES} squares is solved exactly, by trying every way of placing
+ * mines on it that agrees with its numbers, counting the ways for each number of mines. In
+ * a larger group (or one with too many ways to try), each square is checked on its own
+ * against the numbers within two squares of it, which can miss a square that is certainly
+ * safe but never calls a square safe that is not.
+ *
+ * <p>
+ * Groups are kept from one hint to the next. After each move, only the groups within two
+ * squares of a changed square are built and solved again, and only the squares within six
+ * squares of a changed square are checked again, so the time taken by a hint depends on
+ * the size of the groups the last moves changed and not on the size of the mine field.
+ *
+ * <p>
+ * When no square is certainly safe, the chance that a square holds a mine is worked out
+ * by treating each hidden square away from the frontier as holding a mine with the same
+ * chance {@code p}, picked so the expected number of mines matches the number of mines in
+ * the mine field, and weighing the ways to place mines on each exactly solved group by it.
+ */
+public class HintSolver {
+
+    /** Largest number of squares in a group that is solved exactly. */
+    public static final int EXACT_SQUARES = 64;
+    /** Largest number of placements tried when solving one group exactly. */
+    public static final int EXACT_BUDGET = 1 << 18;
+    /** Largest number of placements tried when checking one square on its own. */
+    public static final int LOCAL_BUDGET = 1 << 14;
+
+    private final Board mineField;
+    private final int rows;
+    private final int cols;
+    private final int numberOfMines;
+    private final Map<Integer, Group> groupOf = new HashMap<Integer, Group>();
+    private final Set<Group> groups = new HashSet<Group>();
+    private final Map<Integer, Double> checked = new HashMap<Integer, Double>();
+    private final SquareList pending = new SquareList();
+
+    /**
+     * Constructor method that creates a new {@code HintSolver} for {@code mineField}. Any
+     * squares already revealed are taken into account by the first hint.
+     *
+     * @param mineField     the mine field
+     * @param numberOfMines the number of mines in the mine field
+     */
+    public HintSolver(Board mineField, int numberOfMines) {
+        this.mineField = mineField;
+        this.rows = mineField.getRows();
+        this.cols = mineField.getCols();
+        this.numberOfMines = numberOfMines;
+        if (mineField.getNumRevealed() > 0) {
+            for (int i = 0; i < rows * cols; i++) {
+                if (revealed(i)) {
+                    pending.add(i);
+                }
+            } // for
+        }
+    } // constructor
+
+    /**
+     * Tells the solver which squares a move changed. The work is done by the next
+     * {@code hint}.
+     *
+     * @param squares the indices of the changed squares
+     */
+    public void update(int[] squares) {
+        for (int square : squares) {
+            pending.add(square);
+        } // for
+    } // update
+
+    /**
+     * Returns the squares that are certainly safe and the squares that certainly hold a
+     * mine. If no square is certainly safe, the chance that each frontier square holds a
+     * mine, and the chance for any other hidden square, are returned too.
+     *
+     * @return the hint
+     */
+    public Hint hint() {
+        refresh();
+        SquareList safe = new SquareList();
+        SquareList mines = new SquareList();
+        int minMines = 0;
+        int maxMines = 0;
+        for (Group group : groups) {
+            for (int i = 0; i < group.cells.length; i++) {
+                if (group.safe[i]) {
+                    safe.add(group.cells[i]);
+                } else if (group.mine[i] && !flagged(group.cells[i])) {
+                    mines.add(group.cells[i]);
+                }
+            } // for
+            minMines += group.minMines;
+            maxMines += group.maxMines;
+        } // for
+        int others = rows * cols - mineField.getNumRevealed() - groupOf.size();
+        double otherProbability = Double.NaN;
+        if (others > 0 && minMines >= numberOfMines) {
+            addOthers(safe, false);
+            otherProbability = 0;
+        } else if (others > 0 && maxMines <= numberOfMines - others) {
+            addOthers(mines, true);
+            otherProbability = 1;
+        } // if
+        int[] safeSquares = sorted(safe);
+        int[] mineSquares = sorted(mines);
+        if (safeSquares.length > 0) {
+            return new Hint(safeSquares, mineSquares, new int[0], new double[0],
+                otherProbability);
+        }
+        double t = density(others);
+        if (others > 0 && Double.isNaN(otherProbability)) {
+            otherProbability = 1 / (1 + Math.exp(-t));
+        }
+        long[] order = new long[groupOf.size()];
+        double[] unsorted = new double[groupOf.size()];
+        int count = 0;
+        for (Group group : groups) {
+            group.weigh(t);
+            for (int i = 0; i < group.cells.length; i++) {
+                if (!group.safe[i] && !group.mine[i]) {
+                    order[count] = (long) group.cells[i] << 32 | count;
+                    unsorted[count] = group.probability(i);
+                    count++;
+                }
+            } // for
+        } // for
+        Arrays.sort(order, 0, count);
+        int[] squares = new int[count];
+        double[] probabilities = new double[count];
+        for (int i = 0; i < count; i++) {
+            squares[i] = (int) (order[i] >>> 32);
+            probabilities[i] = unsorted[(int) order[i]];
+        } // for
+        return new Hint(safeSquares, mineSquares, squares, probabilities, otherProbability);
+    } // hint
+
+    /**
+     * Drops the groups and checked squares near every square changed since the last hint,
+     * and builds and solves the groups of the frontier squares near them again.
+     */
+    private void refresh() {
+        if (pending.size() == 0) {
+            return;
+        }
+        Set<Integer> seeds = new HashSet<Integer>();
+        for (int p = 0; p < pending.size(); p++) {
+            int square = pending.get(p);
+            int row = square / cols;
+            int col = square % cols;
+            for (int r = Math.max(row - 2, 0); r <= Math.min(row + 2, rows - 1); r++) {
+                for (int c = Math.max(col - 2, 0); c <= Math.min(col + 2, cols - 1); c++) {
+                    int x = r * cols + c;
+                    Group group = groupOf.get(x);
+                    if (group != null) {
+                        drop(group, seeds);
+                    }
+                    if (!revealed(x)) {
+                        seeds.add(x);
+                    }
+                } // for-inner
+            } // for-outer
+            if (!checked.isEmpty()) {
+                for (int r = Math.max(row - 6, 0); r <= Math.min(row + 6, rows - 1); r++) {
+                    for (int c = Math.max(col - 6, 0); c <= Math.min(col + 6, cols - 1); c++) {
+                        checked.remove(r * cols + c);
+                    } // for-inner
+                } // for-outer
+            }
+        } // for
+        pending.clear();
+        for (int seed : seeds) {
+            if (!groupOf.containsKey(seed) && isFrontier(seed)) {
+                build(seed);
+            }
+        } // for
+    } // refresh
+
+    /**
+     * Forgets {@code group}, adding its squares to {@code seeds} so they are looked at again.
+     *
+     * @param group the group
+     * @param seeds the squares to build groups from, or null
+     */
+    private void drop(Group group, Set<Integer> seeds) {
+        groups.remove(group);
+        for (int cell : group.cells) {
+            groupOf.remove(cell);
+            if (seeds != null) {
+                seeds.add(cell);
+            }
+        } // for
+    } // drop
+
+    /**
+     * Builds the group of frontier square {@code seed}, by following the revealed numbers
+     * next to each of its squares to the hidden squares next to them, and solves it.
+     *
+     * @param seed a frontier square that is not in any group
+     */
+    private void build(int seed) {
+        Group group = new Group();
+        SquareList cells = new SquareList();
+        groupOf.put(seed, group);
+        cells.add(seed);
+        for (int head = 0; head < cells.size(); head++) {
+            int x = cells.get(head);
+            int row = x / cols;
+            int col = x % cols;
+            for (int r = Math.max(row - 1, 0); r <= Math.min(row + 1, rows - 1); r++) {
+                for (int c = Math.max(col - 1, 0); c <= Math.min(col + 1, cols - 1); c++) {
+                    if (revealed(r * cols + c)) {
+                        addHiddenAround(r * cols + c, group, cells);
+                    }
+                } // for-inner
+            } // for-outer
+        } // for
+        group.cells = cells.toArray();
+        int first = seed;
+        for (int cell : group.cells) {
+            first = Math.min(first, cell);
+        } // for
+        if (first != seed) {
+            group.cells = inOrder(first);
+        }
+        solve(group);
+        groups.add(group);
+    } // build
+
+    /**
+     * Returns the squares of the group of frontier square {@code first} in the order they
+     * are found by following the revealed numbers from {@code first}. Groups are always
+     * solved in the order found from their smallest square, so whether a group fits in
+     * {@code EXACT_BUDGET}, and so the hint, does not depend on which of its squares the
+     * last moves changed.
+     *
+     * @param first the smallest square of the group
+     * @return the squares of the group
+     */
+    private int[] inOrder(int first) {
+        SquareList cells = new SquareList();
+        Set<Integer> seen = new HashSet<Integer>();
+        cells.add(first);
+        seen.add(first);
+        for (int head = 0; head < cells.size(); head++) {
+            addHiddenNear(cells.get(head), seen, cells);
+        } // for
+        return cells.toArray();
+    } // inOrder
+
+    /**
+     * Adds every hidden square next to revealed square {@code number} that is not in
+     * {@code group} yet to it, taking it out of any other group it was in.
+     *
+     * @param number the revealed square
+     * @param group  the group being built
+     * @param cells  the squares of the group, in the order they were found
+     */
+    private void addHiddenAround(int number, Group group, SquareList cells) {
+        int row = number / cols;
+        int col = number % cols;
+        for (int r = Math.max(row - 1, 0); r <= Math.min(row + 1, rows - 1); r++) {
+            for (int c = Math.max(col - 1, 0); c <= Math.min(col + 1, cols - 1); c++) {
+                int y = r * cols + c;
+                if (revealed(y)) {
+                    continue;
+                }
+                Group other = groupOf.get(y);
+                if (other == group) {
+                    continue;
+                } else if (other != null) {
+                    drop(other, null);
+                } // if
+                groupOf.put(y, group);
+                cells.add(y);
+            } // for-inner
+        } // for-outer
+    } // addHiddenAround
+
+    /**
+     * Solves {@code group} exactly if it is small enough, or checks each of its squares on
+     * its own otherwise, and sets which of its squares are certainly safe or mines.
+     *
+     * @param group the group, with its squares set
+     */
+    private void solve(Group group) {
+        int n = group.cells.length;
+        group.safe = new boolean[n];
+        group.mine = new boolean[n];
+        if (n <= EXACT_SQUARES) {
+            Search search = search(group.cells, EXACT_BUDGET);
+            if (search != null) {
+                group.setSolutions(search);
+                return;
+            }
+        }
+        group.probabilities = new double[n];
+        for (int i = 0; i < n; i++) {
+            Double probability = checked.get(group.cells[i]);
+            if (probability == null) {
+                probability = check(group.cells[i]);
+                checked.put(group.cells[i], probability);
+            }
+            group.probabilities[i] = probability;
+            group.safe[i] = probability == 0;
+            group.mine[i] = probability == 1;
+            group.maxMines += group.safe[i] ? 0 : 1;
+            group.minMines += group.mine[i] ? 1 : 0;
+        } // for
+    } // solve
+
+    /**
+     * Checks frontier square {@code x} against the revealed numbers next to it and next to
+     * the hidden squares around those numbers, or against only the numbers next to it if
+     * that takes too many placements. Every placement of mines on the whole mine field that
+     * agrees with every number also agrees with these numbers, so a square that never holds
+     * a mine here is certainly safe.
+     *
+     * @param x the index of the square
+     * @return the fraction of the placements that agree with the numbers in which {@code x}
+     * holds a mine: 0 if it is certainly safe, 1 if it certainly holds a mine
+     */
+    private double check(int x) {
+        for (int reach = 2; reach >= 1; reach--) {
+            SquareList cells = new SquareList();
+            Set<Integer> seen = new HashSet<Integer>();
+            cells.add(x);
+            seen.add(x);
+            addHiddenNear(x, seen, cells);
+            if (reach == 2) {
+                int near = cells.size();
+                for (int i = 1; i < near; i++) {
+                    addHiddenNear(cells.get(i), seen, cells);
+                } // for
+            }
+            Search search = search(cells.toArray(), LOCAL_BUDGET);
+            if (search != null) {
+                double mines = 0;
+                double all = 0;
+                for (int k = 0; k < search.solutions.length; k++) {
+                    mines += search.cellMines[k * search.n];
+                    all += search.solutions[k];
+                } // for
+                return mines / all;
+            }
+        } // for
+        return 0.5;
+    } // check
+
+    /**
+     * Adds every hidden square next to a revealed square next to square {@code x} that is
+     * not in {@code seen} to {@code seen} and {@code cells}.
+     *
+     * @param x     the index of the square
+     * @param seen  the squares found so far
+     * @param cells the squares found so far, in the order they were found
+     */
+    private void addHiddenNear(int x, Set<Integer> seen, SquareList cells) {
+        int row = x / cols;
+        int col = x % cols;
+        for (int r = Math.max(row - 1, 0); r <= Math.min(row + 1, rows - 1); r++) {
+            for (int c = Math.max(col - 1, 0); c <= Math.min(col + 1, cols - 1); c++) {
+                if (!revealed(r * cols + c)) {
+                    continue;
+                }
+                for (int nr = Math.max(r - 1, 0); nr <= Math.min(r + 1, rows - 1); nr++) {
+                    for (int nc = Math.max(c - 1, 0); nc <= Math.min(c + 1, cols - 1); nc++) {
+                        int y = nr * cols + nc;
+                        if (!revealed(y) && seen.add(y)) {
+                            cells.add(y);
+                        }
+                    } // for-inner
+                } // for-outer
+            } // for-inner
+        } // for-outer
+    } // addHiddenNear
+
+    /**
+     * Tries every way of placing mines on {@code cells} that agrees with every revealed
+     * number whose hidden squares are all in {@code cells}, and counts them.
+     *
+     * @param cells  the hidden squares, in an order where squares near each other are close
+     * @param budget largest number of placements to try
+     * @return the counts, or null if more than {@code budget} placements were tried
+     */
+    private Search search(int[] cells, int budget) {
+        int n = cells.length;
+        Map<Integer, Integer> indexOf = new HashMap<Integer, Integer>();
+        for (int i = 0; i < n; i++) {
+            indexOf.put(cells[i], i);
+        } // for
+        Map<Integer, Integer> numberOf = new HashMap<Integer, Integer>();
+        List<int[]> numbers = new ArrayList<int[]>();
+        List<Integer> targets = new ArrayList<Integer>();
+        for (int cell : cells) {
+            int row = cell / cols;
+            int col = cell % cols;
+            for (int r = Math.max(row - 1, 0); r <= Math.min(row + 1, rows - 1); r++) {
+                for (int c = Math.max(col - 1, 0); c <= Math.min(col + 1, cols - 1); c++) {
+                    int number = r * cols + c;
+                    if (revealed(number) && !numberOf.containsKey(number)) {
+                        numberOf.put(number, numbers.size());
+                        int[] around = hiddenAround(number, indexOf);
+                        if (around != null) {
+                            numbers.add(around);
+                            targets.add(mineField.getNumAdjMines(r, c));
+                        }
+                    }
+                } // for-inner
+            } // for-outer
+        } // for
+        Search search = new Search(n, numbers, targets, budget);
+        search.place(0, 0);
+        return search.overBudget ? null : search;
+    } // search
+
+    /**
+     * Returns the positions in {@code cells} of the hidden squares next to revealed square
+     * {@code number}.
+     *
+     * @param number  the revealed square
+     * @param indexOf the position of each square in the list of squares being solved
+     * @return the positions, or null if some hidden square next to {@code number} is not
+     * being solved
+     */
+    private int[] hiddenAround(int number, Map<Integer, Integer> indexOf) {
+        int row = number / cols;
+        int col = number % cols;
+        SquareList around = new SquareList();
+        for (int r = Math.max(row - 1, 0); r <= Math.min(row + 1, rows - 1); r++) {
+            for (int c = Math.max(col - 1, 0); c <= Math.min(col + 1, cols - 1); c++) {
+                if (!revealed(r * cols + c)) {
+                    Integer i = indexOf.get(r * cols + c);
+                    if (i == null) {
+                        return null;
+                    }
+                    around.add(i);
+                }
+            } // for-inner
+        } // for-outer
+        return around.toArray();
+    } // hiddenAround
+
+    /**
+     * Returns {@code t}, the log odds that a hidden square away from the frontier holds a
+     * mine, picked so the expected number of mines on the frontier and away from it matches
+     * the number of mines in the mine field as closely as possible.
+     *
+     * @param others the number of hidden squares away from the frontier
+     * @return the log odds
+     */
+    private double density(int others) {
+        double low = -40;
+        double high = 40;
+        for (int step = 0; step < 60; step++) {
+            double t = (low + high) / 2;
+            double expected = others / (1 + Math.exp(-t));
+            for (Group group : groups) {
+                expected += group.expectedMines(t);
+            } // for
+            if (expected < numberOfMines) {
+                low = t;
+            } else {
+                high = t;
+            } // if
+        } // for
+        return (low + high) / 2;
+    } // density
+
+    /**
+     * Adds every hidden square away from the frontier to {@code list}, skipping flagged
+     * squares if {@code skipFlagged} is true. Only used near the end of a game, when these
+     * squares are all safe or all mines.
+     *
+     * @param list        where the squares are added
+     * @param skipFlagged whether to leave out flagged squares
+     */
+    private void addOthers(SquareList list, boolean skipFlagged) {
+        for (int i = 0; i < rows * cols; i++) {
+            if (!revealed(i) && !groupOf.containsKey(i) && !(skipFlagged && flagged(i))) {
+                list.add(i);
+            }
+        } // for
+    } // addOthers
+
+    /**
+     * Returns true if square {@code x} is hidden and next to a revealed square.
+     *
+     * @param x the index of the square
+     * @return true if the square is on the frontier
+     */
+    private boolean isFrontier(int x) {
+        if (revealed(x)) {
+            return false;
+        }
+        int row = x / cols;
+        int col = x % cols;
+        for (int r = Math.max(row - 1, 0); r <= Math.min(row + 1, rows - 1); r++) {
+            for (int c = Math.max(col - 1, 0); c <= Math.min(col + 1, cols - 1); c++) {
+                if (revealed(r * cols + c)) {
+                    return true;
+                }
+            } // for-inner
+        } // for-outer
+        return false;
+    } // isFrontier
+
+    /**
+     * Returns true if square {@code i} is revealed.
+     *
+     * @param i the index of the square
+     * @return true if it is revealed
+     */
+    private boolean revealed(int i) {
+        return mineField.isRevealed(i / cols, i % cols);
+    } // revealed
+
+    /**
+     * Returns true if square {@code i} is flagged.
+     *
+     * @param i the index of the square
+     * @return true if it is flagged
+     */
+    private boolean flagged(int i) {
+        return mineField.isFlagged(i / cols, i % cols);
+    } // flagged
+
+    /**
+     * Returns the squares of {@code list} in increasing order.
+     *
+     * @param list the squares
+     * @return a new sorted array
+     */
+    private static int[] sorted(SquareList list) {
+        int[] squares = list.toArray();
+        Arrays.sort(squares);
+        return squares;
+    } // sorted
+
+    /**
+     * Frontier squares that share revealed numbers, and what is known about them.
+     */
+    private static class Group {
+
+        private int[] cells;
+        private boolean[] safe;
+        private boolean[] mine;
+        private int minMines;
+        private int maxMines;
+        private double[] probabilities;
+        private double[] logWays;
+        private double[] mineFraction;
+        private double[] weights;
+
+        /**
+         * Keeps the counts of an exact solution: for each number of mines, the log of the
+         * number of placements, and the fraction of them in which each square holds a mine.
+         *
+         * @param search the counts
+         */
+        private void setSolutions(Search search) {
+            int n = cells.length;
+            logWays = new double[n + 1];
+            weights = new double[n + 1];
+            mineFraction = new double[(n + 1) * n];
+            minMines = n;
+            maxMines = 0;
+            for (int k = 0; k <= n; k++) {
+                double ways = search.solutions[k];
+                logWays[k] = ways > 0 ? Math.log(ways) : Double.NEGATIVE_INFINITY;
+                if (ways > 0) {
+                    minMines = Math.min(minMines, k);
+                    maxMines = Math.max(maxMines, k);
+                }
+                for (int i = 0; i < n; i++) {
+                    mineFraction[k * n + i] = ways > 0 ? search.cellMines[k * n + i] / ways : 0;
+                } // for
+            } // for
+            for (int i = 0; i < n; i++) {
+                double mines = 0;
+                double all = 0;
+                for (int k = minMines; k <= maxMines; k++) {
+                    mines += search.cellMines[k * n + i];
+                    all += search.solutions[k];
+                } // for
+                safe[i] = mines == 0;
+                mine[i] = mines == all;
+            } // for
+        } // setSolutions
+
+        /**
+         * Works out how much each number of mines counts for when squares away from the
+         * frontier hold a mine with log odds {@code t}.
+         *
+         * @param t the log odds
+         */
+        private void weigh(double t) {
+            if (logWays == null) {
+                return;
+            }
+            double top = Double.NEGATIVE_INFINITY;
+            for (int k = minMines; k <= maxMines; k++) {
+                top = Math.max(top, logWays[k] + k * t);
+            } // for
+            double total = 0;
+            for (int k = minMines; k <= maxMines; k++) {
+                weights[k] = Math.exp(logWays[k] + k * t - top);
+                total += weights[k];
+            } // for
+            for (int k = minMines; k <= maxMines; k++) {
+                weights[k] /= total;
+            } // for
+        } // weigh
+
+        /**
+         * Returns the expected number of mines in the group when squares away from the
+         * frontier hold a mine with log odds {@code t}.
+         *
+         * @param t the log odds
+         * @return the expected number of mines
+         */
+        private double expectedMines(double t) {
+            if (logWays == null) {
+                double expected = 0;
+                for (double probability : probabilities) {
+                    expected += probability;
+                } // for
+                return expected;
+            }
+            weigh(t);
+            double expected = 0;
+            for (int k = minMines; k <= maxMines; k++) {
+                expected += k * weights[k];
+            } // for
+            return expected;
+        } // expectedMines
+
+        /**
+         * Returns the chance that square {@code i} of the group holds a mine, using the
+         * weights from the last call to {@code weigh}.
+         *
+         * @param i the position of the square in the group
+         * @return the probability
+         */
+        private double probability(int i) {
+            if (logWays == null) {
+                return probabilities[i];
+            }
+            int n = cells.length;
+            double probability = 0;
+            for (int k = minMines; k <= maxMines; k++) {
+                probability += weights[k] * mineFraction[k * n + i];
+            } // for
+            return probability;
+        } // probability
+
+    } // Group
+
+    /**
+     * Depth-first search over the ways of placing mines on {@code n} squares, square by
+     * square, giving up on a partial placement as soon as some number has too many mines or
+     * too few hidden squares left to reach its count.
+     */
+    private static class Search {
+
+        private final int n;
+        private final int[][] numbers;
+        private final int[] targets;
+        private final int[][] numbersOf;
+        private final int[] mines;
+        private final int[] left;
+        private final boolean[] placed;
+        private final double[] solutions;
+        private final double[] cellMines;
+        private final int budget;
+        private int tried = 0;
+        private boolean overBudget = false;
+
+        /**
+         * Constructor method that creates a new {@code Search}.
+         *
+         * @param n       the number of squares
+         * @param numbers for each revealed number, the positions of its hidden squares
+         * @param targets for each revealed number, its number of mines
+         * @param budget  largest number of placements to try
+         */
+        private Search(int n, List<int[]> numbers, List<Integer> targets, int budget) {
+            this.n = n;
+            this.numbers = numbers.toArray(new int[0][]);
+            this.targets = new int[this.numbers.length];
+            this.mines = new int[this.numbers.length];
+            this.left = new int[this.numbers.length];
+            int[] count = new int[n];
+            for (int j = 0; j < this.numbers.length; j++) {
+                this.targets[j] = targets.get(j);
+                this.left[j] = this.numbers[j].length;
+                for (int i : this.numbers[j]) {
+                    count[i]++;
+                } // for
+            } // for
+            numbersOf = new int[n][];
+            for (int i = 0; i < n; i++) {
+                numbersOf[i] = new int[count[i]];
+                count[i] = 0;
+            } // for
+            for (int j = 0; j < this.numbers.length; j++) {
+                for (int i : this.numbers[j]) {
+                    numbersOf[i][count[i]++] = j;
+                } // for
+            } // for
+            placed = new boolean[n];
+            solutions = new double[n + 1];
+            cellMines = new double[(n + 1) * n];
+            this.budget = budget;
+        } // constructor
+
+        /**
+         * Tries both ways for square {@code i} and every square after it.
+         *
+         * @param i     the position of the square
+         * @param count the number of mines placed on the squares before it
+         */
+        private void place(int i, int count) {
+            if (++tried > budget) {
+                overBudget = true;
+                return;
+            }
+            if (i == n) {
+                solutions[count]++;
+                for (int c = 0; c < n; c++) {
+                    if (placed[c]) {
+                        cellMines[count * n + c]++;
+                    }
+                } // for
+                return;
+            }
+            for (int mine = 0; mine <= 1 && !overBudget; mine++) {
+                boolean fits = true;
+                for (int j : numbersOf[i]) {
+                    left[j]--;
+                    mines[j] += mine;
+                    fits &= mines[j] <= targets[j] && mines[j] + left[j] >= targets[j];
+                } // for
+                if (fits) {
+                    placed[i] = mine == 1;
+                    place(i + 1, count + mine);
+                    placed[i] = false;
+                }
+                for (int j : numbersOf[i]) {
+                    left[j]++;
+                    mines[j] -= mine;
+                } // for
+            } // for
+        } // place
+
+    } // Search
+
+} // HintSolver
@@ -0,0 +1,176 @@
+package cs1302.game;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Object class that counts how often each value was recorded, for values such as the
+ * number of nanoseconds a command took. Values below 64 are counted exactly. Larger values
+ * are counted in buckets 1/32 as wide as the power of two they fall in, so a percentile is
+ * never off by more than about 3%, and any {@code long} fits in 1,888 buckets.
+ *
+ * <p>
+ * Recording a value only adds to an {@code AtomicLongArray} and two {@code AtomicLong}s,
+ * so any number of threads can record at once without locking and without creating any
+ * objects. Reading the histogram while values are being recorded can miss the values
+ * recorded during the read. Threads that record very often should each record into a
+ * histogram of their own and {@code add} it to a shared one at the end, since threads
+ * adding to the same counters at once slow each other down.
+ */
+public class Histogram implements HistogramMBean {
+
+    private static final int SUB_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int BUCKETS = (64 - SUB_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records {@code value} once. Negative values are recorded as 0.
+     *
+     * @param value the value
+     */
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        counts.incrementAndGet(bucket(value));
+        total.addAndGet(value);
+        long largest = max.get();
+        while (value > largest && !max.compareAndSet(largest, value)) {
+            largest = max.get();
+        } // while
+    } // record
+
+    /**
+     * Records every value recorded by {@code other}, as if each had been recorded here.
+     *
+     * @param other the histogram to add, which is not changed
+     */
+    public void add(Histogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            long count = other.counts.get(i);
+            if (count != 0) {
+                counts.addAndGet(i, count);
+            }
+        } // for
+        total.addAndGet(other.total.get());
+        long value = other.max.get();
+        long largest = max.get();
+        while (value > largest && !max.compareAndSet(largest, value)) {
+            largest = max.get();
+        } // while
+    } // add
+
+    @Override
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            count += counts.get(i);
+        } // for
+        return count;
+    } // getCount
+
+    @Override
+    public double getMean() {
+        long count = getCount();
+        return count == 0 ? 0 : (double) total.get() / count;
+    } // getMean
+
+    @Override
+    public long getMax() {
+        return max.get();
+    } // getMax
+
+    @Override
+    public long getP50() {
+        return getPercentile(50);
+    } // getP50
+
+    @Override
+    public long getP90() {
+        return getPercentile(90);
+    } // getP90
+
+    @Override
+    public long getP99() {
+        return getPercentile(99);
+    } // getP99
+
+    @Override
+    public long getP999() {
+        return getPercentile(99.9);
+    } // getP999
+
+    /**
+     * Returns the smallest value that at least {@code percent} percent of the recorded
+     * values are at or below, rounded to the middle of its bucket and never more than the
+     * largest value recorded.
+     *
+     * @param percent the percentile, from 0 to 100
+     * @return the value, or 0 if nothing has been recorded
+     */
+    public long getPercentile(double percent) {
+        long[] snapshot = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            count += snapshot[i];
+        } // for
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(count * Math.min(percent, 100) / 100));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(middle(i), max.get());
+            }
+        } // for
+        return max.get();
+    } // getPercentile
+
+    /**
+     * Returns one line with the count, mean, percentiles, and largest value, in the form
+     * "count=C mean=M p50=A p90=B p99=C p999=D max=E".
+     *
+     * @return the summary
+     */
+    public String summary() {
+        return String.format("count=%d mean=%.1f p50=%d p90=%d p99=%d p999=%d max=%d",
+            getCount(), getMean(), getP50(), getP90(), getP99(), getP999(), getMax());
+    } // summary
+
+    /**
+     * Returns the bucket {@code value} is counted in.
+     *
+     * @param value a value that is not negative
+     * @return the index of the bucket
+     */
+    private static int bucket(long value) {
+        if (value < 2 * SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+        return shift * SUB_BUCKETS + (int) (value >>> shift);
+    } // bucket
+
+    /**
+     * Returns the value in the middle of bucket {@code i}.
+     *
+     * @param i the index of the bucket
+     * @return the value
+     */
+    private static long middle(int i) {
+        if (i < 2 * SUB_BUCKETS) {
+            return i;
+        }
+        int shift = i / SUB_BUCKETS - 1;
+        long low = (long) (i - shift * SUB_BUCKETS) << shift;
+        return low + (1L << shift) / 2;
+    } // middle
+
+} // Histogram
@@ -0,0 +1,58 @@
+package cs1302.game;
+
+/**
+ * Interface describing what a {@code Histogram} shows through JMX, for example in
+ * JConsole. Each getter is one read-only attribute.
+ */
+public interface HistogramMBean {
+
+    /**
+     * Returns the number of values recorded.
+     *
+     * @return the number of values
+     */
+    long getCount();
+
+    /**
+     * Returns the mean of the values recorded.
+     *
+     * @return the mean, or 0 if nothing has been recorded
+     */
+    double getMean();
+
+    /**
+     * Returns the largest value recorded.
+     *
+     * @return the largest value, or 0 if nothing has been recorded
+     */
+    long getMax();
+
+    /**
+     * Returns the median of the values recorded.
+     *
+     * @return the 50th percentile
+     */
+    long getP50();
+
+    /**
+     * Returns the value that 90% of the values recorded are at or below.
+     *
+     * @return the 90th percentile
+     */
+    long getP90();
+
+    /**
+     * Returns the value that 99% of the values recorded are at or below.
+     *
+     * @return the 99th percentile
+     */
+    long getP99();
+
+    /**
+     * Returns the value that 99.9% of the values recorded are at or below.
+     *
+     * @return the 99.9th percentile
+     */
+    long getP999();
+
+} // HistogramMBean
@@ -0,0 +1,646 @@
+package cs1302.game;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only binary store of every finished game, kept in one local file, with an index in
+ * memory that answers top-K and percentile queries for each board configuration (number of
+ * rows, columns, and mines) without reading the file again. A {@code MinesweeperEngine}
+ * given a leaderboard with {@code setLeaderboard} adds a {@code GameRecord} when its game
+ * is won, lost, or quit.
+ *
+ * <p>
+ * Every number is big-endian. The file starts with a header, followed by one record of
+ * {@code RECORD_BYTES} bytes for every game:
+ * <pre>
+ * int    MAGIC ("MSL1")
+ * short  VERSION
+ * short  flags (none yet)
+ *
+ * long   seed
+ * int    rows, cols, numberOfMines
+ * byte   outcome: 'W', 'L', or 'Q'
+ * int    rounds
+ * double score
+ * long   nanoseconds played
+ * </pre>
+ * Records are written in groups and forced to the disk once per group, the same way as a
+ * {@code MoveJournal}, so adding a record usually only copies it into a buffer. A group is
+ * written when it is full, and {@code GROUP_MILLIS} milliseconds after it was started by a
+ * {@code GroupFlusher} task even if no game ends after it, so a crash loses at most the
+ * games of the last {@code GROUP_MILLIS} milliseconds. A group that cannot be written
+ * never stops a game: the error is kept and thrown by the next {@code sync} or
+ * {@code close}.
+ *
+ * <p>
+ * When the leaderboard is opened again, the records after the last valid record, which a
+ * crash may have cut short or left as zeros, are written over. A record in the middle of
+ * the file that does not hold a valid game is skipped, so one bad record never loses the
+ * games after it, and counted by {@code getCorrupt}.
+ *
+ * <p>
+ * For each configuration, the index keeps the number of games played and won, the
+ * {@code top} best won games in a heap, and the scores of every won game in a
+ * {@code Histogram} (in hundredths of a point), so its memory does not grow with the number
+ * of games, and a percentile is within about 3% of the exact score. The histogram is only
+ * made when the first game of the configuration is won. The index keeps at most
+ * {@code CONFIGURATIONS} configurations, so its memory does not grow with the number of
+ * configurations either: when a new one is added to a full index, the configuration whose
+ * games were added or asked about least recently is dropped from it, and is only known
+ * again from the games added after that. Every game stays in the file. Opening a
+ * leaderboard reads the file once, {@code READ_RECORDS} records at a time, to build the
+ * index. Every method is synchronized, so one leaderboard can be shared by every session
+ * of a server.
+ */
+public class Leaderboard implements Closeable {
+
+    /** First four bytes of every leaderboard. */
+    public static final int MAGIC = 0x4D534C31;
+    /** Version of the layout written by this class. */
+    public static final short VERSION = 1;
+    /** Number of bytes before the first record. */
+    public static final int HEADER_BYTES = 4 + 2 + 2;
+    /** Number of bytes in each record. */
+    public static final int RECORD_BYTES = 8 + 3 * 4 + 1 + 4 + 8 + 8;
+    /** Number of best games kept for each configuration unless another number is given. */
+    public static final int TOP = 100;
+    /** Number of records written together. */
+    public static final int GROUP_RECORDS = 64;
+    /** Longest time a group is held, in milliseconds. */
+    public static final long GROUP_MILLIS = 100;
+    /** Largest number of configurations kept in the index. */
+    public static final int CONFIGURATIONS = 256;
+    /** Number of records read at a time when a leaderboard is opened. */
+    public static final int READ_RECORDS = 1 << 14;
+
+    private final FileChannel channel;
+    private final int top;
+    private final ByteBuffer group = ByteBuffer.allocateDirect(GROUP_RECORDS * RECORD_BYTES);
+    private final Map<Long, Standings> index = new LinkedHashMap<Long, Standings>(16, 0.75f,
+        true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Standings> eldest) {
+            return size() > CONFIGURATIONS;
+        } // removeEldestEntry
+    };
+    private long groupStart;
+    private long records;
+    private long corrupt;
+    private long groups;
+    private ScheduledFuture<?> lateWrite;
+    private IOException failure;
+    private long lost;
+    private long written;
+
+    /**
+     * Constructor method that opens the leaderboard at {@code path}, keeping the
+     * {@code TOP} best games of each configuration.
+     *
+     * @param path where the leaderboard is kept
+     * @throws IOException if the leaderboard cannot be opened, or the file is not one
+     */
+    public Leaderboard(Path path) throws IOException {
+        this(path, TOP);
+    } // constructor
+
+    /**
+     * Constructor method that opens the leaderboard at {@code path}, keeping the
+     * {@code top} best games of each configuration. If the file is empty or does not exist,
+     * the header is written. Otherwise every valid record in it is added to the index, and
+     * new records are added after the last one, writing over anything after it.
+     *
+     * @param path where the leaderboard is kept
+     * @param top  number of best games kept for each configuration
+     * @throws IOException if the leaderboard cannot be opened, or the file is not one
+     * @throws IllegalArgumentException if {@code top} is less than 1
+     */
+    public Leaderboard(Path path, int top) throws IOException {
+        if (top < 1) {
+            throw new IllegalArgumentException("must keep at least 1 game");
+        }
+        this.top = top;
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+        try {
+            if (channel.size() == 0) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+                header.putInt(MAGIC).putShort(VERSION).putShort((short) 0).flip();
+                write(header);
+                channel.force(false);
+            } else {
+                channel.truncate(readRecords(path));
+            } // if
+            written = channel.size();
+            channel.position(written);
+        } catch (IOException ioe) {
+            channel.close();
+            throw ioe;
+        } // try-catch
+    } // constructor
+
+    /**
+     * Reads the file from the start, {@code READ_RECORDS} records at a time, and adds every
+     * valid record to the index.
+     *
+     * @param path where the leaderboard is kept, for the error message
+     * @return the number of bytes up to the end of the last valid record
+     * @throws IOException if the file cannot be read, or is not a leaderboard
+     */
+    private long readRecords(Path path) throws IOException {
+        ByteBuffer in = ByteBuffer.allocate(READ_RECORDS * RECORD_BYTES);
+        in.limit(HEADER_BYTES);
+        channel.position(0);
+        fill(in);
+        if (in.hasRemaining() || in.getInt(0) != MAGIC || in.getShort(4) != VERSION) {
+            throw new IOException(path + " is not a leaderboard");
+        }
+        long at = HEADER_BYTES;
+        long end = HEADER_BYTES;
+        long bad = 0;
+        boolean more = true;
+        in.clear();
+        while (more) {
+            more = fill(in);
+            in.flip();
+            while (in.remaining() >= RECORD_BYTES) {
+                GameRecord record = decode(in);
+                at += RECORD_BYTES;
+                if (record == null) {
+                    bad++;
+                    continue;
+                }
+                standings(record).add(record);
+                records++;
+                corrupt += bad;
+                bad = 0;
+                end = at;
+            } // while
+            in.compact();
+        } // while
+        return end;
+    } // readRecords
+
+    /**
+     * Reads from the position of the channel until {@code buffer} is full or the file ends.
+     *
+     * @param buffer where the bytes are read to
+     * @return true if the file may have more bytes, false if it ended
+     * @throws IOException if the file cannot be read
+     */
+    private boolean fill(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                return false;
+            }
+        } // while
+        return true;
+    } // fill
+
+    /**
+     * Adds {@code record} to the index and to the file, writing the group it completes. The
+     * first record of a group schedules the group to be written {@code GROUP_MILLIS}
+     * milliseconds later. This never throws an {@code IOException}: a group that cannot be
+     * written is dropped from the file, and the error is thrown by the next {@code sync} or
+     * {@code close}.
+     *
+     * @param record the finished game
+     */
+    public synchronized void add(GameRecord record) {
+        if (group.position() == 0) {
+            groupStart = System.nanoTime();
+            long number = groups;
+            lateWrite = GroupFlusher.schedule(() -> writeLate(number),
+                GROUP_MILLIS * 1_000_000L);
+        }
+        group.putLong(record.getSeed());
+        group.putInt(record.getRows()).putInt(record.getCols()).putInt(record.getNumberOfMines());
+        group.put(outcomeByte(record.getOutcome()));
+        group.putInt(record.getRounds());
+        group.putDouble(record.getScore());
+        group.putLong(record.getNanos());
+        standings(record).add(record);
+        records++;
+        if (!group.hasRemaining() || System.nanoTime() - groupStart >= GROUP_MILLIS * 1_000_000L) {
+            writeGroup();
+        }
+    } // add
+
+    /**
+     * Returns the best won games of a configuration, best first.
+     *
+     * @param rows          the number of rows
+     * @param cols          the number of columns
+     * @param numberOfMines the number of mines
+     * @param k             the largest number of games to return; at most the number of
+     *                      games kept for each configuration are returned
+     * @return the games
+     */
+    public synchronized List<GameRecord> getTop(int rows, int cols, int numberOfMines, int k) {
+        Standings standings = index.get(key(rows, cols, numberOfMines));
+        List<GameRecord> best = new ArrayList<GameRecord>();
+        if (standings != null) {
+            best.addAll(standings.best);
+            best.sort((a, b) -> Double.compare(b.getScore(), a.getScore()));
+        }
+        return best.subList(0, Math.min(k, best.size()));
+    } // getTop
+
+    /**
+     * Returns the score that at least {@code percent} percent of the won games of a
+     * configuration scored at or below.
+     *
+     * @param rows          the number of rows
+     * @param cols          the number of columns
+     * @param numberOfMines the number of mines
+     * @param percent       the percentile, from 0 to 100
+     * @return the score, or 0 if no game of the configuration was won
+     */
+    public synchronized double getPercentile(int rows, int cols, int numberOfMines,
+        double percent) {
+        Standings standings = index.get(key(rows, cols, numberOfMines));
+        if (standings == null || standings.scores == null) {
+            return 0;
+        }
+        return standings.scores.getPercentile(percent) / 100.0;
+    } // getPercentile
+
+    /**
+     * Returns the number of games of a configuration that were finished.
+     *
+     * @param rows          the number of rows
+     * @param cols          the number of columns
+     * @param numberOfMines the number of mines
+     * @return the number of games won, lost, or quit
+     */
+    public synchronized long getGames(int rows, int cols, int numberOfMines) {
+        Standings standings = index.get(key(rows, cols, numberOfMines));
+        return standings == null ? 0 : standings.games;
+    } // getGames
+
+    /**
+     * Returns the number of games of a configuration that were won.
+     *
+     * @param rows          the number of rows
+     * @param cols          the number of columns
+     * @param numberOfMines the number of mines
+     * @return the number of games won
+     */
+    public synchronized long getWins(int rows, int cols, int numberOfMines) {
+        Standings standings = index.get(key(rows, cols, numberOfMines));
+        return standings == null || standings.scores == null ? 0 : standings.scores.getCount();
+    } // getWins
+
+    /**
+     * Returns every configuration in the index, each as {rows, cols, numberOfMines}, from
+     * the smallest mine field to the largest. These are the {@code CONFIGURATIONS}
+     * configurations played or asked about most recently.
+     *
+     * @return the configurations
+     */
+    public synchronized List<int[]> getConfigurations() {
+        List<int[]> configurations = new ArrayList<int[]>();
+        for (Standings standings : index.values()) {
+            configurations.add(standings.configuration);
+        } // for
+        configurations.sort(Comparator.comparingInt((int[] c) -> c[0] * c[1])
+            .thenComparingInt(c -> c[0]).thenComparingInt(c -> c[2]));
+        return configurations;
+    } // getConfigurations
+
+    /**
+     * Returns the number of games in the leaderboard, including any not written yet.
+     *
+     * @return the number of records
+     */
+    public synchronized long getRecords() {
+        return records;
+    } // getRecords
+
+    /**
+     * Returns the number of records in the middle of the file that did not hold a valid
+     * game and were skipped when the leaderboard was opened.
+     *
+     * @return the number of records skipped
+     */
+    public synchronized long getCorrupt() {
+        return corrupt;
+    } // getCorrupt
+
+    /**
+     * Writes every record held in memory and forces them to the disk.
+     *
+     * @throws IOException if the records cannot be written, or a group written earlier could
+     * not be; the games in it are still in the index but not in the file
+     */
+    public synchronized void sync() throws IOException {
+        writeGroup();
+        if (failure != null) {
+            IOException ioe = new IOException(lost + " games could not be written: "
+                + failure.getMessage(), failure);
+            failure = null;
+            lost = 0;
+            throw ioe;
+        }
+    } // sync
+
+    /**
+     * Writes group number {@code number} if it has not been written yet. Run by the
+     * {@code GroupFlusher} when the time of the group is up.
+     *
+     * @param number the number of the group, counting the groups written before it
+     */
+    private synchronized void writeLate(long number) {
+        if (number == groups && channel.isOpen()) {
+            writeGroup();
+        }
+    } // writeLate
+
+    /**
+     * Writes the records held in memory, if there are any, and forces them to the disk. If
+     * they cannot be written, they are dropped and the error is kept for {@code sync}.
+     */
+    private void writeGroup() {
+        if (group.position() == 0) {
+            return;
+        }
+        groups++;
+        lateWrite.cancel(false);
+        int count = group.position() / RECORD_BYTES;
+        group.flip();
+        try {
+            write(group);
+            channel.force(false);
+            written = channel.position();
+        } catch (IOException ioe) {
+            if (failure == null) {
+                failure = ioe;
+            }
+            lost += count;
+            try {
+                channel.position(written);
+            } catch (IOException again) {
+                failure.addSuppressed(again);
+            } // try-catch
+        } finally {
+            group.clear();
+        } // try
+    } // writeGroup
+
+    /**
+     * Writes every record held in memory and closes the leaderboard.
+     *
+     * @throws IOException if the records cannot be written
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            sync();
+        } finally {
+            channel.close();
+        } // try
+    } // close
+
+    /**
+     * Returns the seed of the mine field {@code engine} plays on: the random seed if its
+     * mines are still to be placed by a {@code MineGenerator}, otherwise a 64-bit hash of
+     * where its mines are, so games played on the same mine field have the same seed.
+     *
+     * @param engine the game, before its first square is revealed
+     * @return the seed
+     */
+    public static long seedOf(MinesweeperEngine engine) {
+        if (engine.getGenerator() != null) {
+            return engine.getGenerator().getSeed();
+        }
+        Board mineField = engine.getMineField();
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < mineField.getRows(); i++) {
+            for (int j = 0; j < mineField.getCols(); j++) {
+                if (mineField.isMine(i, j)) {
+                    hash = (hash ^ (i * mineField.getCols() + j)) * 0x100000001b3L;
+                }
+            } // for-inner
+        } // for-outer
+        return hash;
+    } // seedOf
+
+    /**
+     * Prints the number of games played and won, the 50th, 90th, and 99th percentile
+     * scores, and the best games of every configuration in a leaderboard.
+     *
+     * @param args "LEADERBOARD [K]", where K is the number of best games printed for each
+     * configuration (10 if not given)
+     */
+    public static void main(String[] args) {
+        int k = 10;
+        try {
+            if (args.length < 1 || args.length > 2) {
+                usage();
+            } else if (args.length == 2) {
+                k = Integer.parseInt(args[1]);
+            } // if
+        } catch (NumberFormatException nfe) {
+            usage();
+        } // try-catch
+        PrintStream out = new PrintStream(
+            new BufferedOutputStream(System.out, 1 << 16), false, StandardCharsets.UTF_8);
+        try (Leaderboard leaderboard = new Leaderboard(Paths.get(args[0]), Math.max(k, 1))) {
+            if (leaderboard.getCorrupt() > 0) {
+                System.err.println(leaderboard.getCorrupt() + " corrupt records skipped");
+            }
+            for (int[] c : leaderboard.getConfigurations()) {
+                out.printf("%d x %d, %d mines: games=%d won=%d p50=%.2f p90=%.2f p99=%.2f\n",
+                    c[0], c[1], c[2], leaderboard.getGames(c[0], c[1], c[2]),
+                    leaderboard.getWins(c[0], c[1], c[2]),
+                    leaderboard.getPercentile(c[0], c[1], c[2], 50),
+                    leaderboard.getPercentile(c[0], c[1], c[2], 90),
+                    leaderboard.getPercentile(c[0], c[1], c[2], 99));
+                int place = 0;
+                for (GameRecord record : leaderboard.getTop(c[0], c[1], c[2], k)) {
+                    out.printf("  %3d. %10.2f  rounds=%d seconds=%.1f seed=%d\n", ++place,
+                        record.getScore(), record.getRounds(), record.getNanos() / 1e9,
+                        record.getSeed());
+                } // for
+            } // for
+        } catch (IOException ioe) {
+            System.err.println("\n" + ioe.getMessage());
+            System.exit(1);
+        } finally {
+            out.flush();
+        } // try-catch
+    } // main
+
+    /**
+     * Reads the record at the position of {@code in}.
+     *
+     * @param in the bytes of a leaderboard
+     * @return the record, or null if it does not hold a game, because it was cut short or
+     * is corrupt
+     */
+    private static GameRecord decode(ByteBuffer in) {
+        long seed = in.getLong();
+        int rows = in.getInt();
+        int cols = in.getInt();
+        int numberOfMines = in.getInt();
+        byte outcome = in.get();
+        int rounds = in.getInt();
+        double score = in.getDouble();
+        long nanos = in.getLong();
+        MoveResult.Outcome ending;
+        if (outcome == 'W') {
+            ending = MoveResult.Outcome.WON;
+        } else if (outcome == 'L') {
+            ending = MoveResult.Outcome.LOST;
+        } else if (outcome == 'Q') {
+            ending = MoveResult.Outcome.QUIT;
+        } else {
+            return null;
+        } // if
+        if (rows < 1 || rows > MinesweeperGame.LARGE_MAX_SIZE || cols < 1
+            || cols > MinesweeperGame.LARGE_MAX_SIZE || numberOfMines < 1
+            || numberOfMines > (long) rows * cols || rounds < 0 || nanos < 0
+            || !(score >= 0) || Double.isInfinite(score)) {
+            return null;
+        }
+        return new GameRecord(seed, rows, cols, numberOfMines, ending, rounds, score, nanos);
+    } // decode
+
+    /**
+     * Returns the byte that stands for {@code outcome} in a record.
+     *
+     * @param outcome {@code WON}, {@code LOST}, or {@code QUIT}
+     * @return 'W', 'L', or 'Q'
+     * @throws IllegalArgumentException if the outcome does not end a game
+     */
+    private static byte outcomeByte(MoveResult.Outcome outcome) {
+        if (outcome == MoveResult.Outcome.WON) {
+            return 'W';
+        } else if (outcome == MoveResult.Outcome.LOST) {
+            return 'L';
+        } else if (outcome == MoveResult.Outcome.QUIT) {
+            return 'Q';
+        } // if
+        throw new IllegalArgumentException(outcome + " does not end a game");
+    } // outcomeByte
+
+    /**
+     * Returns the standings of the configuration {@code record} was played on, creating
+     * them if it is the first game of the configuration.
+     *
+     * @param record the game
+     * @return the standings
+     */
+    private Standings standings(GameRecord record) {
+        Long key = key(record.getRows(), record.getCols(), record.getNumberOfMines());
+        Standings standings = index.get(key);
+        if (standings == null) {
+            standings = new Standings(record.getRows(), record.getCols(),
+                record.getNumberOfMines(), top);
+            index.put(key, standings);
+        }
+        return standings;
+    } // standings
+
+    /**
+     * Returns the key of a configuration in the index. Rows and columns take 17 bits each
+     * and the number of mines 29, so every mine field of up to
+     * {@code MinesweeperGame.LARGE_MAX_SIZE} rows and columns has its own key.
+     *
+     * @param rows          the number of rows
+     * @param cols          the number of columns
+     * @param numberOfMines the number of mines
+     * @return the key
+     */
+    private static long key(int rows, int cols, int numberOfMines) {
+        return (long) rows << 46 | (long) cols << 29 | numberOfMines;
+    } // key
+
+    /**
+     * Writes every remaining byte of {@code buffer} at the position of the channel.
+     *
+     * @param buffer the bytes
+     * @throws IOException if they cannot be written
+     */
+    private void write(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        } // while
+    } // write
+
+    /**
+     * Prints how to run the leaderboard and exits.
+     */
+    private static void usage() {
+        System.err.println("\nUsage: Leaderboard LEADERBOARD [K]");
+        System.exit(1);
+    } // usage
+
+    /**
+     * What the index keeps for one configuration: the number of games finished, the best
+     * won games, and the scores of every won game, or null if none was won.
+     */
+    private static class Standings {
+
+        private final int[] configuration;
+        private final int top;
+        private final PriorityQueue<GameRecord> best;
+        private Histogram scores;
+        private long games = 0;
+
+        /**
+         * Constructor method that creates new {@code Standings} with no games.
+         *
+         * @param rows          the number of rows
+         * @param cols          the number of columns
+         * @param numberOfMines the number of mines
+         * @param top           the number of best games kept
+         */
+        Standings(int rows, int cols, int numberOfMines, int top) {
+            this.configuration = new int[] {rows, cols, numberOfMines};
+            this.top = top;
+            best = new PriorityQueue<GameRecord>(top,
+                (a, b) -> Double.compare(a.getScore(), b.getScore()));
+        } // constructor
+
+        /**
+         * Counts {@code record}, and if it was won, records its score and keeps it if it
+         * is one of the best games, dropping the worst kept game if there are too many.
+         *
+         * @param record the game
+         */
+        void add(GameRecord record) {
+            games++;
+            if (record.getOutcome() != MoveResult.Outcome.WON) {
+                return;
+            }
+            if (scores == null) {
+                scores = new Histogram();
+            }
+            scores.record(Math.round(record.getScore() * 100));
+            if (best.size() < top) {
+                best.add(record);
+            } else if (record.getScore() > best.peek().getScore()) {
+                best.poll();
+                best.add(record);
+            } // if
+        } // add
+
+    } // Standings
+
+} // Leaderboard
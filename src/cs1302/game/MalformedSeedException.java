@@ -0,0 +1,86 @@
+package cs1302.game;
+
+/**
+ * Thrown when a seed file does not describe a valid mine field. The message
+ * describes what is wrong with the seed file, in the same words the game has always
+ * printed. Where in the seed file the problem was found, when known, is given by
+ * {@code getLine}, {@code getColumn}, and {@code getDetail}, and {@code getLocation}
+ * describes it in one line, which the game prints to standard error on the line after
+ * the message.
+ */
+public class MalformedSeedException extends Exception {
+
+    private final int line;
+    private final int column;
+    private final String detail;
+
+    /**
+     * Constructor method that creates a new {@code MalformedSeedException}.
+     *
+     * @param message what is wrong with the seed file
+     */
+    public MalformedSeedException(String message) {
+        super(message);
+        this.line = 0;
+        this.column = 0;
+        this.detail = null;
+    } // constructor
+
+    /**
+     * Constructor method that creates a new {@code MalformedSeedException} for a problem
+     * found at {@code line} and {@code column} of the seed file. The message is not
+     * changed; the line, column, and detail are kept apart from it.
+     *
+     * @param message what is wrong with the seed file
+     * @param line    the line number (starting from 1) where the problem was found
+     * @param column  the column number (starting from 1) where the problem was found
+     * @param detail  what was found there, or null
+     */
+    public MalformedSeedException(String message, int line, int column, String detail) {
+        super(message);
+        this.line = line;
+        this.column = column;
+        this.detail = detail;
+    } // constructor
+
+    /**
+     * Returns the line number where the problem was found, or 0 if not known.
+     *
+     * @return the line number
+     */
+    public int getLine() {
+        return line;
+    } // getLine
+
+    /**
+     * Returns the column number where the problem was found, or 0 if not known.
+     *
+     * @return the column number
+     */
+    public int getColumn() {
+        return column;
+    } // getColumn
+
+    /**
+     * Returns what was found where the problem was found, or null if not known.
+     *
+     * @return the detail
+     */
+    public String getDetail() {
+        return detail;
+    } // getDetail
+
+    /**
+     * Returns where the problem was found, in the form "line L, column C" followed by
+     * ": detail" if there is a detail, or an empty string if it is not known.
+     *
+     * @return the location
+     */
+    public String getLocation() {
+        if (line == 0) {
+            return "";
+        }
+        return "line " + line + ", column " + column + (detail == null ? "" : ": " + detail);
+    } // getLocation
+
+} // MalformedSeedException
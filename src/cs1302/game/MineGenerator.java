@@ -0,0 +1,155 @@
+package cs1302.game;
+
+/**
+ * Object class that places mines on a mine field from a 64-bit seed instead of a list of
+ * mine locations. The same seed, size, and number of mines (and the same safe square, if
+ * one is given) always place the same mines, on any Java runtime.
+ *
+ * <p>
+ * Mines are picked with Floyd's sampling algorithm, which picks exactly
+ * {@code numberOfMines} different squares with one random number per mine, using the mine
+ * field itself to remember which squares have been picked. The random numbers come from a
+ * SplitMix64 generator kept in one {@code long}. Nothing is allocated, and the time taken
+ * depends only on the number of mines, even when almost every square is a mine.
+ */
+public class MineGenerator {
+
+    private final int rows;
+    private final int cols;
+    private final int numberOfMines;
+    private final long seed;
+    private long state;
+
+    /**
+     * Constructor method that creates a new {@code MineGenerator}.
+     *
+     * @param rows          the number of rows in the mine field
+     * @param cols          the number of columns in the mine field
+     * @param numberOfMines the number of mines to place, at least 1 and less than the
+     *                      number of squares
+     * @param seed          where the mine locations come from
+     * @throws IllegalArgumentException if {@code numberOfMines} is out of range
+     */
+    public MineGenerator(int rows, int cols, int numberOfMines, long seed) {
+        if (numberOfMines < 1 || numberOfMines >= (long) rows * cols) {
+            throw new IllegalArgumentException("number of mines must be between 1 and "
+                + ((long) rows * cols - 1));
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.numberOfMines = numberOfMines;
+        this.seed = seed;
+    } // constructor
+
+    /**
+     * Places {@code numberOfMines} mines on {@code mineField}, which has no mines.
+     *
+     * @param mineField the mine field, with {@code rows} rows and {@code cols} columns
+     */
+    public void placeMines(Board mineField) {
+        place(mineField, -1);
+    } // placeMines
+
+    /**
+     * Places {@code numberOfMines} mines on {@code mineField}, which has no mines, without
+     * placing one on the square given by {@code safeRow} and {@code safeCol}. This is used
+     * to make sure the first square revealed never contains a mine.
+     *
+     * @param mineField the mine field, with {@code rows} rows and {@code cols} columns
+     * @param safeRow   the row number of the square to leave without a mine
+     * @param safeCol   the column number of the square to leave without a mine
+     * @throws ArrayIndexOutOfBoundsException if the safe square is not in the mine field
+     */
+    public void placeMines(Board mineField, int safeRow, int safeCol) {
+        if (safeRow < 0 || safeRow >= rows || safeCol < 0 || safeCol >= cols) {
+            throw new ArrayIndexOutOfBoundsException("safe square " + safeRow + " " + safeCol
+                + " is not in the mine field");
+        }
+        place(mineField, safeRow * cols + safeCol);
+    } // placeMines
+
+    /**
+     * Returns the seed mines are placed from.
+     *
+     * @return the seed
+     */
+    public long getSeed() {
+        return seed;
+    } // getSeed
+
+    /**
+     * Places the mines with Floyd's algorithm over every square except {@code safe}.
+     * Squares are numbered from 0 to {@code squares - 1} leaving out the safe square, and
+     * for each {@code j} from {@code squares - numberOfMines} up, a square from 0 to
+     * {@code j} is picked, or {@code j} itself if the picked square already has a mine.
+     * On a {@code BitBoard}, only the mines are placed while picking, and the number of
+     * mines around every square is worked out afterwards in one pass.
+     *
+     * @param mineField the mine field
+     * @param safe      the index of the square to leave without a mine, or -1
+     */
+    private void place(Board mineField, int safe) {
+        state = seed;
+        int squares = rows * cols - (safe < 0 ? 0 : 1);
+        if (mineField instanceof BitBoard) {
+            BitBoard bitBoard = (BitBoard) mineField;
+            for (int j = squares - numberOfMines; j < squares; j++) {
+                int square = skipSafe(nextInt(j + 1), safe);
+                bitBoard.setMine(bitBoard.hasMine(square) ? skipSafe(j, safe) : square);
+            } // for
+            bitBoard.countAdjMines();
+            return;
+        }
+        for (int j = squares - numberOfMines; j < squares; j++) {
+            int square = skipSafe(nextInt(j + 1), safe);
+            if (mineField.isMine(square / cols, square % cols)) {
+                square = skipSafe(j, safe);
+            }
+            mineField.placeMine(square / cols, square % cols);
+        } // for
+    } // place
+
+    /**
+     * Returns the index of square {@code n} when the safe square is left out.
+     *
+     * @param n    the number of the square among the squares that are not safe
+     * @param safe the index of the safe square, or -1
+     * @return the index of the square in the mine field
+     */
+    private static int skipSafe(int n, int safe) {
+        return safe >= 0 && n >= safe ? n + 1 : n;
+    } // skipSafe
+
+    /**
+     * Returns a random number from 0 to {@code bound - 1}, with every number equally likely.
+     * Uses Lemire's multiply-and-shift method, which only divides in the rare case that a
+     * random number has to be rejected to keep every number equally likely.
+     *
+     * @param bound one more than the largest number returned
+     * @return the random number
+     */
+    private int nextInt(int bound) {
+        long m = (nextLong() >>> 32) * bound;
+        if ((m & 0xFFFFFFFFL) < bound) {
+            long threshold = (0x100000000L - bound) % bound;
+            while ((m & 0xFFFFFFFFL) < threshold) {
+                m = (nextLong() >>> 32) * bound;
+            } // while
+        }
+        return (int) (m >>> 32);
+    } // nextInt
+
+    /**
+     * Returns the next 64 random bits from the SplitMix64 generator.
+     *
+     * @return the random bits
+     */
+    private long nextLong() {
+        state += 0x9E3779B97F4A7C15L;
+        long z = state;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    } // nextLong
+
+} // MineGenerator
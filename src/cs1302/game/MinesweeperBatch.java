@@ -0,0 +1,222 @@
+package cs1302.game;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+
+/**
+ * Plays a whole stream of commands (one per line, as typed at the "minesweeper-alpha: "
+ * prompt) against the mine field described by a seed file, without printing the mine field
+ * after every command. Only the final mine field (one character per square, with "." for
+ * hidden squares) and how the game ended are printed, or, with "--deltas", one line per
+ * command listing the squares it changed. Commands after the game is won, lost, or quit are
+ * not played. Everything is written through one buffered stream that is flushed once at
+ * the end. A batch can start from a saved snapshot and save one when it ends, so a long
+ * command stream can be played in parts, and can write every command to a move journal.
+ *
+ * <p>
+ * A line of the delta log, written by {@code DiffRenderer}, has the form
+ * {@code MOVE OUTCOME ROUNDS [ROW,COL=MARKER ...]} followed by {@code # MESSAGE} if the
+ * command had a message, for example {@code 7 PLAYED 15 2,3=1} or
+ * {@code 8 INVALID 16 # Index 10 out of bounds for length 10}.
+ */
+public class MinesweeperBatch {
+
+    private static final byte[] NEWLINE = System.lineSeparator().getBytes();
+
+    private final MinesweeperEngine engine;
+    private final PrintStream out;
+    private final boolean deltas;
+    private int moves = 0;
+
+    /**
+     * Constructor method that creates a new {@code MinesweeperBatch} that plays commands
+     * with {@code engine} and prints to {@code out}.
+     *
+     * @param engine the game to play
+     * @param out    where the final mine field or the delta log is printed
+     * @param deltas whether to print one line per command instead of the final mine field
+     */
+    public MinesweeperBatch(MinesweeperEngine engine, PrintStream out, boolean deltas) {
+        this.engine = engine;
+        this.out = out;
+        this.deltas = deltas;
+        if (deltas) {
+            engine.addChangeListener(new DiffRenderer(out, engine.getMineField().getCols()));
+        }
+    } // constructor
+
+    /**
+     * Runs a batch from the command line. Commands are read from COMMAND_FILE, or from
+     * standard input if it is not given.
+     *
+     * With "--restore", SEED_FILE_PATH is a snapshot saved by {@code GameSnapshot} and the
+     * game goes on from where it was saved. With "--save SNAPSHOT", a snapshot of the game is
+     * saved to SNAPSHOT after the last command.
+     *
+     * With "--journal JOURNAL", every command is written to the {@code MoveJournal} at
+     * JOURNAL. If JOURNAL already holds moves of the game, for example after a crash, they
+     * are replayed first and the commands go on from there.
+     *
+     * With "--metrics", the game's metrics are printed to standard error after the last
+     * command.
+     *
+     * @param args "[--large] [--cascade] [--deltas] [--restore] [--save SNAPSHOT]
+     * [--journal JOURNAL] [--metrics] SEED_FILE_PATH [COMMAND_FILE]"
+     */
+    public static void main(String[] args) {
+        boolean largeBoard = false;
+        boolean cascade = false;
+        boolean deltas = false;
+        boolean restore = false;
+        String savePath = null;
+        String journalPath = null;
+        GameMetrics metrics = null;
+        int argIndex = 0;
+        for (; argIndex < args.length && args[argIndex].startsWith("--"); argIndex++) {
+            if (args[argIndex].equals("--large")) {
+                largeBoard = true;
+            } else if (args[argIndex].equals("--cascade")) {
+                cascade = true;
+            } else if (args[argIndex].equals("--deltas")) {
+                deltas = true;
+            } else if (args[argIndex].equals("--restore")) {
+                restore = true;
+            } else if (args[argIndex].equals("--save") && argIndex + 1 < args.length) {
+                savePath = args[++argIndex];
+            } else if (args[argIndex].equals("--journal") && argIndex + 1 < args.length) {
+                journalPath = args[++argIndex];
+            } else if (args[argIndex].equals("--metrics")) {
+                metrics = new GameMetrics();
+            } else {
+                usage();
+            } // if
+        } // for
+        if (argIndex >= args.length || argIndex + 2 < args.length
+            || (restore && journalPath != null)) {
+            usage();
+        }
+        String seedPath = args[argIndex];
+        String commandPath = argIndex + 1 < args.length ? args[argIndex + 1] : null;
+        PrintStream out = new PrintStream(
+            new BufferedOutputStream(System.out, 1 << 16), false, StandardCharsets.UTF_8);
+        try {
+            int maxSize = largeBoard ? MinesweeperGame.LARGE_MAX_SIZE : MinesweeperGame.MAX_SIZE;
+            MinesweeperEngine engine;
+            if (restore) {
+                engine = GameSnapshot.load(Paths.get(seedPath));
+            } else if (journalPath != null) {
+                engine = MinesweeperReplay.recover(seedPath, Paths.get(journalPath), maxSize);
+            } else {
+                engine = new MinesweeperEngine(new SeedFile(seedPath, maxSize));
+            } // if
+            if (cascade) {
+                engine.setCascade(true);
+            }
+            engine.setMetrics(metrics);
+            InputStream in = commandPath == null ? System.in : new FileInputStream(commandPath);
+            try (BufferedReader commands = new BufferedReader(
+                new InputStreamReader(in, StandardCharsets.UTF_8), 1 << 16);
+                MoveJournal journal = journalPath == null ? null
+                : new MoveJournal(Paths.get(journalPath), engine)) {
+                engine.setJournal(journal);
+                new MinesweeperBatch(engine, out, deltas).run(commands);
+            } // try
+            if (savePath != null) {
+                GameSnapshot.save(engine, Paths.get(savePath));
+            }
+            if (metrics != null) {
+                out.flush();
+                metrics.dump(System.err);
+            }
+        } catch (FileNotFoundException fnfe) {
+            System.err.println("\n" + fnfe.getMessage());
+            System.exit(2);
+        } catch (MalformedSeedException mse) {
+            MinesweeperGame.printMalformed(mse, System.out, System.err);
+            System.exit(3);
+        } catch (IOException ioe) {
+            System.err.println("\n" + ioe.getMessage());
+            System.exit(1);
+        } finally {
+            out.flush();
+        } // try-catch
+    } // main
+
+    /**
+     * Plays every command read from {@code commands} until the game is over or there are
+     * no more commands, then prints the final mine field (unless printing the delta log).
+     *
+     * @param commands where the commands are read from, one per line
+     * @throws IOException if the commands cannot be read
+     */
+    public void run(BufferedReader commands) throws IOException {
+        String command;
+        while (!engine.isOver() && (command = commands.readLine()) != null) {
+            engine.execute(command);
+            moves++;
+        } // while
+        if (!deltas) {
+            printFinal();
+        }
+    } // run
+
+    /**
+     * Prints the number of commands played, the final mine field, and how the game ended.
+     */
+    private void printFinal() {
+        out.println("Commands Played: " + moves);
+        printOutcome(out, engine);
+    } // printFinal
+
+    /**
+     * Prints the number of rounds completed, the mine field with "." for hidden squares,
+     * and how the game ended: "WON" with the score, "LOST", "QUIT", or "NOT FINISHED".
+     * Each row of the mine field is built in one byte buffer, reused from row to row, and
+     * written out with one call, so {@code out} is locked once per row rather than once
+     * per square.
+     *
+     * @param out    where the game is printed
+     * @param engine the game
+     */
+    static void printOutcome(PrintStream out, MinesweeperEngine engine) {
+        Board mineField = engine.getMineField();
+        int cols = mineField.getCols();
+        byte[] row = new byte[cols + NEWLINE.length];
+        System.arraycopy(NEWLINE, 0, row, cols, NEWLINE.length);
+        out.println("Rounds Completed: " + engine.getRounds());
+        for (int i = 0; i < mineField.getRows(); i++) {
+            for (int j = 0; j < cols; j++) {
+                char marker = mineField.getMarker(i, j);
+                row[j] = (byte) (marker == ' ' ? '.' : marker);
+            } // for-inner
+            out.write(row, 0, row.length);
+        } // for-outer
+        MoveResult.Outcome outcome = engine.getEnding();
+        if (outcome == MoveResult.Outcome.WON) {
+            out.printf("Result: WON %.2f\n", engine.getScore());
+        } else if (outcome == MoveResult.Outcome.LOST || outcome == MoveResult.Outcome.QUIT) {
+            out.println("Result: " + outcome);
+        } else {
+            out.println("Result: NOT FINISHED");
+        } // if
+    } // printOutcome
+
+    /**
+     * Prints how to run a batch and exits.
+     */
+    private static void usage() {
+        System.err.print("\nUsage: MinesweeperBatch [--large] [--cascade] [--deltas] [--restore] ");
+        System.err.print("[--save SNAPSHOT] [--journal JOURNAL] [--metrics] SEED_FILE_PATH ");
+        System.err.println("[COMMAND_FILE]");
+        System.exit(1);
+    } // usage
+
+} // MinesweeperBatch
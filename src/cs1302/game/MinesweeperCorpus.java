@@ -0,0 +1,360 @@
+package cs1302.game;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Scanner;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * Checks a whole directory of seed files in one program, running the seed files on a
+ * fork/join pool with one worker per processor. Every {@code .txt} file in the directory
+ * other than {@code .in.txt}, {@code .out.txt}, {@code .err.txt}, and {@code .combined.txt}
+ * files is a seed file; for a seed file {@code NAME.seed.txt} (or {@code NAME.txt}), the
+ * commands in {@code NAME.in.txt} are played if it exists, and what the game prints is
+ * compared with {@code NAME.out.txt} and {@code NAME.err.txt} if they exist.
+ *
+ * <p>
+ * Each seed file is read with {@code SeedFile}, so it is checked exactly as
+ * {@code MinesweeperDriver} checks it, and the game is played by the same
+ * {@code MinesweeperGame} the driver uses, with its output kept in memory instead of
+ * printed. One line is printed for every seed file, with how long it took, followed by a
+ * summary. The exit status is 0 if every seed file passed, and 1 otherwise.
+ */
+public class MinesweeperCorpus {
+
+    private final int maxSize;
+    private final boolean cascade;
+
+    /**
+     * Constructor method that creates a new {@code MinesweeperCorpus}.
+     *
+     * @param largeBoard whether mine fields can have up to
+     *                   {@code MinesweeperGame.LARGE_MAX_SIZE} rows and columns
+     * @param cascade    whether games are played in cascade reveal mode
+     */
+    public MinesweeperCorpus(boolean largeBoard, boolean cascade) {
+        this.maxSize = largeBoard ? MinesweeperGame.LARGE_MAX_SIZE : MinesweeperGame.MAX_SIZE;
+        this.cascade = cascade;
+    } // constructor
+
+    /**
+     * Checks a directory of seed files from the command line.
+     *
+     * @param args "[--large] [--cascade] [--threads N] DIRECTORY"
+     */
+    public static void main(String[] args) {
+        boolean largeBoard = false;
+        boolean cascade = false;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int argIndex = 0;
+        try {
+            for (; args[argIndex].startsWith("--"); argIndex++) {
+                if (args[argIndex].equals("--large")) {
+                    largeBoard = true;
+                } else if (args[argIndex].equals("--cascade")) {
+                    cascade = true;
+                } else if (args[argIndex].equals("--threads")) {
+                    threads = Integer.parseInt(args[++argIndex]);
+                } else {
+                    usage();
+                } // if
+            } // for
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            usage();
+        } // try-catch
+        if (argIndex != args.length - 1 || threads < 1) {
+            usage();
+        }
+        File directory = new File(args[argIndex]);
+        File[] seeds = directory.listFiles((dir, name) -> isSeedFile(name));
+        if (seeds == null) {
+            System.err.println("\nDirectory Not Found Error: " + directory);
+            System.exit(2);
+        }
+        Arrays.sort(seeds);
+        long start = System.nanoTime();
+        List<Result> results = new MinesweeperCorpus(largeBoard, cascade).check(seeds, threads);
+        long elapsed = System.nanoTime() - start;
+        boolean passed = printReport(results, elapsed, threads);
+        System.exit(passed ? 0 : 1);
+    } // main
+
+    /**
+     * Checks every seed file in {@code seeds} on a fork/join pool with {@code threads}
+     * workers.
+     *
+     * @param seeds   the seed files
+     * @param threads the number of workers
+     * @return the result for each seed file, in the same order
+     */
+    public List<Result> check(File[] seeds, int threads) {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            List<Callable<Result>> tasks = new ArrayList<Callable<Result>>();
+            for (File seed : seeds) {
+                tasks.add(() -> check(seed));
+            } // for
+            List<Result> results = new ArrayList<Result>();
+            for (Future<Result> future : pool.invokeAll(tasks)) {
+                results.add(future.get());
+            } // for
+            return results;
+        } catch (InterruptedException | ExecutionException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            pool.shutdown();
+        } // try
+    } // check
+
+    /**
+     * Checks one seed file: reads it, plays its commands if it has any, and compares what
+     * was printed with the expected output.
+     *
+     * @param seed the seed file
+     * @return the result
+     */
+    public Result check(File seed) {
+        long start = System.nanoTime();
+        String base = baseName(seed);
+        File in = new File(seed.getParentFile(), base + ".in.txt");
+        File expectedOut = new File(seed.getParentFile(), base + ".out.txt");
+        File expectedErr = new File(seed.getParentFile(), base + ".err.txt");
+        ByteArrayOutputStream outBytes = new ByteArrayOutputStream();
+        ByteArrayOutputStream errBytes = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(outBytes, false, StandardCharsets.UTF_8);
+        PrintStream err = new PrintStream(errBytes, false, StandardCharsets.UTF_8);
+        String problem = null;
+        boolean valid = false;
+        try {
+            MinesweeperEngine engine = new MinesweeperEngine(new SeedFile(seed.getPath(), maxSize));
+            engine.setCascade(cascade);
+            valid = true;
+            if (in.exists()) {
+                try (Scanner commands = new Scanner(in, "UTF-8")) {
+                    new MinesweeperGame(commands, out, err, engine).play();
+                } // try
+            }
+        } catch (MalformedSeedException mse) {
+            MinesweeperGame.printMalformed(mse, out, err);
+            problem = mse.getLocation().isEmpty() ? mse.getMessage()
+                : mse.getMessage() + " (" + mse.getLocation() + ")";
+        } catch (FileNotFoundException fnfe) {
+            err.print("\nSeed File Not Found Error: ");
+            err.println(seed.getPath() + " (No such file or directory)");
+            problem = fnfe.getMessage();
+        } catch (NoSuchElementException nse) {
+            problem = "commands ended before the game was over";
+        } // try-catch
+        out.flush();
+        err.flush();
+        String difference = null;
+        try {
+            difference = compare("stdout", expectedOut, outBytes.toByteArray());
+            if (difference == null) {
+                difference = compare("stderr", expectedErr, errBytes.toByteArray());
+            }
+        } catch (IOException ioe) {
+            difference = "expected output could not be read: " + ioe.getMessage();
+        } // try-catch
+        boolean expected = expectedOut.exists() || expectedErr.exists();
+        Status status;
+        if (difference != null) {
+            status = Status.FAIL;
+        } else if (expected) {
+            status = Status.PASS;
+        } else if (valid && problem == null) {
+            status = Status.VALID;
+        } else {
+            status = Status.INVALID;
+        } // if
+        String detail = difference != null ? difference : problem;
+        return new Result(seed, status, detail, System.nanoTime() - start);
+    } // check
+
+    /**
+     * Compares {@code actual} with the contents of {@code expected}.
+     *
+     * @param stream   "stdout" or "stderr", for the description
+     * @param expected the file with the expected output
+     * @param actual   what was printed
+     * @return null if {@code expected} does not exist or matches, otherwise a description
+     * of the first line that is different
+     * @throws IOException if {@code expected} cannot be read
+     */
+    private static String compare(String stream, File expected, byte[] actual)
+        throws IOException {
+        if (!expected.exists()) {
+            return null;
+        }
+        byte[] wanted = Files.readAllBytes(expected.toPath());
+        if (Arrays.equals(wanted, actual)) {
+            return null;
+        }
+        String[] wantedLines = new String(wanted, StandardCharsets.UTF_8).split("\n", -1);
+        String[] actualLines = new String(actual, StandardCharsets.UTF_8).split("\n", -1);
+        int line = 0;
+        while (line < wantedLines.length && line < actualLines.length
+            && wantedLines[line].equals(actualLines[line])) {
+            line++;
+        } // while
+        String want = line < wantedLines.length ? "\"" + wantedLines[line] + "\"" : "end of output";
+        String got = line < actualLines.length ? "\"" + actualLines[line] + "\"" : "end of output";
+        return stream + " line " + (line + 1) + ": expected " + want + " but was " + got;
+    } // compare
+
+    /**
+     * Prints one line for every result, with the details of any seed file that did not pass,
+     * followed by a summary.
+     *
+     * @param results the results
+     * @param elapsed how long checking every seed file took, in nanoseconds
+     * @param threads the number of workers
+     * @return true if no seed file failed
+     */
+    private static boolean printReport(List<Result> results, long elapsed, int threads) {
+        int[] counts = new int[Status.values().length];
+        long total = 0;
+        for (Result result : results) {
+            counts[result.getStatus().ordinal()]++;
+            total += result.getNanos();
+            System.out.printf("%-7s %9.3f ms  %s\n", result.getStatus(), result.getNanos() / 1e6,
+                result.getSeed().getPath());
+            if (result.getDetail() != null) {
+                System.out.println("        " + result.getDetail());
+            }
+        } // for
+        System.out.println();
+        System.out.print("Seed files: " + results.size());
+        for (Status status : Status.values()) {
+            System.out.print(", " + status + " " + counts[status.ordinal()]);
+        } // for
+        System.out.println();
+        System.out.printf("Time: %.3f ms on %d threads (%.3f ms of work, %.2fx)\n", elapsed / 1e6,
+            threads, total / 1e6, elapsed == 0 ? 0.0 : (double) total / elapsed);
+        return counts[Status.FAIL.ordinal()] == 0;
+    } // printReport
+
+    /**
+     * Returns true if {@code name} is the name of a seed file.
+     *
+     * @param name the name of a file
+     * @return true if {@code name} ends in ".txt" but is not an input or output file
+     */
+    static boolean isSeedFile(String name) {
+        return name.endsWith(".txt") && !name.endsWith(".in.txt")
+            && !name.endsWith(".out.txt") && !name.endsWith(".err.txt")
+            && !name.endsWith(".combined.txt");
+    } // isSeedFile
+
+    /**
+     * Returns the name of {@code seed} without ".seed.txt" or ".txt".
+     *
+     * @param seed the seed file
+     * @return the name its input and output files start with
+     */
+    private static String baseName(File seed) {
+        String name = seed.getName();
+        if (name.endsWith(".seed.txt")) {
+            return name.substring(0, name.length() - ".seed.txt".length());
+        }
+        return name.substring(0, name.length() - ".txt".length());
+    } // baseName
+
+    /**
+     * Prints how to run the checker and exits.
+     */
+    private static void usage() {
+        System.err.print("\nUsage: MinesweeperCorpus [--large] [--cascade] [--threads N] ");
+        System.err.println("DIRECTORY");
+        System.exit(1);
+    } // usage
+
+    /** How a seed file was found. */
+    public enum Status {
+        /** What was printed matches every expected output file. */
+        PASS,
+        /** What was printed does not match an expected output file. */
+        FAIL,
+        /** The seed file is valid, and there is no expected output to compare with. */
+        VALID,
+        /** The seed file is malformed (or its commands ended early), and there is no
+         * expected output to compare with. */
+        INVALID
+    } // Status
+
+    /**
+     * What checking one seed file found.
+     */
+    public static class Result {
+
+        private final File seed;
+        private final Status status;
+        private final String detail;
+        private final long nanos;
+
+        /**
+         * Constructor method that creates a new {@code Result}.
+         *
+         * @param seed   the seed file
+         * @param status how the seed file was found
+         * @param detail what was wrong, or null
+         * @param nanos  how long checking the seed file took, in nanoseconds
+         */
+        public Result(File seed, Status status, String detail, long nanos) {
+            this.seed = seed;
+            this.status = status;
+            this.detail = detail;
+            this.nanos = nanos;
+        } // constructor
+
+        /**
+         * Returns the seed file.
+         *
+         * @return the seed file
+         */
+        public File getSeed() {
+            return seed;
+        } // getSeed
+
+        /**
+         * Returns how the seed file was found.
+         *
+         * @return the status
+         */
+        public Status getStatus() {
+            return status;
+        } // getStatus
+
+        /**
+         * Returns what was wrong with the seed file or its output, or null.
+         *
+         * @return the detail
+         */
+        public String getDetail() {
+            return detail;
+        } // getDetail
+
+        /**
+         * Returns how long checking the seed file took.
+         *
+         * @return the time in nanoseconds
+         */
+        public long getNanos() {
+            return nanos;
+        } // getNanos
+
+    } // Result
+
+} // MinesweeperCorpus
@@ -2,6 +2,9 @@ package cs1302.game;
 
 import java.util.Scanner;
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 /**
  * Driver class that creates a new {@code MinesweeperGame} object
@@ -11,29 +14,165 @@ public class MinesweeperDriver {
 
     /**
      * Creates a new {@code MinesweeperGame} object and calls its
-     * {@code play} method.
+     * {@code play} method. The path to the seed file can be preceded by
+     * "--large" to create the game in large board mode, and/or "--cascade" to
+     * reveal whole regions with no surrounding mines at once. With "--journal JOURNAL",
+     * every command is written to a move journal, and a game already in the journal (for
+     * example, one cut short by a crash) goes on from where the journal ends. With
+     * "--metrics", the game's metrics are registered with JMX while it is played and
+     * printed to standard error when it is over. With "--ansi", the game is played in ANSI
+     * terminal mode, where only the squares that changed are drawn again. With
+     * "--leaderboard LEADERBOARD", the finished game is added to the {@code Leaderboard}
+     * at LEADERBOARD. The program exits with status 1 if the welcome.txt file is not
+     * found.
      *
      * @param args the path name (argument) given by the player which
-     * points to a seed file.
+     * points to a seed file, optionally preceded by options.
      * @throws ArrayIndexOutOfBoundsException if no path name (argument) is given,
      * which causes the program to exit.
      */
     public static void main(String[] args) {
         Scanner stdIn = new Scanner(System.in);
         String seedPath = null;
+        boolean largeBoard = false;
+        boolean cascade = false;
+        String journalPath = null;
+        GameMetrics metrics = null;
+        boolean ansi = false;
+        String leaderboardPath = null;
+        int argIndex = 0;
+        for (; argIndex < args.length && args[argIndex].startsWith("--"); argIndex++) {
+            if (args[argIndex].equals("--large")) {
+                largeBoard = true;
+            } else if (args[argIndex].equals("--cascade")) {
+                cascade = true;
+            } else if (args[argIndex].equals("--journal") && argIndex + 1 < args.length) {
+                journalPath = args[++argIndex];
+            } else if (args[argIndex].equals("--metrics")) {
+                metrics = new GameMetrics();
+            } else if (args[argIndex].equals("--ansi")) {
+                ansi = true;
+            } else if (args[argIndex].equals("--leaderboard") && argIndex + 1 < args.length) {
+                leaderboardPath = args[++argIndex];
+            } else {
+                usage();
+            } // if
+        } // for
         try {
-            seedPath = args[0];
+            seedPath = args[argIndex];
         } catch (ArrayIndexOutOfBoundsException aie) {
-            System.err.println("\nUsage: MinesweeperDriver SEED_FILE_PATH");
-            System.exit(1);
+            usage();
         }
+        Leaderboard leaderboard = null;
+        boolean played = false;
         try {
-            MinesweeperGame g1 = new MinesweeperGame(stdIn, seedPath);
-            g1.play();
+            if (leaderboardPath != null) {
+                leaderboard = new Leaderboard(Paths.get(leaderboardPath));
+                if (leaderboard.getCorrupt() > 0) {
+                    System.err.println("\nLeaderboard Warning: " + leaderboard.getCorrupt()
+                        + " corrupt records skipped");
+                }
+            }
+            if (journalPath != null) {
+                played = playJournaled(stdIn, seedPath, largeBoard, cascade, Paths.get(journalPath),
+                    metrics, ansi, leaderboard);
+            } else {
+                MinesweeperGame g1 = new MinesweeperGame(stdIn, seedPath, largeBoard);
+                g1.setCascade(cascade);
+                g1.setMetrics(metrics);
+                g1.setAnsi(ansi);
+                g1.setLeaderboard(leaderboard);
+                played = g1.play();
+            } // if
+            if (metrics != null) {
+                metrics.dump(System.err);
+            }
         } catch (FileNotFoundException fnfe) {
             System.err.print("\nSeed File Not Found Error: ");
-            System.err.println(args[0] + " (No such file or directory)");
+            System.err.println(seedPath + " (No such file or directory)");
             System.exit(2);
+        } catch (IOException ioe) {
+            System.err.println("\nLeaderboard Error: " + ioe.getMessage());
+            System.exit(1);
+        } finally {
+            close(leaderboard);
+        } // try-catch
+        if (!played) {
+            System.exit(1);
         }
     } // main
+
+    /**
+     * Closes {@code leaderboard}, if there is one, writing every game added to it. If it
+     * cannot be written, the error is printed and the program exits.
+     *
+     * @param leaderboard the leaderboard, or null
+     */
+    private static void close(Leaderboard leaderboard) {
+        if (leaderboard == null) {
+            return;
+        }
+        try {
+            leaderboard.close();
+        } catch (IOException ioe) {
+            System.err.println("\nLeaderboard Error: " + ioe.getMessage());
+            System.exit(1);
+        } // try-catch
+    } // close
+
+    /**
+     * Plays the game in the journal at {@code journalPath}, or a new game if there is no
+     * journal yet, writing every command to the journal. The journal is closed (and every
+     * command in it written to the disk) when the game is over or standard input ends.
+     * The program exits if the seed file is malformed or the journal cannot be used.
+     *
+     * @param stdIn       Scanner with standard input
+     * @param seedPath    the path to the seed file
+     * @param largeBoard  whether the game is in large board mode
+     * @param cascade     whether to reveal whole regions with no surrounding mines at once
+     * @param journalPath the path to the journal
+     * @param metrics     where the game's metrics are recorded, or null
+     * @param ansi        whether to play in ANSI terminal mode
+     * @param leaderboard where the finished game is added, or null
+     * @return true if the game was played, or false if the welcome.txt file is not found
+     * @throws FileNotFoundException if the seed file is not found
+     */
+    private static boolean playJournaled(Scanner stdIn, String seedPath, boolean largeBoard,
+        boolean cascade, Path journalPath, GameMetrics metrics, boolean ansi,
+        Leaderboard leaderboard) throws FileNotFoundException {
+        int maxSize = largeBoard ? MinesweeperGame.LARGE_MAX_SIZE : MinesweeperGame.MAX_SIZE;
+        try {
+            MinesweeperEngine engine = MinesweeperReplay.recover(seedPath, journalPath, maxSize);
+            if (cascade) {
+                engine.setCascade(true);
+            }
+            try (MoveJournal journal = new MoveJournal(journalPath, engine)) {
+                engine.setJournal(journal);
+                MinesweeperGame game = new MinesweeperGame(stdIn, System.out, System.err, engine);
+                game.setMetrics(metrics);
+                game.setAnsi(ansi);
+                game.setLeaderboard(leaderboard);
+                return game.play();
+            } // try
+        } catch (FileNotFoundException fnfe) {
+            throw fnfe;
+        } catch (MalformedSeedException mse) {
+            MinesweeperGame.printMalformed(mse, System.out, System.err);
+            System.exit(3);
+        } catch (IOException ioe) {
+            System.err.println("\nJournal Error: " + ioe.getMessage());
+            System.exit(1);
+        } // try-catch
+        return false;
+    } // playJournaled
+
+    /**
+     * Prints how to run the driver and exits.
+     */
+    private static void usage() {
+        System.err.print("\nUsage: MinesweeperDriver [--large] [--cascade] [--journal JOURNAL] ");
+        System.err.print("[--metrics] [--ansi] [--leaderboard LEADERBOARD] ");
+        System.err.println("SEED_FILE_PATH");
+        System.exit(1);
+    } // usage
 } // MinesweeperDriver
@@ -0,0 +1,747 @@
+package cs1302.game;
+
+import java.util.ArrayList;
+
+/**
+ * Object class that plays one game of Minesweeper on a {@code mineField} without any
+ * console input or output. Commands are given either as lines of the text protocol
+ * ("r/reveal row col", "m/mark row col", "g/guess row col", "h/help", "q/quit", or
+ * "nofog") through {@code execute}, or through the method for each command, and every
+ * command returns a {@code MoveResult} describing what happened. Nothing in this class
+ * exits the program, so any number of games can be played at once.
+ *
+ * <p>
+ * Showing the mine field to the player counts as a round, as it always has: once when
+ * the game starts and once after every command that does not end the game. Revealing,
+ * marking, guessing, and asking for help each count as one more round.
+ */
+public class MinesweeperEngine {
+
+    /** Message of a reveal or mark command given without a row number. */
+    static final String ROW_EXPECTED = "row and column number expected but not given";
+    /** Message of a reveal, mark, or guess command given without a column number. */
+    static final String COLUMN_EXPECTED = "column number expected but not given";
+
+    private final Board mineField;
+    private final int rows;
+    private final int col;
+    private final int numberOfMines;
+    private MineGenerator generator;
+    private int rounds = 0;
+    private double score = 0;
+    private boolean cascade = false;
+    private MoveResult.Outcome ending = null;
+    private int lastSquare = 0;
+    private MoveJournal journal;
+    private HintSolver solver;
+    private GameMetrics metrics;
+    private Leaderboard leaderboard;
+    private long seed;
+    private final long started = System.nanoTime();
+    private byte command;
+    private long commandStarted;
+    private final ArrayList<ChangeListener> listeners = new ArrayList<ChangeListener>();
+    private final SquareList changed = new SquareList();
+    private char[] markers = new char[16];
+    private String line;
+    private int pos;
+    private int nextInt;
+
+    /**
+     * Constructor method that creates a new {@code MinesweeperEngine} that plays on
+     * {@code mineField}.
+     *
+     * @param mineField     the mine field to play on, with every square hidden
+     * @param numberOfMines the number of mines given for the mine field
+     */
+    public MinesweeperEngine(Board mineField, int numberOfMines) {
+        this(mineField, numberOfMines, null);
+    } // constructor
+
+    /**
+     * Constructor method that creates a new {@code MinesweeperEngine} that plays on
+     * {@code mineField}, which has no mines yet if {@code generator} is not null. In that
+     * case {@code generator} places the mines when the first square is revealed, leaving
+     * that square without a mine.
+     *
+     * @param mineField     the mine field to play on, with every square hidden
+     * @param numberOfMines the number of mines given for the mine field
+     * @param generator     places the mines on the first reveal, or null if the mines
+     *                      have already been placed
+     */
+    public MinesweeperEngine(Board mineField, int numberOfMines, MineGenerator generator) {
+        this.mineField = mineField;
+        this.rows = mineField.getRows();
+        this.col = mineField.getCols();
+        this.numberOfMines = numberOfMines;
+        this.generator = generator;
+        rounds++;
+    } // constructor
+
+    /**
+     * Constructor method that creates a new {@code MinesweeperEngine} that plays on
+     * the mine field described by {@code seedFile}.
+     *
+     * @param seedFile the seed file describing the mine field
+     */
+    public MinesweeperEngine(SeedFile seedFile) {
+        this(seedFile.getMineField(), seedFile.getNumberOfMines(), seedFile.getGenerator());
+    } // constructor
+
+    /**
+     * Turns cascade reveal mode on or off. In cascade reveal mode, revealing a square
+     * with no surrounding mines also reveals every square connected to it through
+     * squares with no surrounding mines, along with their numbered border, all in
+     * one round.
+     *
+     * @param cascade whether to play in cascade reveal mode
+     */
+    public void setCascade(boolean cascade) {
+        this.cascade = cascade;
+    } // setCascade
+
+    /**
+     * Writes every command played from now on to {@code journal}, or stops writing them if
+     * {@code journal} is null. Lines that are not valid commands are written too, since they
+     * still count as a round. Commands given once the game is over are not written, since
+     * they change nothing. The journal is not closed by the engine.
+     *
+     * @param journal the journal of this game, or null
+     */
+    public void setJournal(MoveJournal journal) {
+        this.journal = journal;
+    } // setJournal
+
+    /**
+     * Records metrics for every command played from now on in {@code metrics}, or stops
+     * recording them if {@code metrics} is null. Reveals, marks, and guesses are timed from
+     * when the command is given until its {@code MoveResult} is ready, invalid commands are
+     * counted, and the outcome and number of rounds are recorded when the game ends.
+     *
+     * @param metrics where the metrics are recorded, or null
+     */
+    public void setMetrics(GameMetrics metrics) {
+        this.metrics = metrics;
+    } // setMetrics
+
+    /**
+     * Returns where the metrics of this game are recorded.
+     *
+     * @return the metrics, or null if none are recorded
+     */
+    public GameMetrics getMetrics() {
+        return metrics;
+    } // getMetrics
+
+    /**
+     * Adds a {@code GameRecord} of this game to {@code leaderboard} when the game is won,
+     * lost, or quit, or stops adding one if {@code leaderboard} is null. The game is timed
+     * from when this engine was created, and its seed is found by {@code Leaderboard.seedOf}
+     * now, so this should be called before the first square is revealed.
+     *
+     * @param leaderboard where the game is recorded, or null
+     */
+    public void setLeaderboard(Leaderboard leaderboard) {
+        this.leaderboard = leaderboard;
+        seed = leaderboard == null ? 0 : Leaderboard.seedOf(this);
+    } // setLeaderboard
+
+    /**
+     * Tells {@code listener} about every command played from now on, with the squares it
+     * changed and the marker each of them shows now.
+     *
+     * @param listener the listener to add
+     */
+    public void addChangeListener(ChangeListener listener) {
+        listeners.add(listener);
+    } // addChangeListener
+
+    /**
+     * Stops telling {@code listener} about the commands played.
+     *
+     * @param listener the listener to remove
+     */
+    public void removeChangeListener(ChangeListener listener) {
+        listeners.remove(listener);
+    } // removeChangeListener
+
+    /**
+     * Carries out one line of the text protocol. Invalid command error given if the
+     * line is anything (including an empty line) other than "r/reveal", "m/mark",
+     * "g/guess", "h/help", "q/quit", or "nofog". If "r/reveal", "m/mark", or "g/guess" is
+     * given, the row and column number are read from the rest of the line.
+     * Words in the line are separated by whitespace, and the line is read in place
+     * rather than through a {@code Scanner}, so no objects are created to read it.
+     *
+     * @param fullCommand the line given by the player
+     * @return what the command did
+     */
+    public MoveResult execute(String fullCommand) {
+        line = fullCommand;
+        pos = 0;
+        skipWhitespace();
+        int start = pos;
+        skipWord();
+        if (commandIs(start, "r") || commandIs(start, "reveal")) {
+            if (!nextInt()) {
+                return unrecognized(ROW_EXPECTED);
+            }
+            int row = nextInt;
+            if (!nextInt()) {
+                return unrecognized(COLUMN_EXPECTED);
+            }
+            return reveal(row, nextInt);
+        } else if (commandIs(start, "m") || commandIs(start, "mark")) {
+            if (!nextInt()) {
+                return unrecognized(ROW_EXPECTED);
+            }
+            int row = nextInt;
+            if (!nextInt()) {
+                return unrecognized(COLUMN_EXPECTED);
+            }
+            return mark(row, nextInt);
+        } else if (commandIs(start, "g") || commandIs(start, "guess")) {
+            if (!nextInt()) {
+                return unrecognized("row and column numbers expected but not given");
+            }
+            int row = nextInt;
+            if (!nextInt()) {
+                return unrecognized(COLUMN_EXPECTED);
+            }
+            return guess(row, nextInt);
+        } else if (commandIs(start, "h") || commandIs(start, "help")) {
+            return help();
+        } else if (commandIs(start, "q") || commandIs(start, "quit")) {
+            return quit();
+        } else if (commandIs(start, "nofog")) {
+            return noFog();
+        } else {
+            return unrecognized("command not recognized!");
+        } // if
+    } // execute
+
+    /**
+     * Carries out one record of a {@code MoveJournal} the same way as the command it was
+     * written for. Used by {@code MinesweeperReplay}.
+     *
+     * @param command the command, one of the commands of {@code MoveJournal}
+     * @param row     the row number given with the command, or 0
+     * @param column  the column number given with the command, or 0
+     * @return what the command did
+     */
+    MoveResult replay(byte command, int row, int column) {
+        if (command == MoveJournal.REVEAL) {
+            return reveal(row, column);
+        } else if (command == MoveJournal.MARK) {
+            return mark(row, column);
+        } else if (command == MoveJournal.GUESS) {
+            return guess(row, column);
+        } else if (command == MoveJournal.HELP) {
+            return help();
+        } else if (command == MoveJournal.NOFOG) {
+            return noFog();
+        } else if (command == MoveJournal.QUIT) {
+            return quit();
+        } else {
+            return unrecognized("command not recognized!");
+        } // if
+    } // replay
+
+    /**
+     * Reveals the square given by {@code row} and {@code column}. If the square contains
+     * a mine, the game is lost. If not, the square shows how many mines surround it
+     * (in cascade reveal mode, the whole region around a square with no surrounding mines
+     * is revealed) and the number of rounds increases by one. If the mines are placed by a
+     * {@code MineGenerator}, they are placed before the first square is revealed, away
+     * from that square. If every mine is then
+     * flagged and every other square revealed, the game is won and the score is
+     * calculated.
+     *
+     * @param row the row number of the square
+     * @param column the column number of the square
+     * @return what the command did; {@code INVALID} if the square is out of bounds
+     */
+    public MoveResult reveal(int row, int column) {
+        record(MoveJournal.REVEAL, row, column);
+        if (ending != null) {
+            return invalid("the game is over");
+        }
+        String notice = null;
+        try {
+            if (generator != null) {
+                mineField.isMine(row, column);
+                generator.placeMines(mineField, row, column);
+                generator = null;
+            }
+            if (mineField.isMine(row, column)) {
+                end(MoveResult.Outcome.LOST);
+                return result(MoveResult.Outcome.LOST, null);
+            }
+            if (mineField.isPlayed(row, column)) {
+                notice = "You have already played this square!";
+            }
+            if (cascade) {
+                mineField.revealRegion(row, column, changed);
+            } else {
+                mineField.reveal(row, column);
+                changed.add(row * col + column);
+            } // if
+            rounds++;
+        } catch (ArrayIndexOutOfBoundsException aie) {
+            return invalid(aie.getMessage());
+        } // try-catch
+        return played(notice);
+    } // reveal
+
+    /**
+     * Adds a flag ("F") to the square given by {@code row} and {@code column}, and the
+     * number of rounds increases by one. If every mine is then flagged and every other
+     * square revealed, the game is won and the score is calculated.
+     *
+     * @param row the row number of the square
+     * @param column the column number of the square
+     * @return what the command did; {@code INVALID} if the square is out of bounds
+     */
+    public MoveResult mark(int row, int column) {
+        record(MoveJournal.MARK, row, column);
+        if (ending != null) {
+            return invalid("the game is over");
+        }
+        String notice = null;
+        try {
+            if (mineField.isPlayed(row, column)) {
+                notice = "You have alread played this square!";
+            }
+            mineField.flag(row, column);
+            changed.add(row * col + column);
+            rounds++;
+        } catch (ArrayIndexOutOfBoundsException aie) {
+            return invalid(aie.getMessage());
+        } // try-catch
+        return played(notice);
+    } // mark
+
+    /**
+     * Adds a "?" to the square given by {@code row} and {@code column}, and the number
+     * of rounds increases by one.
+     *
+     * @param row the row number of the square
+     * @param column the column number of the square
+     * @return what the command did; {@code INVALID} if the square is out of bounds
+     */
+    public MoveResult guess(int row, int column) {
+        record(MoveJournal.GUESS, row, column);
+        if (ending != null) {
+            return invalid("the game is over");
+        }
+        try {
+            mineField.guess(row, column);
+            changed.add(row * col + column);
+            rounds++;
+        } catch (ArrayIndexOutOfBoundsException aie) {
+            return invalid(aie.getMessage());
+        } // try-catch
+        return result(MoveResult.Outcome.PLAYED, null);
+    } // guess
+
+    /**
+     * Asks for the list of commands. The number of rounds increases by one.
+     *
+     * @return what the command did
+     */
+    public MoveResult help() {
+        record(MoveJournal.HELP, 0, 0);
+        if (ending != null) {
+            return invalid("the game is over");
+        }
+        rounds++;
+        return result(MoveResult.Outcome.HELP, null);
+    } // help
+
+    /**
+     * Asks for the "cheat" mine field that shows where the mines are located.
+     *
+     * @return what the command did
+     */
+    public MoveResult noFog() {
+        record(MoveJournal.NOFOG, 0, 0);
+        if (ending != null) {
+            return invalid("the game is over");
+        }
+        return result(MoveResult.Outcome.NOFOG, null);
+    } // noFog
+
+    /**
+     * Quits the game.
+     *
+     * @return what the command did; {@code INVALID} if the game is already over
+     */
+    public MoveResult quit() {
+        record(MoveJournal.QUIT, 0, 0);
+        if (ending != null) {
+            return invalid("the game is over");
+        }
+        end(MoveResult.Outcome.QUIT);
+        return result(MoveResult.Outcome.QUIT, null);
+    } // quit
+
+    /**
+     * Returns the squares that are certainly safe and the squares that certainly hold a mine,
+     * worked out from the revealed numbers, with the chance that each square next to a
+     * revealed number holds a mine when no square is certainly safe. The first hint creates
+     * a {@code HintSolver} that is then kept up to date by every move, so later hints only
+     * work out again what the moves since the last hint changed. Asking for a hint does not
+     * count as a round.
+     *
+     * @return the hint
+     */
+    public Hint hint() {
+        if (solver == null) {
+            solver = new HintSolver(mineField, numberOfMines);
+        }
+        return solver.hint();
+    } // hint
+
+    /**
+     * Determines if the player has won. If all mine indexes have been marked with a flag
+     * ("F") AND all non-mine locations have been revealed, the player wins,
+     * and the method returns true, otherwise it returns false.
+     * The number of revealed and flagged squares is kept by {@code mineField} as
+     * {@code reveal}, {@code mark}, and {@code guess} change squares, so the mine field
+     * does not have to be scanned. {@code MinesweeperEngineTest} checks the result
+     * against {@code isWonByScan} after every move of long random games.
+     *
+     * @return true if mines have been marked with a flag and non-mine
+     * locations have been successfully revealed, otherwise returns false
+     */
+    public boolean isWon() {
+        int numReveals = mineField.getNumRevealed();
+        int numFlags = mineField.getNumFlagged();
+        int nonMines = (rows * col) - numberOfMines;
+        return numReveals == nonMines && numFlags == numberOfMines;
+    } // isWon
+
+    /**
+     * Determines if the player has won the same way as {@code isWon}, but by
+     * counting the revealed and flagged squares of every square in the mine field.
+     * Only used by {@code MinesweeperEngineTest} to check {@code isWon}.
+     *
+     * @return true if mines have been marked with a flag and non-mine
+     * locations have been successfully revealed, otherwise returns false
+     */
+    boolean isWonByScan() {
+        int numReveals = 0;
+        int numFlags = 0;
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < col; j++) {
+                if (mineField.isRevealed(i, j)) {
+                    numReveals++;
+                }
+                if (mineField.isFlagged(i, j)) {
+                    numFlags++;
+                }
+            } // for-inner
+        } // for-outer
+        int nonMines = (rows * col) - numberOfMines;
+        return numReveals == nonMines && numFlags == numberOfMines;
+    } // isWonByScan
+
+    /**
+     * Returns the mine field the game is played on.
+     *
+     * @return the mine field
+     */
+    public Board getMineField() {
+        return mineField;
+    } // getMineField
+
+    /**
+     * Returns the number of rounds completed.
+     *
+     * @return the number of rounds
+     */
+    public int getRounds() {
+        return rounds;
+    } // getRounds
+
+    /**
+     * Returns the player's score, which is 0 unless the game is won.
+     *
+     * @return the score
+     */
+    public double getScore() {
+        return score;
+    } // getScore
+
+    /**
+     * Returns the index ({@code row * cols + col}) of the first square changed by the last
+     * command that changed any square, or 0 if no square has changed yet. The console shows
+     * the part of a large mine field around this square.
+     *
+     * @return the index of the last square played
+     */
+    public int getLastSquare() {
+        return lastSquare;
+    } // getLastSquare
+
+    /**
+     * Returns the number of mines given for the mine field.
+     *
+     * @return the number of mines
+     */
+    public int getNumberOfMines() {
+        return numberOfMines;
+    } // getNumberOfMines
+
+    /**
+     * Returns {@code true} if the game is played in cascade reveal mode.
+     *
+     * @return true in cascade reveal mode, otherwise false
+     */
+    public boolean isCascade() {
+        return cascade;
+    } // isCascade
+
+    /**
+     * Returns the generator that will place the mines on the first reveal, or null if the
+     * mines have been placed. Used by {@code GameSnapshot}.
+     *
+     * @return the generator, or null
+     */
+    MineGenerator getGenerator() {
+        return generator;
+    } // getGenerator
+
+    /**
+     * Sets the counters of a game that was saved by {@code GameSnapshot}, so the game goes
+     * on exactly where it stopped.
+     *
+     * @param savedRounds     the number of rounds completed
+     * @param savedScore      the player's score
+     * @param savedEnding     how the game ended, or {@code null} if it is not over
+     * @param savedLastSquare the index of the last square played
+     */
+    void restore(int savedRounds, double savedScore, MoveResult.Outcome savedEnding,
+        int savedLastSquare) {
+        rounds = savedRounds;
+        score = savedScore;
+        ending = savedEnding;
+        lastSquare = savedLastSquare;
+    } // restore
+
+    /**
+     * Returns {@code true} if the game has been won, lost, or quit.
+     *
+     * @return true if the game is over, otherwise false
+     */
+    public boolean isOver() {
+        return ending != null;
+    } // isOver
+
+    /**
+     * Returns how the game ended: {@code WON}, {@code LOST}, or {@code QUIT}.
+     *
+     * @return how the game ended, or {@code null} if it is not over
+     */
+    public MoveResult.Outcome getEnding() {
+        return ending;
+    } // getEnding
+
+    /**
+     * Moves {@code pos} past any whitespace in {@code line}.
+     */
+    private void skipWhitespace() {
+        while (pos < line.length() && Character.isWhitespace(line.charAt(pos))) {
+            pos++;
+        } // while
+    } // skipWhitespace
+
+    /**
+     * Moves {@code pos} to the end of the word in {@code line} that starts at {@code pos}.
+     */
+    private void skipWord() {
+        while (pos < line.length() && !Character.isWhitespace(line.charAt(pos))) {
+            pos++;
+        } // while
+    } // skipWord
+
+    /**
+     * Returns {@code true} if the word in {@code line} from {@code start} to {@code pos}
+     * is {@code command}.
+     *
+     * @param start where the word starts
+     * @param command the command to compare the word to
+     * @return true if the word is the command, otherwise false
+     */
+    private boolean commandIs(int start, String command) {
+        return pos - start == command.length() && line.startsWith(command, start);
+    } // commandIs
+
+    /**
+     * Reads the next word in {@code line} into {@code nextInt} if it is an {@code int}
+     * written as an optional sign followed by digits.
+     *
+     * @return true if the next word is an {@code int}, otherwise false
+     */
+    private boolean nextInt() {
+        skipWhitespace();
+        int start = pos;
+        int i = pos;
+        boolean negative = false;
+        if (i < line.length() && (line.charAt(i) == '-' || line.charAt(i) == '+')) {
+            negative = line.charAt(i) == '-';
+            i++;
+        }
+        long value = 0;
+        int digits = 0;
+        for (; i < line.length() && !Character.isWhitespace(line.charAt(i)); i++) {
+            int digit = Character.digit(line.charAt(i), 10);
+            if (digit < 0) {
+                return false;
+            }
+            value = value * 10 + digit;
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                return false;
+            }
+            digits++;
+        } // for
+        value = negative ? -value : value;
+        if (digits == 0 || value > Integer.MAX_VALUE) {
+            pos = start;
+            return false;
+        }
+        nextInt = (int) value;
+        pos = i;
+        return true;
+    } // nextInt
+
+    /**
+     * Returns the result of a reveal or mark that changed the mine field, which
+     * wins the game if {@code isWon} returns {@code true}.
+     *
+     * @param notice the message for the player, or {@code null}
+     * @return the result
+     */
+    private MoveResult played(String notice) {
+        if (isWon()) {
+            score = 100.0 * rows * col / rounds;
+            end(MoveResult.Outcome.WON);
+            return result(MoveResult.Outcome.WON, notice);
+        } // if
+        return result(MoveResult.Outcome.PLAYED, notice);
+    } // played
+
+    /**
+     * Ends the game with {@code outcome}, recording it in the metrics and the leaderboard
+     * if the game was not already over. The game is over before either is told, so it ends
+     * the same way whatever they do.
+     *
+     * @param outcome how the game ended: {@code WON}, {@code LOST}, or {@code QUIT}
+     */
+    private void end(MoveResult.Outcome outcome) {
+        boolean first = ending == null;
+        ending = outcome;
+        if (metrics != null && first) {
+            metrics.recordEnd(outcome, rounds);
+        }
+        if (leaderboard != null && first) {
+            leaderboard.add(new GameRecord(seed, rows, col, numberOfMines, outcome, rounds,
+                score, System.nanoTime() - started));
+        }
+    } // end
+
+    /**
+     * Writes a command to the journal, if there is one and the game is not over, and notes
+     * which command was given and when, if metrics are recorded. Called first by every
+     * command, so a command given after the game is over is timed but not journaled, and
+     * a replay of the journal only plays the commands the game played.
+     *
+     * @param given  the command, one of the commands of {@code MoveJournal}
+     * @param row    the row number given with the command, or 0
+     * @param column the column number given with the command, or 0
+     */
+    private void record(byte given, int row, int column) {
+        if (journal != null && ending == null) {
+            journal.append(given, row, column);
+        }
+        if (metrics != null) {
+            command = given;
+            commandStarted = System.nanoTime();
+        }
+    } // record
+
+    /**
+     * Returns the result of a line that is not a valid command, after writing it to the
+     * journal.
+     *
+     * @param message why the line is not a valid command
+     * @return the result
+     */
+    private MoveResult unrecognized(String message) {
+        record(MoveJournal.INVALID, 0, 0);
+        return invalid(message);
+    } // unrecognized
+
+    /**
+     * Returns the result of an invalid command.
+     *
+     * @param message why the command is invalid
+     * @return the result
+     */
+    private MoveResult invalid(String message) {
+        return result(MoveResult.Outcome.INVALID, message);
+    } // invalid
+
+    /**
+     * Returns the result of a command, including the squares in {@code changed},
+     * which is then cleared. If the game goes on, the mine field is shown to the player
+     * again, which counts as a round.
+     *
+     * @param outcome what the command did
+     * @param message the message for the player, or {@code null}
+     * @return the result
+     */
+    private MoveResult result(MoveResult.Outcome outcome, String message) {
+        if (ending == null) {
+            rounds++;
+        }
+        if (changed.size() > 0) {
+            lastSquare = changed.get(0);
+        }
+        MoveResult result = new MoveResult(outcome, message, changed.toArray(), rounds, score);
+        changed.clear();
+        if (metrics != null) {
+            if (outcome == MoveResult.Outcome.INVALID) {
+                metrics.recordInvalid();
+            }
+            metrics.recordCommand(command, System.nanoTime() - commandStarted);
+        }
+        if (solver != null && result.getChanged().length > 0) {
+            solver.update(result.getChanged());
+        }
+        if (!listeners.isEmpty()) {
+            fireChanged(result);
+        }
+        return result;
+    } // result
+
+    /**
+     * Tells every listener about {@code result}, with the marker each changed square shows
+     * now, in {@code markers}, which is reused by every command and only grows.
+     *
+     * @param result what the command did
+     */
+    private void fireChanged(MoveResult result) {
+        int[] squares = result.getChanged();
+        if (markers.length < squares.length) {
+            markers = new char[Math.max(squares.length, 2 * markers.length)];
+        }
+        for (int i = 0; i < squares.length; i++) {
+            markers[i] = mineField.getMarker(squares[i] / col, squares[i] % col);
+        } // for
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).changed(result, markers);
+        } // for
+    } // fireChanged
+
+} // MinesweeperEngine
@@ -1,519 +1,361 @@
 package cs1302.game;
 
 import java.util.Scanner;
-import java.util.ArrayList;
-import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import javax.management.JMException;
 
 /**
- * Object class that constructs a new Minesweeper Game setup with 5-10
+ * Object class that plays a new Minesweeper Game on the console, with 5-10
  * {@code rows} and 5-10 {@code col} (columns) and a certain {@code numberOfMines},
- *  all given by a seed file.
+ *  all given by a seed file. In large board mode, the mine field can have up to
+ *  {@code LARGE_MAX_SIZE} rows and columns, and only the part of the mine field around
+ *  the last square played is printed.
+ *  The game itself is played by a {@code MinesweeperEngine}; this class reads the
+ *  player's commands from standard input, passes them to the engine, and prints
+ *  what happened to standard output and standard error. A game can also be given any
+ *  other input and output streams, so several games can be played in one program.
  */
 public class MinesweeperGame {
 
+    /** Largest number of rows or columns allowed in a mine field. */
+    public static final int MAX_SIZE = 10;
+    /** Largest number of rows or columns allowed in a mine field in large board mode. */
+    public static final int LARGE_MAX_SIZE = 10000;
+
+    private static final String NEWLINE = System.lineSeparator();
+
     private final Scanner stdIn;
-    private int rows = 0;
-    private int col = 0;
-    private int numberOfMines = 0;
-    private int rounds = 0;
-    private double score = 0;
-    private boolean[][] isMine;
-    private String[][] markers;
-    private File seedFile;
-    private Scanner seedScan;
-    private ArrayList<Integer> seedNumbers = new ArrayList<Integer>();
+    private final PrintStream out;
+    private final PrintStream err;
+    private final MinesweeperEngine engine;
+    private final FieldRenderer renderer;
+    private AnsiRenderer ansi;
+    private final int col;
     private String invalid = "\nInvalid Command: ";
-    private String sfme = "\nSeed File Malformed Error: ";
 
     /**
      * Constructor method that creates a new {@code MinesweeperGame}.
-     * Calls {@code parseSeedFile} to assign values to {@code rows}, {@code col},
-     * and {@code numberOfMines}.
+     * Reads the seed file to build the mine field the game is played on.
      *
      * @param stdIn    Scanner with standard input, given by the driver class.
      * @param seedPath String that provides a path to a seed file.
-     * @throws FileNotFoundException if
+     * @throws FileNotFoundException if the seed file is not found
      */
     public MinesweeperGame(Scanner stdIn, String seedPath) throws FileNotFoundException {
+        this(stdIn, seedPath, false);
+    } // constructor
+
+    /**
+     * Constructor method that creates a new {@code MinesweeperGame}, which is in
+     * large board mode if {@code largeBoard} is {@code true}.
+     * Reads the seed file to build the mine field the game is played on. The program
+     * exits if the seed file is malformed.
+     *
+     * @param stdIn      Scanner with standard input, given by the driver class.
+     * @param seedPath   String that provides a path to a seed file.
+     * @param largeBoard whether the mine field can have up to {@code LARGE_MAX_SIZE}
+     *                   rows and columns instead of {@code MAX_SIZE}
+     * @throws FileNotFoundException if the seed file is not found
+     */
+    public MinesweeperGame(Scanner stdIn, String seedPath, boolean largeBoard)
+        throws FileNotFoundException {
+        this(stdIn, System.out, System.err, loadEngine(seedPath, largeBoard));
+    } // constructor
+
+    /**
+     * Constructor method that creates a new {@code MinesweeperGame} that plays
+     * {@code engine}, reading commands from {@code stdIn} and printing to {@code out},
+     * with error messages printed to {@code err}. The program never exits; {@code play}
+     * returns when the game is over.
+     *
+     * @param stdIn  Scanner with the player's commands
+     * @param out    where the mine field and other messages are printed
+     * @param err    where error messages are printed
+     * @param engine the game to play
+     */
+    public MinesweeperGame(Scanner stdIn, PrintStream out, PrintStream err,
+        MinesweeperEngine engine) {
         this.stdIn = stdIn;
-        seedFile = new File(seedPath);
-        seedScan = new Scanner(seedFile);
-        parseSeedFile(seedScan);
-        isMine = new boolean[rows][col];
-        markers = new String[rows][col];
-        assignMines();
+        this.out = out;
+        this.err = err;
+        this.engine = engine;
+        renderer = new FieldRenderer(engine.getMineField());
+        col = engine.getMineField().getCols();
     } // constructor
 
     /**
-     * Reads the {@code seedFile} and parses values from the file to assign them to the
-     * {@code seedNumbers} ArrayList, assuming the file contains values. Values from
-     * {@code seedNumbers} are then assigned to {@code rows}, {@code col},
-     * and {@code numberOfMines}, assuming {@code seedNumbers} contains the
-     * appropriate number of values.
-     * The program exits if the number of rows and/or columns is not
-     * between 5 and 10, or if the number of mines is greater than or equal to
-     * the number of squares.
+     * Reads the seed file at {@code seedPath} and creates a {@code MinesweeperEngine}
+     * that plays on the mine field it describes. The program exits if the seed file
+     * is malformed.
      *
-     * @param seedScan the scanner object containing the {@code seedFile}
-     * @throws IndexOutOfBoundsException if {@code seedNumbers} does not contain the appropriate
-     * number of values
+     * @param seedPath   String that provides a path to a seed file.
+     * @param largeBoard whether the mine field can have up to {@code LARGE_MAX_SIZE}
+     *                   rows and columns instead of {@code MAX_SIZE}
+     * @return the engine
+     * @throws FileNotFoundException if the seed file is not found
      */
-    public void parseSeedFile(Scanner seedScan) {
-        while (seedScan.hasNextInt()) {
-            seedNumbers.add(seedScan.nextInt());
-        } // while
-        if (seedNumbers.size() % 2 == 0) {
-            System.err.println(sfme + "seed file missing some information");
-            System.exit(3);
-        } else if (seedNumbers.size() == 3) {
-            System.err.println(sfme + "mine locations expected but not given");
-            System.exit(3);
-        }
+    private static MinesweeperEngine loadEngine(String seedPath, boolean largeBoard)
+        throws FileNotFoundException {
+        SeedFile seedFile = null;
         try {
-            rows = seedNumbers.get(0);
-            if (rows < 5) {
-                System.err.print(sfme);
-                System.err.println("number of rows must be greater than 5");
-                System.exit(3);
-            } else if (rows > 10) {
-                System.err.print(sfme);
-                System.err.println("number of rows cannot be greater than 10");
-                System.exit(3);
-            }
-            col = seedNumbers.get(1);
-            if (col < 5) {
-                System.err.print(sfme);
-                System.err.println("number of columns must be greater than 5");
-                System.exit(3);
-            } else if (col > 10) {
-                System.err.print(sfme);
-                System.err.println("number of columns cannot be greater than 10");
-                System.exit(3);
-            }
-            numberOfMines = seedNumbers.get(2);
-            if (numberOfMines < 1) {
-                System.err.print(sfme);
-                System.err.println("number of mines must be greater than 1");
-                System.exit(3);
-            } else if (numberOfMines >= (rows * col)) {
-                System.err.print(sfme);
-                System.err.print("number of mines cannot be greater than or equal to ");
-                System.err.println("the number of squares");
-                System.exit(3);
-            }
-        } catch (IndexOutOfBoundsException seedMalformed) {
-            System.out.println(sfme + "number of columns and/or mines expected but not given");
+            seedFile = new SeedFile(seedPath, largeBoard ? LARGE_MAX_SIZE : MAX_SIZE);
+        } catch (MalformedSeedException mse) {
+            printMalformed(mse, System.out, System.err);
             System.exit(3);
         }
-    } // readSeedFile
+        return new MinesweeperEngine(seedFile);
+    } // loadEngine
 
     /**
-     * Reads values from {@code seedNumbers} (after the values assigned to {@code rows},
-     * {@code col}, and {@code numberOfMines}) and sets the index (given by the values)
-     * of {@code isMine} to {@code true}. Initializes {@code markers} with spaces (" ").
-     * The program exits if not enough mine locations are given
-     * by {@code seedNumbers}.
+     * Prints the "Seed File Malformed Error" for {@code mse} on the stream the game has
+     * always printed it on, followed by where in the seed file it was found, if known, on
+     * standard error. A seed file that gives only the number of rows is reported on
+     * standard output, and every other malformed seed file on standard error.
      *
-     * @throws ArrayIndexOutOfBoundsException if the mine location given by {@code seedNumbers}
-     * is not in range of the mine field.
+     * @param mse the error
+     * @param out standard output
+     * @param err standard error
      */
-    public void assignMines() {
-        int counter = 0;
-        for (int i = 3; i < seedNumbers.size() - 1; i += 2) {
-            int mineRow = seedNumbers.get(i);
-            int mineColumn = seedNumbers.get(i + 1);
+    static void printMalformed(MalformedSeedException mse, PrintStream out, PrintStream err) {
+        PrintStream stream = mse.getMessage().equals(SeedFile.COLUMNS_EXPECTED) ? out : err;
+        stream.println("\nSeed File Malformed Error: " + mse.getMessage());
+        if (!mse.getLocation().isEmpty()) {
+            err.println("at " + mse.getLocation());
+        }
+    } // printMalformed
+
+    /**
+     * Turns cascade reveal mode on or off. In cascade reveal mode, revealing a square
+     * with no surrounding mines also reveals every square connected to it through
+     * squares with no surrounding mines, along with their numbered border, all in
+     * one round.
+     *
+     * @param cascade whether to play in cascade reveal mode
+     */
+    public void setCascade(boolean cascade) {
+        engine.setCascade(cascade);
+    } // setCascade
+
+    /**
+     * Records the game's metrics in {@code metrics}, registering them with JMX, or stops
+     * recording them if {@code metrics} is null. If other metrics are already registered,
+     * the metrics are still recorded and the error is printed to the error stream.
+     *
+     * @param metrics where the metrics are recorded, or null
+     */
+    public void setMetrics(GameMetrics metrics) {
+        engine.setMetrics(metrics);
+        if (metrics != null) {
             try {
-                isMine[mineRow][mineColumn] = true;
-                counter++;
-            } catch (ArrayIndexOutOfBoundsException aie) {
-                System.err.print(sfme);
-                System.err.println(aie.getMessage());
-                System.exit(3);
-            }
-        } // for
-        if (counter < numberOfMines) {
-            System.err.println(sfme + "not enough mine locations given");
-            System.exit(3);
-        } else if (counter > numberOfMines) {
-            System.err.println(sfme + "too many mine locations given");
-            System.exit(3);
+                metrics.registerMBeans();
+            } catch (JMException jme) {
+                err.println("metrics not registered with JMX: " + jme.getMessage());
+            } // try-catch
+        }
+    } // setMetrics
+
+    /**
+     * Adds the game to {@code leaderboard} when it is won, lost, or quit, or stops adding
+     * it if {@code leaderboard} is null.
+     *
+     * @param leaderboard where the finished game is added, or null
+     */
+    public void setLeaderboard(Leaderboard leaderboard) {
+        engine.setLeaderboard(leaderboard);
+    } // setLeaderboard
+
+    /**
+     * Turns ANSI terminal mode on or off. In ANSI terminal mode, the screen is cleared
+     * before the welcome message, the mine field stays in one place below it, and after
+     * every command only the squares that changed are drawn again, by an
+     * {@code AnsiRenderer}. Otherwise the whole mine field is printed every time.
+     *
+     * @param ansiMode whether to play in ANSI terminal mode
+     */
+    public void setAnsi(boolean ansiMode) {
+        if (ansi != null) {
+            engine.removeChangeListener(ansi);
+            ansi = null;
         }
-        for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < col; j++) {
-                markers[i][j] = " ";
-            } // for-inner
-        } // for-outer
-    } // assignMines
+        if (ansiMode) {
+            ansi = new AnsiRenderer(engine.getMineField());
+            engine.addChangeListener(ansi);
+        }
+    } // setAnsi
 
     /**
      * Called by the {@code MinesweeperDriver} class, which in turn calls
      * {@code printWelcome} to print out the welcome message. Calls {@code promptUser}
-     * repeatedly until program exits from an excpetion, the game is won, or the game is lost.
+     * repeatedly until the game is won, lost, or quit. If the welcome.txt file is not
+     * found, the error is printed and the game is not played; the program is not exited,
+     * so a server can go on with its other games, and {@code MinesweeperDriver} exits
+     * with status 1 when this returns false.
      *
-     * @throws FileNotFoundException if the welcome.txt file is not found
+     * @return true if the game was played, or false if the welcome.txt file is not found
+     * @throws FileNotFoundException if the gamewon.txt or gameover.txt file is not found
      */
-    public void play() throws FileNotFoundException {
+    public boolean play() throws FileNotFoundException {
         try {
             printWelcome();
         } catch (FileNotFoundException fnfe) {
-            System.err.println("resources/welcome.txt: file not found\n");
-            System.exit(1);
+            err.println("resources/welcome.txt: file not found\n");
+            return false;
         }
-        boolean running = true;
-        while (running == true) {
+        while (!engine.isOver()) {
             promptUser();
         } // while
+        return true;
     } // play
 
     /**
-     * Creates a {@code File} object from the welcome.txt file, which contains
-     * the welcome message. A {@code Scanner} object prints the welcome messgae from
-     * the {@code File}. Calls {@code printMineField} to first print the mine field.
+     * Prints the welcome message from the welcome.txt banner, which is read once and
+     * kept by {@code Banner}. Calls {@code printMineField} to first print the mine field.
      *
      * @throws FileNotFoundException which is propogated to {@code play} if the
      * welcome.txt file is not found
      */
     public void printWelcome() throws FileNotFoundException {
-        File welcome = new File("resources/welcome.txt");
-        Scanner welcomePrint = new Scanner(welcome);
-        while (welcomePrint.hasNext()) {
-            System.out.println(welcomePrint.nextLine());
-        } // while
+        Banner welcome = Banner.get("welcome.txt");
+        if (ansi != null) {
+            out.print(AnsiRenderer.CLEAR_SCREEN);
+            ansi.setTop(welcome.getLineCount() + 1);
+        }
+        out.print(welcome.getText());
         printMineField("print");
     } // printWelcome
 
     /**
      * Called by the {@code play} method, prompts the user to make a play.
-     * Invalid command error given if the user plays anything (including an empty play) other than
-     * "r/reveal", "m/mark", "g/guess", "h/help", "q/quit", or "nofog", and the
-     * mine field is then printed with a new call to {@code promptUser}.
-     * If "r/reveal", "m/mark", or "g/guess" is played, the appropriate method is called
-     * with a Scanner containing the row and col number of the play passed into it.
-     * If "h/help" or "q/quit" is played, the appropriate method is called with no parameters
-     * passed into it.
-
+     * The command is carried out by {@code engine}, and what happened is printed:
+     * an invalid command error if the command was not valid, the list of commands for
+     * "h/help", the "cheat" mine field for "nofog", and the mine field after any other
+     * command that does not end the game. If the game is won, lost, or quit, the
+     * appropriate message is printed and the game is over.
+     *
      * @throws FileNotFoundException if the gamewon.txt or gameover.txt file is not found
      */
     public void promptUser() throws FileNotFoundException {
-        System.out.print("minesweeper-alpha: ");
+        out.print("minesweeper-alpha: ");
+        out.flush();
+        err.flush();
         String fullCommand = stdIn.nextLine();
-        Scanner commandScan = new Scanner(fullCommand);
-        String command = "";
-        if (commandScan.hasNext()) {
-            command = commandScan.next();
+        if (ansi != null) {
+            ansi.clearBelow(out);
         }
-        if (command.equals("r") || command.equals("reveal")) {
-            reveal(commandScan);
-        } else if (command.equals("m") || command.equals("mark")) {
-            mark(commandScan);
-        } else if (command.equals("g") || command.equals("guess")) {
-            guess(commandScan);
-        } else if (command.equals("h") || command.equals("help")) {
+        MoveResult result = engine.execute(fullCommand);
+        MoveResult.Outcome outcome = result.getOutcome();
+        if (outcome == MoveResult.Outcome.INVALID) {
+            invalidStream(fullCommand, result).println(invalid + result.getMessage());
+            printMineField("print");
+        } else if (outcome == MoveResult.Outcome.HELP) {
             help();
-        } else if (command.equals("q") || command.equals("quit")) {
+        } else if (outcome == MoveResult.Outcome.NOFOG) {
+            printMineField("nofog");
+        } else if (outcome == MoveResult.Outcome.QUIT) {
             quit();
-        } else if (command.equals("nofog")) {
-            printMineField(command);
+        } else if (outcome == MoveResult.Outcome.LOST) {
+            printLoss();
         } else {
-            System.err.println(invalid + "command not recognized!");
-            printMineField("print");
-        } // if
-    } // promptUser
-
-    /**
-     * Called by {@code promptUser} if "r/reveal" is played. Checks if the
-     * index played (given by a row and column number) contains a mine. If the
-     * index of {@code isMine} is {@code true}, a mine has been revealed, the player loses,
-     * and the game exits.
-     * If the index is {@code false}, then {@code getNumAdjMines} is called to
-     * determine how many mines surround that index. The number returned by {@code getNumAdjMines}
-     * is printed in the mine field and the number of rounds increases by one.
-     * Invalid command error given if the player does not give a row and/or column number,
-     * or if the row and/or column is out of bounds, and the number of rounds does not increase.
-     * Checks to see if the player has won (if {@code isWon} returns {@code true}) and if so,
-     * player's score is calculated, the win message is displayed, and the game exits. If not,
-     * the mine field is printed and the game moves on.
-     *
-     * @param commandScan the scanner containing the row and column number given by the player.
-     * @throws ArrayIndexOutOfBoundsException if the row and/or column number given
-     * is not in bounds
-     * @throws FileNotFoundException if the gamewon.txt or gameover.txt file is not found
-     */
-    public void reveal(Scanner commandScan) throws FileNotFoundException {
-        int row = 0;
-        int column = 0;
-        int adjacentMines = 0;
-        String adjMines = null;
-        if (commandScan.hasNextInt()) {
-            row = commandScan.nextInt();
-            if (commandScan.hasNextInt()) {
-                column = commandScan.nextInt();
-                try {
-                    if (isMine[row][column] == true) {
-                        printLoss();
-                    } else if (isMine[row][column] == false) {
-                        if ("012345678F".contains(markers[row][column])) {
-                            System.out.println("\nYou have already played this square!");
-                        }
-                        adjacentMines = getNumAdjMines(row, column);
-                        adjMines = Integer.toString(adjacentMines);
-                        markers[row][column] = adjMines;
-                        rounds++;
-                    } // if
-                } catch (ArrayIndexOutOfBoundsException aie) {
-                    System.err.println(invalid + aie.getMessage());
-                } // try-catch
-            } else {
-                System.out.println(invalid + "column number expected but not given");
-            } // if
-        } else {
-            System.out.println(invalid + "row and column number expected but not given");
-        } // if
-        if (isWon() == true) {
-            score = 100.0 * rows * col / rounds;
-            printWin();
-            System.exit(0);
-        } else {
-            printMineField("print");
-        } // if
-    } // Reveal
-
-    /**
-     * Called by {@code reveal} if the index given by the player does not contain a mine.
-     * Nested loops used to determine if the squares around a given index contain any mines.
-     * The number of mines around a square is returned.
-     *
-     * @param row the row number given by the player
-     * @param column the column number given by the player
-     * @return the number of mines around a given index
-     * @throws ArrayIndexOutOfBondsException if the index (row and column) given by the player
-     * is on a corner or edge of the field, in which case the loop simply moves past looking in
-     * squares around an index that don't exist.
-     */
-    private int getNumAdjMines(int row, int column) {
-        int adjMines = 0;
-        int notInBounds = 0;
-        for (int i = row - 1; i <= row + 1; i++) {
-            for (int j = column - 1; j <= column + 1; j++) {
-                try {
-                    if (isMine[i][j] == true) {
-                        adjMines++;
-                    }
-                } catch (ArrayIndexOutOfBoundsException aie) {
-                  // if index is not in bounds, loop will move on withouth causing program to crash;
-                    notInBounds++;
-                }
+            if (result.getMessage() != null) {
+                out.println("\n" + result.getMessage());
             }
-        }
-        return adjMines;
-    } // getNumAdjMines
-
-    /**
-     * Called by {@code promptUser} if "m/mark" is played. Adds a flag ("F") to the index of
-     * {@code markers} given by the player and is printed to the mine field. The number of rounds
-     * increases by one.
-     * Inavlid command error given if the index given is
-     * out of bounds, or if a row and/or column number is not given, and the number of rounds
-     * does not change.
-     * Checks to see if the player has won (if {@code isWon} returns {@code true}) and if so,
-     * player's score is calculated, the win message is displayed, and the game exits. If not,
-     * the mine field is printed and the game moves on.
-     *
-     * @param commandScan the scanner containing the row and column number given by the player.
-     * @throws ArrayIndexOutOfBoundsException if the row and/or column
-     * number given is out of bounds
-     * @throws FileNotFoundException if the gamewon.txt or gameover.txt file is not found.
-     */
-    public void mark(Scanner commandScan) throws FileNotFoundException {
-        int row = 0;
-        int column = 0;
-        if (commandScan.hasNextInt()) {
-            row = commandScan.nextInt();
-            if (commandScan.hasNextInt()) {
-                column = commandScan.nextInt();
-                try {
-                    if ("012345678F".contains(markers[row][column])) {
-                        System.out.println("\nYou have alread played this square!");
-                    }
-                    markers[row][column] = "F"; // try-catch
-                    rounds++;
-                } catch (ArrayIndexOutOfBoundsException aie) {
-                    System.err.println(invalid + aie.getMessage());
-                }
+            if (outcome == MoveResult.Outcome.WON) {
+                printWin();
             } else {
-                System.err.println(invalid + "column number expected but not given");
-            }
-        } else {
-            System.err.println(invalid + "row and column number expected but not given");
-        } // if
-        if (isWon() == true) {
-            score = 100.0 * rows * col / rounds;
-            printWin();
-            System.exit(0);
-        } else {
-            printMineField("print");
+                printMineField("print");
+            } // if
         } // if
-    } // Mark
+    } // promptUser
 
     /**
-     * Called by {@code promptUser} if "g/guess" is played. Adds a "?" to the index of
-     * {@code markers} given by the player and is printed to the mine field, and the number
-     * of rounds played increases by one.
-     * Invalid command error given if the index given is out of bounds, or if a row and/or column
-     * number is not given, and the number of rounds does not increase.
+     * Returns the stream the invalid command error for {@code result} is printed on: the
+     * errors for an "r/reveal" command without a row or column number go to standard
+     * output, as the game has always printed them, and every other one to standard error.
      *
-     * @param commandScan the scanner containing the row and column
-     * number given by the player
-     * @throws ArrayIndexOutOfBoundsException if the row and/or column number given
-     * is out of bounds
+     * @param fullCommand the command given by the player
+     * @param result      the result of the invalid command
+     * @return {@code out} or {@code err}
      */
-    public void guess(Scanner commandScan) {
-        int row = 0;
-        int column = 0;
-        if (commandScan.hasNextInt()) {
-            row = commandScan.nextInt();
-            if (commandScan.hasNextInt()) {
-                column = commandScan.nextInt();
-                try {
-                    markers[row][column] = "?"; // try-catch
-                    rounds++;
-                } catch (ArrayIndexOutOfBoundsException aie) {
-                    System.err.println(invalid + aie.getMessage());
-                }
-            } else {
-                System.err.println(invalid + "column number expected but not given");
+    private PrintStream invalidStream(String fullCommand, MoveResult result) {
+        String message = result.getMessage();
+        if (message.equals(MinesweeperEngine.ROW_EXPECTED)
+            || message.equals(MinesweeperEngine.COLUMN_EXPECTED)) {
+            String command = fullCommand.strip().split("\\p{javaWhitespace}+", 2)[0];
+            if (command.equals("r") || command.equals("reveal")) {
+                return out;
             }
-        } else {
-            System.err.println(invalid + "row and column numbers expected but not given");
         }
-        printMineField("print");
-    } // Guess
+        return err;
+    } // invalidStream
 
     /**
      * Called by {@code promptUser} if "h/help" is played. Displays the list of valid commands
-     * the player can give (not including nofog). The number of rounds increases by one
-     * and the mine field is printed.
+     * the player can give (not including nofog) and the mine field is printed.
      */
     public void help() {
-        System.out.println("\nCommands Available...");
-        System.out.println(" - Reveal: r/reveal row col");
-        System.out.println(" - Mark: m/mark     row col");
-        System.out.println(" - Guess: g/guess   row col");
-        System.out.println(" - Help: h/help");
-        System.out.println(" - Quit: q/quit");
-        rounds++;
+        out.println("\nCommands Available...");
+        out.println(" - Reveal: r/reveal row col");
+        out.println(" - Mark: m/mark     row col");
+        out.println(" - Guess: g/guess   row col");
+        out.println(" - Help: h/help");
+        out.println(" - Quit: q/quit");
         printMineField("print");
     } // printHelp
 
     /**
-     * Called by {@code promptUser} if "q/quit" is played. Displays a quit message and
-     * the game exits.
+     * Called by {@code promptUser} if "q/quit" is played. Displays a quit message.
      */
     public void quit() {
-        System.out.println("\nQuitting the game...");
-        System.out.println("Bye!");
-        System.exit(0);
+        out.println("\nQuitting the game...");
+        out.println("Bye!");
     }
 
     /**
      * Called by {@code promptUser} if "nofog" is played. Prints a "cheat" version of
      * the mine field that indicates where the mines are located.
+     * At most {@code FieldRenderer.VIEW_SIZE} rows and columns are printed, centered on the
+     * last square played, so printing does not depend on the size of the mine field. The
+     * whole mine field is drawn by {@code renderer} and printed with one write, or in ANSI
+     * terminal mode only the squares that changed are drawn, which is timed if the engine
+     * records metrics.
      */
     public void printMineField(String arg) {
-        rounds++;
-        System.out.println("\n Rounds Completed: " + rounds + "\n");
-        for (int i = 0; i < rows; i++) {
-            System.out.print(" " + i + " |");
-            for (int j = 0; j < col; j++) {
-                if (arg.equals("nofog") && isMine[i][j] == true) {
-                    System.out.print("<" + markers[i][j] + ">|");
-                } else {
-                    System.out.print(" " + markers[i][j] + " |");
-                } // if
-            } // for-inner
-            System.out.println();
-        } // for-outer
-        System.out.print("     ");
-        for (int k = 0; k < col - 1; k++) {
-            System.out.print(k + "   ");
-        }
-        System.out.println(col -  1 + "\n");
-    } // printNoFog
-
-    /**
-     * Called each time {@code reveal} or {@code mark} is called to determine
-     * if the player has won. If all mine indexes have been marked with a flag
-     * ("F") AND all non-mine locations have been revealed, the player wins,
-     * and the method returns true, otherwise it returns false.
-     *
-     * @return true if mines have been marked with a flag and non-mine
-     * locations have been successfully revealed, otherwise returns false
-     */
-    public boolean isWon() {
-        int numReveals = 0;
-        int numFlags = 0;
-        for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < col; j++) {
-                if ("012345678".contains(markers[i][j])) {
-                    numReveals++;
-                }
-                if (markers[i][j] == "F") {
-                    numFlags++;
-                }
-            }
-        }
-        int nonMines = (rows * col) - numberOfMines;
-        if (numReveals == nonMines && numFlags == numberOfMines) {
-            return true;
+        GameMetrics metrics = engine.getMetrics();
+        long start = metrics == null ? 0 : System.nanoTime();
+        int focus = engine.getLastSquare();
+        boolean noFog = arg.equals("nofog");
+        if (ansi != null) {
+            ansi.print(out, engine.getRounds(), noFog, focus / col, focus % col);
         } else {
-            return false;
+            renderer.print(out, engine.getRounds(), noFog, focus / col, focus % col);
+        } // if
+        if (metrics != null) {
+            metrics.recordPrintMineField(System.nanoTime() - start);
         }
-    } // isWon
+    } // printNoFog
 
     /**
-     * Called by {@code reveal} or {@code mark} if {@code isWon} returns
-     * {@code true}. Creates a {@code File} from the gamewon.txt file, which
-     * passes to a {@code Scanner} to be printed out. Prints out the player's score
-     * on the last line, then the game exits.
+     * Called by {@code promptUser} if the game is won. Prints the gamewon.txt banner,
+     * which is read once and kept by {@code Banner}, with the player's score at the end of
+     * line 19, all with one write.
      *
      * @throws FileNotFoundException if the gamewon.txt file is not found
      */
     public void printWin() throws FileNotFoundException {
-        System.out.println();
-        File win = new File("resources/gamewon.txt");
-        Scanner winPrint = new Scanner(win);
-        int counter = 0;
-        while (winPrint.hasNext()) {
-            counter++;
-            if (counter != 19) {
-                System.out.println(winPrint.nextLine());
-            } else {
-                System.out.print(winPrint.nextLine());
-                System.out.printf(" %.2f\n", score);
-            }
-        }
-        System.out.println();
-        System.exit(0);
+        String score = String.format(" %.2f\n", engine.getScore());
+        out.print(NEWLINE + Banner.get("gamewon.txt").getText(19, score) + NEWLINE);
     } // printWin
 
     /**
-     * Called by {@code reveal} if the index given by the player
-     * contains a mine. Creates a {@code File} from the gameover.txt file,
-     * which passes to a {@code Scanner} to be printed out. Prints out
-     * the "game over" message then the game exits.
+     * Called by {@code promptUser} if the square revealed by the player
+     * contains a mine. Prints the gameover.txt banner, which is read once and kept by
+     * {@code Banner}, with one write.
      *
      * @throws FileNotFoundException if the gameover.txt file is not found
      */
     public void printLoss() throws FileNotFoundException {
-        System.out.println();
-        File loss = new File("resources/gameover.txt");
-        Scanner lossPrint = new Scanner(loss);
-        while (lossPrint.hasNext()) {
-            System.out.println(lossPrint.nextLine());
-        } // while
-        System.out.println();
-        System.exit(0);
+        out.print(NEWLINE + Banner.get("gameover.txt").getText() + NEWLINE);
     } // printWelcome
 
 } // MinesweeperGame
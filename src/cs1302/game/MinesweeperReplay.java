@@ -0,0 +1,253 @@
+package cs1302.game;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.io.BufferedOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Plays a game again from its seed file and the {@code MoveJournal} written while it was
+ * played, to rebuild a game after a crash or to check how a score was reached. The game can
+ * be rebuilt as it was after any number of moves.
+ *
+ * <p>
+ * Every {@code checkpointMoves} moves, a {@code GameSnapshot} of the game is kept in memory
+ * as it is replayed. Going to a move starts from the last snapshot at or before it, so
+ * going back and forth through a long game only replays the moves since the nearest
+ * snapshot. The snapshots of one replay never take more than {@code CHECKPOINT_BYTES}
+ * bytes together: when a snapshot of every {@code checkpointMoves} moves of the journal
+ * would take more, snapshots are kept further apart, and a mine field whose snapshot alone
+ * is larger (a 10000 x 10000 snapshot is 50 MB) only keeps the snapshot before the first
+ * move. Records are read straight out of one buffer holding the whole journal, and the
+ * only objects created for each move are its {@code MoveResult}.
+ */
+public class MinesweeperReplay {
+
+    /** Number of moves between snapshots unless another number is given. */
+    public static final int CHECKPOINT_MOVES = 1024;
+    /** Largest number of bytes the snapshots of one replay take together. */
+    public static final long CHECKPOINT_BYTES = 64L << 20;
+
+    private final ByteBuffer journal;
+    private final long moves;
+    private final int checkpointMoves;
+    private final List<ByteBuffer> checkpoints = new ArrayList<ByteBuffer>();
+
+    /**
+     * Constructor method that creates a new {@code MinesweeperReplay}, with a snapshot
+     * every {@code CHECKPOINT_MOVES} moves.
+     *
+     * @param seedPath    the seed file the game was played on
+     * @param journalPath the journal of the game
+     * @param maxSize     largest number of rows or columns allowed in the mine field
+     * @throws IOException if a file cannot be read, or the journal is not a journal of a
+     * game played on the seed file
+     * @throws MalformedSeedException if the seed file is malformed
+     */
+    public MinesweeperReplay(String seedPath, Path journalPath, int maxSize)
+        throws IOException, MalformedSeedException {
+        this(seedPath, journalPath, maxSize, CHECKPOINT_MOVES);
+    } // constructor
+
+    /**
+     * Constructor method that creates a new {@code MinesweeperReplay}, with a snapshot
+     * every {@code checkpointMoves} moves, or further apart if those snapshots would take
+     * more than {@code CHECKPOINT_BYTES} bytes. The seed file and the journal are read,
+     * and nothing is replayed until {@code replayTo} is called.
+     *
+     * @param seedPath        the seed file the game was played on
+     * @param journalPath     the journal of the game
+     * @param maxSize         largest number of rows or columns allowed in the mine field
+     * @param checkpointMoves least number of moves between snapshots
+     * @throws IOException if a file cannot be read, or the journal is not a journal of a
+     * game played on the seed file
+     * @throws MalformedSeedException if the seed file is malformed
+     * @throws IllegalArgumentException if {@code checkpointMoves} is less than 1
+     */
+    public MinesweeperReplay(String seedPath, Path journalPath, int maxSize,
+        int checkpointMoves) throws IOException, MalformedSeedException {
+        if (checkpointMoves < 1) {
+            throw new IllegalArgumentException("checkpoints must be at least 1 move apart");
+        }
+        MinesweeperEngine engine = new MinesweeperEngine(new SeedFile(seedPath, maxSize));
+        try (FileChannel channel = FileChannel.open(journalPath, StandardOpenOption.READ)) {
+            journal = MoveJournal.read(channel);
+        } // try
+        if (journal.limit() < MoveJournal.HEADER_BYTES
+            || journal.getInt(0) != MoveJournal.MAGIC) {
+            throw new IOException(journalPath + " is not a move journal");
+        } else if (journal.getShort(4) != MoveJournal.VERSION) {
+            throw new IOException("journal version " + journal.getShort(4) + " is not supported");
+        }
+        engine.setCascade((journal.getShort(6) & MoveJournal.CASCADE) != 0);
+        ByteBuffer header = ByteBuffer.allocate(MoveJournal.HEADER_BYTES);
+        MoveJournal.writeHeader(header, engine);
+        if (!journal.slice(0, MoveJournal.HEADER_BYTES).equals(header.flip())) {
+            throw new IOException(journalPath + " is not a journal of a game on " + seedPath);
+        }
+        moves = MoveJournal.wholeRecords(journal);
+        long most = Math.max(1, CHECKPOINT_BYTES / GameSnapshot.size(engine));
+        long apart = most == 1 ? moves + 1 : (moves + most - 2) / (most - 1);
+        this.checkpointMoves =
+            (int) Math.min(Integer.MAX_VALUE, Math.max(checkpointMoves, apart));
+        checkpoints.add(GameSnapshot.encode(engine));
+    } // constructor
+
+    /**
+     * Rebuilds the game from {@code seedPath} and every whole record of the journal at
+     * {@code journalPath}, without keeping any snapshots. This is the game as it was when
+     * the last group of the journal was written, and the game can go on by opening the
+     * journal again with {@code MoveJournal}. If there is no journal at {@code journalPath},
+     * or it is empty, the game is a new game read from {@code seedPath}.
+     *
+     * @param seedPath    the seed file the game was played on
+     * @param journalPath the journal of the game
+     * @param maxSize     largest number of rows or columns allowed in the mine field
+     * @return the game
+     * @throws IOException if a file cannot be read, or the journal is not a journal of a
+     * game played on the seed file
+     * @throws MalformedSeedException if the seed file is malformed
+     */
+    public static MinesweeperEngine recover(String seedPath, Path journalPath, int maxSize)
+        throws IOException, MalformedSeedException {
+        if (!Files.exists(journalPath) || Files.size(journalPath) == 0) {
+            return new MinesweeperEngine(new SeedFile(seedPath, maxSize));
+        }
+        MinesweeperReplay replay =
+            new MinesweeperReplay(seedPath, journalPath, maxSize, Integer.MAX_VALUE);
+        return replay.replayTo(replay.getMoves());
+    } // recover
+
+    /**
+     * Returns the number of moves in the journal that can be replayed.
+     *
+     * @return the number of moves
+     */
+    public long getMoves() {
+        return moves;
+    } // getMoves
+
+    /**
+     * Returns the number of moves between snapshots, which is {@code checkpointMoves}
+     * unless the snapshots would take more than {@code CHECKPOINT_BYTES} bytes.
+     *
+     * @return the number of moves
+     */
+    public int getCheckpointMoves() {
+        return checkpointMoves;
+    } // getCheckpointMoves
+
+    /**
+     * Returns a new game as it was after the first {@code move} moves of the journal,
+     * starting from the last snapshot at or before {@code move} and keeping a snapshot at
+     * every multiple of {@code checkpointMoves} that is passed for the first time.
+     *
+     * @param move the number of moves to replay, from 0 to {@code getMoves()}
+     * @return the game
+     * @throws IllegalArgumentException if {@code move} is out of range
+     */
+    public MinesweeperEngine replayTo(long move) {
+        if (move < 0 || move > moves) {
+            throw new IllegalArgumentException("move " + move + " is not between 0 and "
+                + moves);
+        }
+        int checkpoint = (int) Math.min(move / checkpointMoves, checkpoints.size() - 1);
+        MinesweeperEngine engine;
+        try {
+            engine = GameSnapshot.decode(checkpoints.get(checkpoint).duplicate());
+        } catch (IOException ioe) {
+            throw new IllegalStateException("checkpoint " + checkpoint + " cannot be read", ioe);
+        } // try-catch
+        long next = (long) checkpoint * checkpointMoves;
+        int at = (int) (MoveJournal.HEADER_BYTES + next * MoveJournal.RECORD_BYTES);
+        while (next < move) {
+            engine.replay(journal.get(at), journal.getInt(at + 1), journal.getInt(at + 5));
+            at += MoveJournal.RECORD_BYTES;
+            next++;
+            if (next % checkpointMoves == 0 && next / checkpointMoves == checkpoints.size()) {
+                checkpoints.add(GameSnapshot.encode(engine));
+            }
+        } // while
+        return engine;
+    } // replayTo
+
+    /**
+     * Replays a journal from the command line and prints the game as it was after the last
+     * move, or after MOVE moves if it is given, the same way {@code MinesweeperBatch} prints
+     * a finished batch. How long the replay took, and how many moves were replayed each
+     * second, is printed to standard error.
+     *
+     * @param args "[--large] [--checkpoint N] [--move MOVE] SEED_FILE_PATH JOURNAL"
+     */
+    public static void main(String[] args) {
+        boolean largeBoard = false;
+        int checkpointMoves = CHECKPOINT_MOVES;
+        long move = -1;
+        int argIndex = 0;
+        try {
+            for (; argIndex < args.length && args[argIndex].startsWith("--"); argIndex++) {
+                if (args[argIndex].equals("--large")) {
+                    largeBoard = true;
+                } else if (args[argIndex].equals("--checkpoint")) {
+                    checkpointMoves = Integer.parseInt(args[++argIndex]);
+                } else if (args[argIndex].equals("--move")) {
+                    move = Long.parseLong(args[++argIndex]);
+                } else {
+                    usage();
+                } // if
+            } // for
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            usage();
+        } // try-catch
+        if (argIndex != args.length - 2 || checkpointMoves < 1) {
+            usage();
+        }
+        PrintStream out = new PrintStream(
+            new BufferedOutputStream(System.out, 1 << 16), false, StandardCharsets.UTF_8);
+        try {
+            int maxSize = largeBoard ? MinesweeperGame.LARGE_MAX_SIZE : MinesweeperGame.MAX_SIZE;
+            MinesweeperReplay replay = new MinesweeperReplay(args[argIndex],
+                Paths.get(args[argIndex + 1]), maxSize, checkpointMoves);
+            if (move < 0 || move > replay.getMoves()) {
+                move = replay.getMoves();
+            }
+            long start = System.nanoTime();
+            MinesweeperEngine engine = replay.replayTo(move);
+            long elapsed = System.nanoTime() - start;
+            out.println("Moves Replayed: " + move);
+            MinesweeperBatch.printOutcome(out, engine);
+            System.err.printf("Replayed %d moves in %.3f ms (%.2f million moves/s)\n", move,
+                elapsed / 1e6, elapsed == 0 ? 0.0 : move * 1e3 / elapsed);
+        } catch (FileNotFoundException fnfe) {
+            System.err.println("\n" + fnfe.getMessage());
+            System.exit(2);
+        } catch (MalformedSeedException mse) {
+            MinesweeperGame.printMalformed(mse, System.out, System.err);
+            System.exit(3);
+        } catch (IOException ioe) {
+            System.err.println("\n" + ioe.getMessage());
+            System.exit(1);
+        } finally {
+            out.flush();
+        } // try-catch
+    } // main
+
+    /**
+     * Prints how to run a replay and exits.
+     */
+    private static void usage() {
+        System.err.print("\nUsage: MinesweeperReplay [--large] [--checkpoint N] [--move MOVE] ");
+        System.err.println("SEED_FILE_PATH JOURNAL");
+        System.exit(1);
+    } // usage
+
+} // MinesweeperReplay
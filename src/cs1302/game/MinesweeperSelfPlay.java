@@ -0,0 +1,454 @@
+package cs1302.game;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Plays any number of whole games of Minesweeper with no player, to measure how fast the
+ * game itself is. Every move is made through the {@code reveal}, {@code mark}, and
+ * {@code guess} methods of a {@code MinesweeperEngine}, the same methods
+ * {@code MinesweeperGame} and {@code MinesweeperServer} call for the commands typed by a
+ * player, so only reading commands and printing the mine field are left out. Games are
+ * played on {@code threads} threads at once, one game at a time on each thread.
+ *
+ * <p>
+ * Moves are picked by one of two policies. The {@code RANDOM} policy plays random squares
+ * that have not been played yet, mostly revealing them and sometimes marking or guessing,
+ * so most games are lost within a few moves. The {@code SOLVER} policy plays the way a
+ * careful player would, from {@code MinesweeperEngine.hint}: it flags the squares that
+ * certainly hold a mine, reveals the squares that are certainly safe, and otherwise
+ * reveals the square least likely to hold a mine, so many games are won. A game that is
+ * not over after four moves per square is quit.
+ *
+ * <p>
+ * Mine fields are either placed by a {@code MineGenerator}, a new one for every game, or
+ * taken in turn from the seed files in a directory, such as the tests directory. The
+ * random choices of every game are seeded with the number of the game, so the same
+ * arguments play the same games and count the same wins on any number of threads. Prints
+ * the number of games won, lost, and quit, games and moves per second, the time each move
+ * took (50th and 99th percentile, which include the two calls to {@code System.nanoTime}
+ * that time it), and the number of bytes allocated per game, if the Java runtime can
+ * count them.
+ */
+public class MinesweeperSelfPlay {
+
+    private final Policy policy;
+    private final boolean cascade;
+    private final int size;
+    private final int numberOfMines;
+    private final List<Board> layouts;
+    private final List<SeedFile> seedFiles;
+    private final Histogram latency = new Histogram();
+    private final AtomicLong nextGame = new AtomicLong();
+    private final AtomicLong moves = new AtomicLong();
+    private final AtomicLong allocated = new AtomicLong();
+    private final AtomicLong[] endings = new AtomicLong[3];
+
+    /**
+     * Constructor method that creates a new {@code MinesweeperSelfPlay} that plays on mine
+     * fields placed by a {@code MineGenerator}.
+     *
+     * @param policy        how moves are picked
+     * @param cascade       whether games are played in cascade reveal mode
+     * @param size          the number of rows and columns
+     * @param numberOfMines the number of mines
+     */
+    public MinesweeperSelfPlay(Policy policy, boolean cascade, int size, int numberOfMines) {
+        this(policy, cascade, size, numberOfMines, new ArrayList<SeedFile>());
+    } // constructor
+
+    /**
+     * Constructor method that creates a new {@code MinesweeperSelfPlay} that plays on the
+     * mine fields of {@code seedFiles} in turn, or on mine fields placed by a
+     * {@code MineGenerator} if there are none.
+     *
+     * @param policy        how moves are picked
+     * @param cascade       whether games are played in cascade reveal mode
+     * @param size          the number of rows and columns of generated mine fields
+     * @param numberOfMines the number of mines in generated mine fields
+     * @param seedFiles     the seed files to play, which are not changed
+     */
+    public MinesweeperSelfPlay(Policy policy, boolean cascade, int size, int numberOfMines,
+        List<SeedFile> seedFiles) {
+        this.policy = policy;
+        this.cascade = cascade;
+        this.size = size;
+        this.numberOfMines = numberOfMines;
+        this.seedFiles = seedFiles;
+        layouts = new ArrayList<Board>();
+        for (SeedFile seedFile : seedFiles) {
+            layouts.add(seedFile.getMineField());
+        } // for
+        for (int i = 0; i < endings.length; i++) {
+            endings[i] = new AtomicLong();
+        } // for
+    } // constructor
+
+    /**
+     * Runs games from the command line.
+     *
+     * @param args "[--policy random|solver] [--threads N] [--cascade] [--size N]
+     * [--density D] [--seeds DIRECTORY] GAMES"; by default the solver plays 10 x 10 mine
+     * fields with 15% mines on one thread per processor
+     * @throws InterruptedException if interrupted while waiting for the games
+     */
+    public static void main(String[] args) throws InterruptedException {
+        Policy policy = Policy.SOLVER;
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean cascade = false;
+        int size = 10;
+        double density = 0.15;
+        String seedDirectory = null;
+        long games = 0;
+        int argIndex = 0;
+        try {
+            for (; args[argIndex].startsWith("--"); argIndex++) {
+                if (args[argIndex].equals("--policy")) {
+                    policy = Policy.valueOf(args[++argIndex].toUpperCase());
+                } else if (args[argIndex].equals("--threads")) {
+                    threads = Integer.parseInt(args[++argIndex]);
+                } else if (args[argIndex].equals("--cascade")) {
+                    cascade = true;
+                } else if (args[argIndex].equals("--size")) {
+                    size = Integer.parseInt(args[++argIndex]);
+                } else if (args[argIndex].equals("--density")) {
+                    density = Double.parseDouble(args[++argIndex]);
+                } else if (args[argIndex].equals("--seeds")) {
+                    seedDirectory = args[++argIndex];
+                } else {
+                    usage();
+                } // if
+            } // for
+            games = Long.parseLong(args[argIndex]);
+        } catch (ArrayIndexOutOfBoundsException | IllegalArgumentException e) {
+            usage();
+        } // try-catch
+        if (argIndex != args.length - 1 || threads < 1 || size < 2 || density <= 0
+            || density >= 1) {
+            usage();
+        }
+        List<SeedFile> seedFiles = new ArrayList<SeedFile>();
+        if (seedDirectory != null) {
+            seedFiles = readSeedFiles(new File(seedDirectory));
+        }
+        int mines = (int) Math.max(1, size * size * density);
+        MinesweeperSelfPlay selfPlay =
+            new MinesweeperSelfPlay(policy, cascade, size, mines, seedFiles);
+        long elapsed = selfPlay.run(games, threads);
+        selfPlay.printReport(games, threads, elapsed);
+    } // main
+
+    /**
+     * Plays {@code games} games on {@code threads} threads.
+     *
+     * @param games   the number of games
+     * @param threads the number of threads
+     * @return how long playing every game took, in nanoseconds
+     * @throws InterruptedException if interrupted while waiting for the games
+     */
+    public long run(long games, int threads) throws InterruptedException {
+        Thread[] workers = new Thread[threads];
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            final int worker = t;
+            workers[t] = new Thread(() -> work(games, new Random()), "self-play-" + worker);
+            workers[t].start();
+        } // for
+        for (Thread thread : workers) {
+            thread.join();
+        } // for
+        return System.nanoTime() - start;
+    } // run
+
+    /**
+     * Prints the number of games won, lost, and quit, games and moves per second, the time
+     * each move took, and the number of bytes allocated per game.
+     *
+     * @param games   the number of games played
+     * @param threads the number of threads they were played on
+     * @param elapsed how long playing them took, in nanoseconds
+     */
+    public void printReport(long games, int threads, long elapsed) {
+        double seconds = elapsed / 1e9;
+        String boards = seedFiles.isEmpty()
+            ? size + " x " + size + ", " + numberOfMines + " mines"
+            : seedFiles.size() + " seed files";
+        System.out.printf("policy %s, %s%s, %d threads\n", policy, boards,
+            cascade ? ", cascade" : "", threads);
+        System.out.printf("games:        %d (won %d, lost %d, quit %d)\n", games,
+            endings[0].get(), endings[1].get(), endings[2].get());
+        System.out.printf("games/second: %.0f\n", games / seconds);
+        System.out.printf("moves:        %d (%.1f per game)\n", moves.get(),
+            (double) moves.get() / Math.max(games, 1));
+        System.out.printf("moves/second: %.0f\n", moves.get() / seconds);
+        System.out.printf("move latency: p50 %d ns, p99 %d ns, p999 %d ns, max %d ns\n",
+            latency.getP50(), latency.getP99(), latency.getP999(), latency.getMax());
+        if (allocated.get() >= 0) {
+            System.out.printf("allocated:    %.0f bytes/game\n",
+                (double) allocated.get() / Math.max(games, 1));
+        }
+    } // printReport
+
+    /**
+     * Plays games on the current thread until {@code games} games have been started by
+     * every thread together. Moves are timed into a histogram of this thread's own, and
+     * everything counted is added to the totals once, when the thread is done, so threads
+     * never slow each other down by counting.
+     *
+     * @param games  the number of games
+     * @param random where the moves of every game come from, seeded with the number of the
+     *               game so a game is played the same way on any thread
+     */
+    private void work(long games, Random random) {
+        Histogram moveNanos = new Histogram();
+        long[] ended = new long[endings.length];
+        long made = 0;
+        long bytes = 0;
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        com.sun.management.ThreadMXBean allocations = null;
+        if (threadBean instanceof com.sun.management.ThreadMXBean) {
+            allocations = (com.sun.management.ThreadMXBean) threadBean;
+        }
+        if (allocations == null || !allocations.isThreadAllocatedMemorySupported()) {
+            allocations = null;
+            bytes = -1;
+        }
+        long id = Thread.currentThread().getId();
+        int[] order = new int[0];
+        for (long game = nextGame.getAndIncrement(); game < games;
+            game = nextGame.getAndIncrement()) {
+            long before = allocations == null ? 0 : allocations.getThreadAllocatedBytes(id);
+            MinesweeperEngine engine = newGame(game);
+            int squares = engine.getMineField().getRows() * engine.getMineField().getCols();
+            if (order.length != squares) {
+                order = new int[squares];
+            }
+            random.setSeed(game);
+            shuffle(order, random);
+            made += play(engine, order, random, moveNanos);
+            ended[ending(engine)]++;
+            if (allocations != null) {
+                bytes += allocations.getThreadAllocatedBytes(id) - before;
+            }
+        } // for
+        latency.add(moveNanos);
+        moves.addAndGet(made);
+        allocated.accumulateAndGet(bytes, (a, b) -> a < 0 || b < 0 ? -1 : a + b);
+        for (int i = 0; i < ended.length; i++) {
+            endings[i].addAndGet(ended[i]);
+        } // for
+    } // work
+
+    /**
+     * Returns a new game on the next mine field: a copy of the next seed file in turn, or
+     * a mine field whose mines are placed from seed {@code game} on the first reveal. A
+     * seed file that gives a random seed gets a new {@code MineGenerator} with that seed
+     * for every game, since a generator changes as it places mines and cannot be shared
+     * by games played at once.
+     *
+     * @param game the number of the game
+     * @return the game
+     */
+    private MinesweeperEngine newGame(long game) {
+        MinesweeperEngine engine;
+        if (seedFiles.isEmpty()) {
+            engine = new MinesweeperEngine(new BitBoard(size, size), numberOfMines,
+                new MineGenerator(size, size, numberOfMines, game));
+        } else {
+            int i = (int) (game % seedFiles.size());
+            SeedFile seedFile = seedFiles.get(i);
+            Board layout = layouts.get(i);
+            Board mineField = new BitBoard(layout.getRows(), layout.getCols());
+            MineGenerator generator = seedFile.getGenerator();
+            if (generator != null) {
+                generator = new MineGenerator(layout.getRows(), layout.getCols(),
+                    seedFile.getNumberOfMines(), generator.getSeed());
+            } else {
+                for (int r = 0; r < layout.getRows(); r++) {
+                    for (int c = 0; c < layout.getCols(); c++) {
+                        if (layout.isMine(r, c)) {
+                            mineField.placeMine(r, c);
+                        }
+                    } // for-inner
+                } // for-outer
+            }
+            engine = new MinesweeperEngine(mineField, seedFile.getNumberOfMines(), generator);
+        } // if
+        engine.setCascade(cascade);
+        return engine;
+    } // newGame
+
+    /**
+     * Plays {@code engine} until the game is over, recording how long every move took.
+     *
+     * @param engine    the game
+     * @param order     every square of the mine field, in random order
+     * @param random    where the moves of the {@code RANDOM} policy come from
+     * @param moveNanos where the time of each move is recorded, in nanoseconds
+     * @return the number of moves made
+     */
+    private int play(MinesweeperEngine engine, int[] order, Random random,
+        Histogram moveNanos) {
+        Board mineField = engine.getMineField();
+        int cols = mineField.getCols();
+        int limit = 4 * order.length;
+        int next = 0;
+        int made = 0;
+        while (!engine.isOver() && made < limit) {
+            int square = -1;
+            byte command = MoveJournal.REVEAL;
+            Hint hint = null;
+            if (policy == Policy.SOLVER) {
+                hint = engine.hint();
+                if (hint.getMines().length > 0) {
+                    square = hint.getMines()[0];
+                    command = MoveJournal.MARK;
+                } else if (hint.getSafe().length > 0) {
+                    square = hint.getSafe()[0];
+                } else {
+                    square = safest(hint);
+                } // if
+            }
+            if (square < 0) {
+                while (next < order.length
+                    && mineField.isPlayed(order[next] / cols, order[next] % cols)) {
+                    next++;
+                } // while
+                if (next == order.length) {
+                    break;
+                }
+                square = order[next++];
+                if (hint != null) {
+                    command = hint.getOtherProbability() >= 1
+                        ? MoveJournal.MARK : MoveJournal.REVEAL;
+                } else {
+                    int pick = random.nextInt(10);
+                    command = pick == 0 ? MoveJournal.MARK
+                        : pick == 1 ? MoveJournal.GUESS : MoveJournal.REVEAL;
+                } // if
+            }
+            long start = System.nanoTime();
+            if (command == MoveJournal.MARK) {
+                engine.mark(square / cols, square % cols);
+            } else if (command == MoveJournal.GUESS) {
+                engine.guess(square / cols, square % cols);
+            } else {
+                engine.reveal(square / cols, square % cols);
+            } // if
+            moveNanos.record(System.nanoTime() - start);
+            made++;
+        } // while
+        if (!engine.isOver()) {
+            engine.quit();
+        }
+        return made;
+    } // play
+
+    /**
+     * Returns the index in {@code endings} of how {@code engine}, which is over, ended.
+     *
+     * @param engine the game
+     * @return 0 if it was won, 1 if it was lost, and 2 if it was quit
+     */
+    private static int ending(MinesweeperEngine engine) {
+        MoveResult.Outcome ending = engine.getEnding();
+        if (ending == MoveResult.Outcome.WON) {
+            return 0;
+        } else if (ending == MoveResult.Outcome.LOST) {
+            return 1;
+        } // if
+        return 2;
+    } // ending
+
+    /**
+     * Returns the square of {@code hint} least likely to hold a mine, or -1 if a hidden
+     * square next to no revealed number is less likely to hold one (or there are no
+     * squares next to a revealed number).
+     *
+     * @param hint the hint
+     * @return the index of the square, or -1
+     */
+    private static int safest(Hint hint) {
+        int square = hint.getSafestSquare();
+        if (square < 0) {
+            return -1;
+        }
+        double chance = 1;
+        for (int i = 0; i < hint.getSquares().length; i++) {
+            if (hint.getSquares()[i] == square) {
+                chance = hint.getProbabilities()[i];
+            }
+        } // for
+        double other = hint.getOtherProbability();
+        return !Double.isNaN(other) && other < chance ? -1 : square;
+    } // safest
+
+    /**
+     * Fills {@code order} with every square, in random order.
+     *
+     * @param order  the array to fill
+     * @param random where the order comes from
+     */
+    private static void shuffle(int[] order, Random random) {
+        for (int i = 0; i < order.length; i++) {
+            int j = random.nextInt(i + 1);
+            order[i] = order[j];
+            order[j] = i;
+        } // for
+    } // shuffle
+
+    /**
+     * Reads every valid seed file in {@code directory}. Seed files that are malformed, or
+     * too large for a mine field of {@code MinesweeperGame.MAX_SIZE} rows and columns,
+     * are left out, and the program exits if none are left.
+     *
+     * @param directory the directory
+     * @return the seed files, in order of their names
+     */
+    private static List<SeedFile> readSeedFiles(File directory) {
+        File[] files = directory.listFiles((dir, name) -> MinesweeperCorpus.isSeedFile(name));
+        if (files == null) {
+            System.err.println("\nDirectory Not Found Error: " + directory);
+            System.exit(2);
+        }
+        Arrays.sort(files);
+        List<SeedFile> seedFiles = new ArrayList<SeedFile>();
+        for (File file : files) {
+            try {
+                seedFiles.add(new SeedFile(file.getPath(), MinesweeperGame.MAX_SIZE));
+            } catch (FileNotFoundException | MalformedSeedException e) {
+                continue;
+            } // try-catch
+        } // for
+        if (seedFiles.isEmpty()) {
+            System.err.println("\nNo valid seed files in " + directory);
+            System.exit(3);
+        }
+        return seedFiles;
+    } // readSeedFiles
+
+    /**
+     * Prints how to run the games and exits.
+     */
+    private static void usage() {
+        System.err.print("\nUsage: MinesweeperSelfPlay [--policy random|solver] [--threads N] ");
+        System.err.println("[--cascade] [--size N] [--density D] [--seeds DIRECTORY] GAMES");
+        System.exit(1);
+    } // usage
+
+    /** How the moves of a game are picked. */
+    public enum Policy {
+        /** Random squares not played yet, mostly revealed, sometimes marked or guessed. */
+        RANDOM,
+        /** Certain mines flagged, certain safe squares revealed, otherwise the safest. */
+        SOLVER
+    } // Policy
+
+} // MinesweeperSelfPlay
@@ -0,0 +1,303 @@
+package cs1302.game;
+
+import java.util.NoSuchElementException;
+import java.util.Scanner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.io.BufferedOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import javax.management.JMException;
+
+/**
+ * Server that hosts many independent games of Minesweeper in one program. Every
+ * connection to the server's local socket is a session that plays a new game on the
+ * mine field described by the server's seed file, using the same text commands and
+ * printing the same output as {@code MinesweeperDriver}. Each session runs on its own
+ * thread (a virtual thread when the Java runtime has them) and has its own
+ * {@code MinesweeperEngine}, so no game state is shared between sessions. A session
+ * that sends no command for {@code idleSeconds} seconds is closed.
+ *
+ * <p>
+ * Every session records its metrics in one shared {@code GameMetrics}, which is
+ * registered with JMX when the server starts and can also be printed to standard output
+ * every few seconds. Sessions can be played in ANSI terminal mode, where only the squares
+ * that changed are sent after every command instead of the whole mine field, and every
+ * finished game can be added to one shared {@code Leaderboard}.
+ */
+public class MinesweeperServer {
+
+    /** Port the server listens on if none is given. */
+    public static final int DEFAULT_PORT = 1302;
+    /** Seconds a session can go without a command before it is closed, if none is given. */
+    public static final int DEFAULT_IDLE_SECONDS = 300;
+
+    private final String seedPath;
+    private final int maxSize;
+    private final int port;
+    private final int idleSeconds;
+    private final AtomicInteger sessionIds = new AtomicInteger();
+    private final AtomicInteger activeSessions = new AtomicInteger();
+    private final GameMetrics metrics = new GameMetrics();
+    private int metricsSeconds = 0;
+    private boolean ansi = false;
+    private Leaderboard leaderboard;
+
+    /**
+     * Constructor method that creates a new {@code MinesweeperServer}.
+     * The seed file is read once so a malformed seed file is found before any
+     * session starts.
+     *
+     * @param seedPath    String that provides a path to a seed file.
+     * @param largeBoard  whether mine fields can have up to
+     *                    {@code MinesweeperGame.LARGE_MAX_SIZE} rows and columns
+     * @param port        the port to listen on
+     * @param idleSeconds seconds a session can go without a command before it is closed
+     * @throws FileNotFoundException if the seed file is not found
+     * @throws MalformedSeedException if the seed file does not describe a valid mine field
+     */
+    public MinesweeperServer(String seedPath, boolean largeBoard, int port, int idleSeconds)
+        throws FileNotFoundException, MalformedSeedException {
+        this.seedPath = seedPath;
+        this.maxSize = largeBoard ? MinesweeperGame.LARGE_MAX_SIZE : MinesweeperGame.MAX_SIZE;
+        this.port = port;
+        this.idleSeconds = idleSeconds;
+        new SeedFile(seedPath, maxSize);
+    } // constructor
+
+    /**
+     * Starts a {@code MinesweeperServer} from the command line.
+     *
+     * With "--metrics SECONDS", every metric is printed to standard output every SECONDS
+     * seconds. With "--ansi", every session is played in ANSI terminal mode. With
+     * "--leaderboard LEADERBOARD", every finished game is added to the {@code Leaderboard} at
+     * LEADERBOARD, which is closed when the program is stopped.
+     *
+     * @param args "[--large] [--port PORT] [--idle SECONDS] [--metrics SECONDS] [--ansi]
+     * [--leaderboard LEADERBOARD] SEED_FILE_PATH"
+     */
+    public static void main(String[] args) {
+        boolean largeBoard = false;
+        int port = DEFAULT_PORT;
+        int idleSeconds = DEFAULT_IDLE_SECONDS;
+        int metricsSeconds = 0;
+        boolean ansi = false;
+        String leaderboardPath = null;
+        int argIndex = 0;
+        try {
+            for (; args[argIndex].startsWith("--"); argIndex++) {
+                if (args[argIndex].equals("--large")) {
+                    largeBoard = true;
+                } else if (args[argIndex].equals("--port")) {
+                    port = Integer.parseInt(args[++argIndex]);
+                } else if (args[argIndex].equals("--idle")) {
+                    idleSeconds = Integer.parseInt(args[++argIndex]);
+                } else if (args[argIndex].equals("--metrics")) {
+                    metricsSeconds = Integer.parseInt(args[++argIndex]);
+                } else if (args[argIndex].equals("--ansi")) {
+                    ansi = true;
+                } else if (args[argIndex].equals("--leaderboard")) {
+                    leaderboardPath = args[++argIndex];
+                } else {
+                    usage();
+                } // if
+            } // for
+            MinesweeperServer server =
+                new MinesweeperServer(args[argIndex], largeBoard, port, idleSeconds);
+            server.setMetricsSeconds(metricsSeconds);
+            server.setAnsi(ansi);
+            if (leaderboardPath != null) {
+                Leaderboard leaderboard = new Leaderboard(Paths.get(leaderboardPath));
+                if (leaderboard.getCorrupt() > 0) {
+                    System.err.println("leaderboard: " + leaderboard.getCorrupt()
+                        + " corrupt records skipped");
+                }
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    try {
+                        leaderboard.close();
+                    } catch (IOException ioe) {
+                        System.err.println("leaderboard not written: " + ioe.getMessage());
+                    } // try-catch
+                }));
+                server.setLeaderboard(leaderboard);
+            }
+            server.serve();
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            usage();
+        } catch (FileNotFoundException fnfe) {
+            System.err.print("\nSeed File Not Found Error: ");
+            System.err.println(args[argIndex] + " (No such file or directory)");
+            System.exit(2);
+        } catch (MalformedSeedException mse) {
+            MinesweeperGame.printMalformed(mse, System.out, System.err);
+            System.exit(3);
+        } catch (IOException ioe) {
+            System.err.println("\nServer Error: " + ioe.getMessage());
+            System.exit(1);
+        } // try-catch
+    } // main
+
+    /**
+     * Prints every metric to standard output every {@code seconds} seconds once the server
+     * starts, or never if {@code seconds} is 0 or less.
+     *
+     * @param seconds seconds between printing the metrics
+     */
+    public void setMetricsSeconds(int seconds) {
+        metricsSeconds = seconds;
+    } // setMetricsSeconds
+
+    /**
+     * Plays every session started from now on in ANSI terminal mode, or not, as
+     * {@code MinesweeperGame.setAnsi} describes.
+     *
+     * @param ansi whether to play sessions in ANSI terminal mode
+     */
+    public void setAnsi(boolean ansi) {
+        this.ansi = ansi;
+    } // setAnsi
+
+    /**
+     * Adds every game finished from now on to {@code leaderboard}, or stops adding them if
+     * {@code leaderboard} is null.
+     *
+     * @param leaderboard where finished games are added, or null
+     */
+    public void setLeaderboard(Leaderboard leaderboard) {
+        this.leaderboard = leaderboard;
+    } // setLeaderboard
+
+    /**
+     * Returns the metrics recorded by every session of this server.
+     *
+     * @return the metrics
+     */
+    public GameMetrics getMetrics() {
+        return metrics;
+    } // getMetrics
+
+    /**
+     * Listens on the loopback address and starts a session for every connection,
+     * until the program is stopped. The metrics are registered with JMX first; if that
+     * fails, the server still starts and the error is printed to standard error.
+     *
+     * @throws IOException if the server socket cannot be opened
+     */
+    public void serve() throws IOException {
+        try {
+            metrics.registerMBeans();
+        } catch (JMException jme) {
+            System.err.println("metrics not registered with JMX: " + jme.getMessage());
+        } // try-catch
+        if (metricsSeconds > 0) {
+            Thread printer = new Thread(this::printMetrics, "metrics");
+            printer.setDaemon(true);
+            printer.start();
+        }
+        ExecutorService sessions = newSessionExecutor();
+        try (ServerSocket server = new ServerSocket(port, 1024, InetAddress.getLoopbackAddress())) {
+            System.out.println("minesweeper-alpha server listening on port " + port);
+            while (true) {
+                Socket socket = server.accept();
+                sessions.execute(() -> session(socket));
+            } // while
+        } finally {
+            sessions.shutdownNow();
+        } // try
+    } // serve
+
+    /**
+     * Plays one game with the client connected to {@code socket}, then closes the
+     * connection. The session ends when the game is over, when the client disconnects,
+     * or when the client sends no command for {@code idleSeconds} seconds.
+     *
+     * @param socket the connection to the client
+     */
+    private void session(Socket socket) {
+        int id = sessionIds.incrementAndGet();
+        activeSessions.incrementAndGet();
+        try (socket) {
+            socket.setSoTimeout(idleSeconds * 1000);
+            socket.setTcpNoDelay(true);
+            Scanner in = new Scanner(socket.getInputStream(), StandardCharsets.UTF_8);
+            PrintStream out = new PrintStream(
+                new BufferedOutputStream(socket.getOutputStream()), false, StandardCharsets.UTF_8);
+            MinesweeperEngine engine = new MinesweeperEngine(new SeedFile(seedPath, maxSize));
+            engine.setMetrics(metrics);
+            MinesweeperGame game = new MinesweeperGame(in, out, out, engine);
+            game.setAnsi(ansi);
+            game.setLeaderboard(leaderboard);
+            try {
+                game.play();
+            } catch (NoSuchElementException nse) {
+                if (in.ioException() instanceof SocketTimeoutException) {
+                    out.println("\nSession closed after " + idleSeconds + " seconds idle.");
+                }
+            } // try-catch
+            out.flush();
+        } catch (IOException | MalformedSeedException e) {
+            System.err.println("session " + id + ": " + e.getMessage());
+        } finally {
+            activeSessions.decrementAndGet();
+        } // try
+    } // session
+
+    /**
+     * Returns the number of sessions currently being played.
+     *
+     * @return the number of active sessions
+     */
+    public int getActiveSessions() {
+        return activeSessions.get();
+    } // getActiveSessions
+
+    /**
+     * Prints every metric to standard output every {@code metricsSeconds} seconds, until
+     * the program is stopped.
+     */
+    private void printMetrics() {
+        try {
+            while (true) {
+                Thread.sleep(metricsSeconds * 1000L);
+                metrics.dump(System.out);
+            } // while
+        } catch (InterruptedException ie) {
+            return;
+        } // try-catch
+    } // printMetrics
+
+    /**
+     * Returns an executor that runs each task on a new virtual thread if the Java
+     * runtime supports them, and on a pooled platform thread otherwise.
+     *
+     * @return the executor for sessions
+     */
+    private static ExecutorService newSessionExecutor() {
+        try {
+            Method virtual = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) virtual.invoke(null);
+        } catch (ReflectiveOperationException roe) {
+            return Executors.newCachedThreadPool();
+        } // try-catch
+    } // newSessionExecutor
+
+    /**
+     * Prints how to run the server and exits.
+     */
+    private static void usage() {
+        System.err.print("\nUsage: MinesweeperServer [--large] [--port PORT] [--idle SECONDS] ");
+        System.err.print("[--metrics SECONDS] [--ansi] [--leaderboard LEADERBOARD] ");
+        System.err.println("SEED_FILE_PATH");
+        System.exit(1);
+    } // usage
+
+} // MinesweeperServer
@@ -0,0 +1,314 @@
+package cs1302.game;
+
+import java.util.concurrent.ScheduledFuture;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only binary journal of every command played in one game, written as the game is
+ * played by a {@code MinesweeperEngine} that was given the journal with
+ * {@code setJournal}. The seed file and the journal are enough to play the game again
+ * move by move with {@code MinesweeperReplay}, after a crash or to check a score.
+ *
+ * <p>
+ * Every number is big-endian. A journal starts with a header, followed by one record of
+ * {@code RECORD_BYTES} bytes for every command:
+ * <pre>
+ * int   MAGIC ("MSJ1")
+ * short VERSION
+ * short flags: 1 = cascade
+ * int   rows, cols, numberOfMines
+ *
+ * byte  command: 'r', 'm', 'g', 'h', 'n', 'q', or 'x' for a line that is not a command
+ * int   row, column (0 for commands without a square)
+ * </pre>
+ * Records are kept in memory and written in groups, and each group is forced to the disk
+ * with one {@code force} instead of one per command. A group is written once it holds
+ * {@code groupMoves} records, {@code groupMillis} milliseconds after the group was
+ * started even if no record is added after it (by a {@code GroupFlusher} task), and by
+ * {@code sync} and {@code close}. A crash loses at most the group not yet written, which
+ * holds at most the last {@code groupMillis} milliseconds of moves. A group cut short by a
+ * crash is found by {@code wholeRecords}, and the records after it are ignored by the
+ * replay and written over when the journal is opened again.
+ *
+ * <p>
+ * Every method that writes is synchronized, since a late group is written on the thread of
+ * the {@code GroupFlusher}. If that write fails, the next {@code append} or {@code sync}
+ * throws the exception.
+ */
+public class MoveJournal implements Closeable {
+
+    /** First four bytes of every journal. */
+    public static final int MAGIC = 0x4D534A31;
+    /** Version of the layout written by this class. */
+    public static final short VERSION = 1;
+    /** Number of bytes before the first record. */
+    public static final int HEADER_BYTES = 4 + 2 + 2 + 3 * 4;
+    /** Number of bytes in each record. */
+    public static final int RECORD_BYTES = 1 + 4 + 4;
+    /** Number of records written together unless another group size is given. */
+    public static final int GROUP_MOVES = 64;
+    /** Longest time a group is held unless another time is given, in milliseconds. */
+    public static final long GROUP_MILLIS = 100;
+
+    /** Record of "r/reveal row col". */
+    public static final byte REVEAL = 'r';
+    /** Record of "m/mark row col". */
+    public static final byte MARK = 'm';
+    /** Record of "g/guess row col". */
+    public static final byte GUESS = 'g';
+    /** Record of "h/help". */
+    public static final byte HELP = 'h';
+    /** Record of "nofog". */
+    public static final byte NOFOG = 'n';
+    /** Record of "q/quit". */
+    public static final byte QUIT = 'q';
+    /** Record of a line that is not a valid command, which still counts as a round. */
+    public static final byte INVALID = 'x';
+
+    static final short CASCADE = 1;
+
+    private final FileChannel channel;
+    private final ByteBuffer group;
+    private final long groupNanos;
+    private long groupStart;
+    private long moves;
+    private long groups;
+    private ScheduledFuture<?> lateWrite;
+    private IOException lateFailure;
+
+    /**
+     * Constructor method that creates a new {@code MoveJournal} for {@code engine} at
+     * {@code path}, with the default group size and time.
+     *
+     * @param path   where the journal is written
+     * @param engine the game, which has just been read from its seed file
+     * @throws IOException if the journal cannot be opened, or belongs to another game
+     */
+    public MoveJournal(Path path, MinesweeperEngine engine) throws IOException {
+        this(path, engine, GROUP_MOVES, GROUP_MILLIS);
+    } // constructor
+
+    /**
+     * Constructor method that creates a new {@code MoveJournal} for {@code engine} at
+     * {@code path}. If the file is empty or does not exist, the header is written. If it
+     * already holds a journal of the same game, new records are added after its last whole
+     * record, and {@code engine} must be the game rebuilt from that journal by
+     * {@code MinesweeperReplay}.
+     *
+     * @param path        where the journal is written
+     * @param engine      the game
+     * @param groupMoves  largest number of records written together
+     * @param groupMillis longest time a record is held before it is written, in milliseconds
+     * @throws IOException if the journal cannot be opened, or belongs to another game
+     * @throws IllegalArgumentException if {@code groupMoves} is less than 1
+     */
+    public MoveJournal(Path path, MinesweeperEngine engine, int groupMoves, long groupMillis)
+        throws IOException {
+        if (groupMoves < 1) {
+            throw new IllegalArgumentException("group must hold at least 1 record");
+        }
+        group = ByteBuffer.allocateDirect(groupMoves * RECORD_BYTES);
+        groupNanos = groupMillis * 1_000_000L;
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            writeHeader(header, engine);
+            header.flip();
+            if (channel.size() == 0) {
+                write(header);
+                channel.force(false);
+            } else {
+                ByteBuffer journal = read(channel);
+                if (journal.limit() < HEADER_BYTES
+                    || !journal.slice(0, HEADER_BYTES).equals(header)) {
+                    throw new IOException(path + " is not a journal of this game");
+                }
+                moves = wholeRecords(journal);
+                channel.truncate(HEADER_BYTES + moves * RECORD_BYTES);
+            } // if
+            channel.position(HEADER_BYTES + moves * RECORD_BYTES);
+        } catch (IOException ioe) {
+            channel.close();
+            throw ioe;
+        } // try-catch
+    } // constructor
+
+    /**
+     * Adds a record to the journal, writing the group it completes. The first record of a
+     * group schedules the group to be written {@code groupMillis} milliseconds later.
+     *
+     * @param command one of {@code REVEAL}, {@code MARK}, {@code GUESS}, {@code HELP},
+     *                {@code NOFOG}, {@code QUIT}, or {@code INVALID}
+     * @param row     the row number given with the command, or 0
+     * @param column  the column number given with the command, or 0
+     * @throws UncheckedIOException if a group cannot be written, or the last group written
+     * late could not be
+     */
+    public synchronized void append(byte command, int row, int column) {
+        if (lateFailure != null) {
+            IOException ioe = lateFailure;
+            lateFailure = null;
+            throw new UncheckedIOException(ioe);
+        }
+        if (group.position() == 0) {
+            groupStart = System.nanoTime();
+            long number = groups;
+            lateWrite = GroupFlusher.schedule(() -> writeLate(number), groupNanos);
+        }
+        group.put(command).putInt(row).putInt(column);
+        moves++;
+        if (!group.hasRemaining() || System.nanoTime() - groupStart >= groupNanos) {
+            try {
+                sync();
+            } catch (IOException ioe) {
+                throw new UncheckedIOException(ioe);
+            } // try-catch
+        }
+    } // append
+
+    /**
+     * Writes every record held in memory and forces them to the disk.
+     *
+     * @throws IOException if the records cannot be written, or the last group written late
+     * could not be
+     */
+    public synchronized void sync() throws IOException {
+        if (lateFailure != null) {
+            IOException ioe = lateFailure;
+            lateFailure = null;
+            throw ioe;
+        }
+        if (group.position() > 0) {
+            groups++;
+            lateWrite.cancel(false);
+            group.flip();
+            write(group);
+            group.clear();
+            channel.force(false);
+        }
+    } // sync
+
+    /**
+     * Writes group number {@code number} if it has not been written yet. Run by the
+     * {@code GroupFlusher} when the time of the group is up.
+     *
+     * @param number the number of the group, counting the groups written before it
+     */
+    private synchronized void writeLate(long number) {
+        if (number == groups && channel.isOpen()) {
+            try {
+                sync();
+            } catch (IOException ioe) {
+                lateFailure = ioe;
+            } // try-catch
+        }
+    } // writeLate
+
+    /**
+     * Returns the number of records in the journal, including any not written yet.
+     *
+     * @return the number of moves
+     */
+    public synchronized long getMoves() {
+        return moves;
+    } // getMoves
+
+    /**
+     * Writes every record held in memory and closes the journal.
+     *
+     * @throws IOException if the records cannot be written
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            sync();
+        } finally {
+            channel.close();
+        } // try
+    } // close
+
+    /**
+     * Writes the header of a journal of {@code engine} to {@code out}.
+     *
+     * @param out    where the header is written
+     * @param engine the game
+     */
+    static void writeHeader(ByteBuffer out, MinesweeperEngine engine) {
+        Board mineField = engine.getMineField();
+        out.putInt(MAGIC);
+        out.putShort(VERSION);
+        out.putShort(engine.isCascade() ? CASCADE : 0);
+        out.putInt(mineField.getRows());
+        out.putInt(mineField.getCols());
+        out.putInt(engine.getNumberOfMines());
+    } // writeHeader
+
+    /**
+     * Returns the number of whole records after the header in {@code journal}, stopping at
+     * the first record that was cut short or does not hold a command.
+     *
+     * @param journal the bytes of a journal, from the start of its header
+     * @return the number of records that can be replayed
+     */
+    static long wholeRecords(ByteBuffer journal) {
+        long records = 0;
+        for (int at = HEADER_BYTES; at + RECORD_BYTES <= journal.limit(); at += RECORD_BYTES) {
+            if (!isCommand(journal.get(at))) {
+                break;
+            }
+            records++;
+        } // for
+        return records;
+    } // wholeRecords
+
+    /**
+     * Returns true if {@code command} is the first byte of a record.
+     *
+     * @param command the byte
+     * @return true if it is one of the commands
+     */
+    static boolean isCommand(byte command) {
+        return command == REVEAL || command == MARK || command == GUESS || command == HELP
+            || command == NOFOG || command == QUIT || command == INVALID;
+    } // isCommand
+
+    /**
+     * Reads the file behind {@code channel} from its position to the end into a new buffer.
+     *
+     * @param channel the file
+     * @return the bytes of the file, ready to be read
+     * @throws IOException if the file cannot be read, or is too large
+     */
+    static ByteBuffer read(FileChannel channel) throws IOException {
+        long size = channel.size();
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("journal is too large");
+        }
+        ByteBuffer in = ByteBuffer.allocate((int) size);
+        int read = 0;
+        while (in.hasRemaining() && read >= 0) {
+            read = channel.read(in);
+        } // while
+        return in.flip();
+    } // read
+
+    /**
+     * Writes every remaining byte of {@code buffer} at the position of the channel.
+     *
+     * @param buffer the bytes
+     * @throws IOException if they cannot be written
+     */
+    private void write(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        } // while
+    } // write
+
+} // MoveJournal
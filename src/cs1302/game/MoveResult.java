@@ -0,0 +1,108 @@
+package cs1302.game;
+
+/**
+ * Object class describing what happened when a {@code MinesweeperEngine} carried out
+ * a command: the {@code outcome}, a {@code message} for the player if there is one,
+ * the squares that changed, and the {@code rounds} and {@code score} after the command.
+ */
+public class MoveResult {
+
+    /**
+     * What a command did to the game.
+     */
+    public enum Outcome {
+        /** A square was revealed, flagged, or guessed and the game goes on. */
+        PLAYED,
+        /** The command was not valid and the mine field did not change. */
+        INVALID,
+        /** The list of commands was asked for. */
+        HELP,
+        /** The "cheat" mine field that shows every mine was asked for. */
+        NOFOG,
+        /** Every mine is flagged and every other square is revealed. */
+        WON,
+        /** A mine was revealed. */
+        LOST,
+        /** The player quit the game. */
+        QUIT
+    } // Outcome
+
+    private final Outcome outcome;
+    private final String message;
+    private final int[] changed;
+    private final int rounds;
+    private final double score;
+
+    /**
+     * Constructor method that creates a new {@code MoveResult}.
+     *
+     * @param outcome what the command did to the game
+     * @param message the message for the player, or {@code null} if there is none
+     * @param changed the indices ({@code row * cols + col}) of the squares that changed
+     * @param rounds  the number of rounds completed after the command
+     * @param score   the player's score, which is 0 unless the game is won
+     */
+    public MoveResult(Outcome outcome, String message, int[] changed, int rounds, double score) {
+        this.outcome = outcome;
+        this.message = message;
+        this.changed = changed;
+        this.rounds = rounds;
+        this.score = score;
+    } // constructor
+
+    /**
+     * Returns what the command did to the game.
+     *
+     * @return the outcome
+     */
+    public Outcome getOutcome() {
+        return outcome;
+    } // getOutcome
+
+    /**
+     * Returns the message for the player: why the command was invalid for
+     * {@code INVALID}, or a notice such as an already played square for {@code PLAYED}.
+     *
+     * @return the message, or {@code null} if there is none
+     */
+    public String getMessage() {
+        return message;
+    } // getMessage
+
+    /**
+     * Returns the indices ({@code row * cols + col}) of the squares that changed.
+     *
+     * @return the indices of the changed squares
+     */
+    public int[] getChanged() {
+        return changed;
+    } // getChanged
+
+    /**
+     * Returns the number of rounds completed after the command.
+     *
+     * @return the number of rounds
+     */
+    public int getRounds() {
+        return rounds;
+    } // getRounds
+
+    /**
+     * Returns the player's score, which is 0 unless the game is won.
+     *
+     * @return the score
+     */
+    public double getScore() {
+        return score;
+    } // getScore
+
+    /**
+     * Returns {@code true} if the command ended the game.
+     *
+     * @return true if the game was won, lost, or quit, otherwise false
+     */
+    public boolean isGameOver() {
+        return outcome == Outcome.WON || outcome == Outcome.LOST || outcome == Outcome.QUIT;
+    } // isGameOver
+
+} // MoveResult
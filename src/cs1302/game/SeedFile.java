@@ -0,0 +1,393 @@
+package cs1302.game;
+
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Object class that reads a seed file, which gives the number of {@code rows}, the number
+ * of {@code col} (columns), the {@code numberOfMines}, and the location of every mine,
+ * and builds the {@code mineField} it describes.
+ *
+ * <p>
+ * The seed file is read in one pass through a file channel and a reused byte buffer.
+ * Numbers are decoded straight from the bytes, and each mine is placed as soon as its
+ * location is read, so no number is stored other than in the mine field. Reading stops at
+ * the first word that is not an integer. Every problem is reported with the same message as
+ * before, followed by the line and column where it was found; if a seed file has several
+ * problems, the one reported is the one that would have been reported before.
+ *
+ * <p>
+ * Instead of mine locations, the number of mines can be followed by the word "random" and
+ * a 64-bit seed, for example "10000 10000 20000000 random 1302". The mines are then placed
+ * by a {@code MineGenerator} given by {@code getGenerator}.
+ */
+public class SeedFile {
+
+    /** Message of a seed file that gives only the number of rows. */
+    static final String COLUMNS_EXPECTED = "number of columns and/or mines expected but not given";
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final int maxSize;
+    private int rows = 0;
+    private int col = 0;
+    private int numberOfMines = 0;
+    private Board mineField;
+    private MineGenerator generator;
+    private ReadableByteChannel channel;
+    private ByteBuffer buffer;
+    private int line = 1;
+    private int column = 1;
+    private int tokenLine = 1;
+    private int tokenColumn = 1;
+    private int value;
+    private long longValue;
+    private final byte[] word = new byte[32];
+    private int wordLength;
+    private String badToken;
+
+    /**
+     * Constructor method that reads the seed file at {@code seedPath}.
+     * Calls {@code parseSeedFile} to assign values to {@code rows}, {@code col},
+     * and {@code numberOfMines}, and to build the {@code mineField}.
+     *
+     * @param seedPath String that provides a path to a seed file.
+     * @param maxSize  the largest number of rows or columns allowed
+     * @throws FileNotFoundException if the seed file is not found
+     * @throws MalformedSeedException if the seed file does not describe a valid mine field
+     */
+    public SeedFile(String seedPath, int maxSize)
+        throws FileNotFoundException, MalformedSeedException {
+        this.maxSize = maxSize;
+        FileInputStream seedStream = new FileInputStream(seedPath);
+        try (FileChannel seedChannel = seedStream.getChannel()) {
+            buffer = ByteBuffer.allocate((int) Math.min(seedChannel.size() + 1, BUFFER_SIZE));
+            parseSeedFile(seedChannel);
+        } catch (IOException ioe) {
+            throw new MalformedSeedException("seed file could not be read: " + ioe.getMessage());
+        } // try-catch
+    } // constructor
+
+    /**
+     * Reads the seed file from {@code seedChannel}. The first three integers are assigned to
+     * {@code rows}, {@code col}, and {@code numberOfMines}, and every pair of integers after
+     * them is the row and column of a mine, which is placed in {@code mineField} right away.
+     * Reading stops at the end of the file or at the first word that is not an integer,
+     * and then the seed file is checked in the same order as always. If that word is
+     * "random" right after the number of mines, the random seed is read instead.
+     *
+     * @param seedChannel where the seed file is read from
+     * @throws IOException if the seed file cannot be read
+     * @throws MalformedSeedException if an odd number of integers is not given, if the
+     * number of rows and/or columns is not between 5 and {@code maxSize}, if the number of
+     * mines is greater than or equal to the number of squares, if a mine location is not
+     * in range of the mine field, or if not exactly {@code numberOfMines} mine locations
+     * are given
+     */
+    public void parseSeedFile(ReadableByteChannel seedChannel)
+        throws IOException, MalformedSeedException {
+        channel = seedChannel;
+        if (buffer == null) {
+            buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        }
+        buffer.clear().flip();
+        int count = 0;
+        int pairs = 0;
+        int mineRow = 0;
+        int pairLine = 0;
+        int pairColumn = 0;
+        int extraLine = 0;
+        int extraColumn = 0;
+        MalformedSeedException headerError = null;
+        MalformedSeedException mineError = null;
+        while (nextInt()) {
+            count++;
+            if (count == 1) {
+                rows = value;
+                headerError = checkRows();
+            } else if (count == 2) {
+                col = value;
+                headerError = headerError == null ? checkColumns() : headerError;
+            } else if (count == 3) {
+                numberOfMines = value;
+                headerError = headerError == null ? checkMines() : headerError;
+                if (headerError == null) {
+                    mineField = new BitBoard(rows, col);
+                }
+            } else if (count % 2 == 0) {
+                mineRow = value;
+                pairLine = tokenLine;
+                pairColumn = tokenColumn;
+            } else {
+                pairs++;
+                if (pairs == numberOfMines + 1) {
+                    extraLine = pairLine;
+                    extraColumn = pairColumn;
+                }
+                if (headerError == null && mineError == null) {
+                    try {
+                        mineField.placeMine(mineRow, value);
+                    } catch (ArrayIndexOutOfBoundsException aie) {
+                        mineError = new MalformedSeedException(
+                            aie.getMessage(), pairLine, pairColumn, null);
+                    } // try-catch
+                }
+            } // if
+        } // while
+        if (count == 3 && "random".equals(badToken)) {
+            if (headerError != null) {
+                throw headerError;
+            }
+            readRandomSeed();
+            return;
+        }
+        if (count % 2 == 0) {
+            throw atEnd("seed file missing some information");
+        } else if (count == 3) {
+            throw atEnd("mine locations expected but not given");
+        } else if (headerError != null) {
+            throw headerError;
+        } else if (count == 1) {
+            throw atEnd(COLUMNS_EXPECTED);
+        } else if (mineError != null) {
+            throw mineError;
+        } else if (pairs < numberOfMines) {
+            throw atEnd("not enough mine locations given");
+        } else if (pairs > numberOfMines) {
+            throw new MalformedSeedException(
+                "too many mine locations given", extraLine, extraColumn, null);
+        } // if
+    } // parseSeedFile
+
+    /**
+     * Reads the seed after the word "random" and creates the {@code generator} that places
+     * the mines. Nothing else can follow the seed.
+     *
+     * @throws IOException if the seed file cannot be read
+     * @throws MalformedSeedException if the seed is not given or something follows it
+     */
+    private void readRandomSeed() throws IOException, MalformedSeedException {
+        if (!nextLong()) {
+            throw atEnd("random seed expected but not given");
+        }
+        long seed = longValue;
+        if (nextLong() || badToken != null) {
+            throw atToken("nothing expected after the random seed");
+        }
+        generator = new MineGenerator(rows, col, numberOfMines, seed);
+    } // readRandomSeed
+
+    /**
+     * Checks that {@code rows} is between 5 and {@code maxSize}.
+     *
+     * @return the problem with {@code rows}, or null if there is none
+     */
+    private MalformedSeedException checkRows() {
+        if (rows < 5) {
+            return atToken("number of rows must be greater than 5");
+        } else if (rows > maxSize) {
+            return atToken("number of rows cannot be greater than " + maxSize);
+        }
+        return null;
+    } // checkRows
+
+    /**
+     * Checks that {@code col} is between 5 and {@code maxSize}.
+     *
+     * @return the problem with {@code col}, or null if there is none
+     */
+    private MalformedSeedException checkColumns() {
+        if (col < 5) {
+            return atToken("number of columns must be greater than 5");
+        } else if (col > maxSize) {
+            return atToken("number of columns cannot be greater than " + maxSize);
+        }
+        return null;
+    } // checkColumns
+
+    /**
+     * Checks that {@code numberOfMines} is at least 1 and less than the number of squares.
+     *
+     * @return the problem with {@code numberOfMines}, or null if there is none
+     */
+    private MalformedSeedException checkMines() {
+        if (numberOfMines < 1) {
+            return atToken("number of mines must be greater than 1");
+        } else if (numberOfMines >= (rows * col)) {
+            return atToken(
+                "number of mines cannot be greater than or equal to the number of squares");
+        }
+        return null;
+    } // checkMines
+
+    /**
+     * Returns a {@code MalformedSeedException} for a problem with the integer just read.
+     *
+     * @param message what is wrong with the seed file
+     * @return the exception
+     */
+    private MalformedSeedException atToken(String message) {
+        return new MalformedSeedException(message, tokenLine, tokenColumn, null);
+    } // atToken
+
+    /**
+     * Returns a {@code MalformedSeedException} for a problem found where reading stopped,
+     * which is either the end of the file or the first word that is not an integer.
+     *
+     * @param message what is wrong with the seed file
+     * @return the exception
+     */
+    private MalformedSeedException atEnd(String message) {
+        String detail = badToken == null ? "end of file" : "\"" + badToken + "\" is not an integer";
+        return new MalformedSeedException(message, tokenLine, tokenColumn, detail);
+    } // atEnd
+
+    /**
+     * Reads the next word of the seed file and, if it is an {@code int}, assigns it to
+     * {@code value}. The line and column where the word starts are assigned to
+     * {@code tokenLine} and {@code tokenColumn}. If the word is not an integer (including
+     * one too large for an {@code int}), its first bytes are assigned to {@code badToken}.
+     *
+     * @return true if an integer was read, false at the end of the file or if the word
+     * is not an integer
+     * @throws IOException if the seed file cannot be read
+     */
+    private boolean nextInt() throws IOException {
+        if (!nextLong()) {
+            return false;
+        } else if (longValue < Integer.MIN_VALUE || longValue > Integer.MAX_VALUE) {
+            badToken = word();
+            return false;
+        }
+        value = (int) longValue;
+        return true;
+    } // nextInt
+
+    /**
+     * Reads the next word of the seed file and, if it is a {@code long}, assigns it to
+     * {@code longValue}, the same way {@code nextInt} reads an {@code int}.
+     *
+     * @return true if an integer was read, false at the end of the file or if the word
+     * is not an integer
+     * @throws IOException if the seed file cannot be read
+     */
+    private boolean nextLong() throws IOException {
+        int b = read();
+        while (isWhitespace(b)) {
+            b = read();
+        } // while
+        tokenLine = line;
+        tokenColumn = column - 1;
+        badToken = null;
+        if (b == -1) {
+            tokenColumn = column;
+            return false;
+        }
+        boolean signed = b == '-' || b == '+';
+        long limit = b == '-' ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        boolean integer = true;
+        long number = 0;
+        wordLength = 0;
+        for (; b != -1 && !isWhitespace(b); b = read()) {
+            if (wordLength < word.length) {
+                word[wordLength] = (byte) b;
+            }
+            wordLength++;
+            if (b >= '0' && b <= '9' && number >= (limit + (b - '0')) / 10) {
+                number = number * 10 - (b - '0');
+            } else if (wordLength > 1 || !signed) {
+                integer = false;
+            }
+        } // for
+        if (integer && wordLength > (signed ? 1 : 0)) {
+            longValue = limit == Long.MIN_VALUE ? number : -number;
+            return true;
+        }
+        badToken = word();
+        return false;
+    } // nextLong
+
+    /**
+     * Returns the first bytes of the last word read.
+     *
+     * @return the word
+     */
+    private String word() {
+        return new String(word, 0, Math.min(wordLength, word.length), StandardCharsets.UTF_8);
+    } // word
+
+    /**
+     * Returns the next byte of the seed file, refilling {@code buffer} from {@code channel}
+     * when it is empty, and moves {@code line} and {@code column} past it.
+     *
+     * @return the byte, or -1 at the end of the file
+     * @throws IOException if the seed file cannot be read
+     */
+    private int read() throws IOException {
+        if (!buffer.hasRemaining()) {
+            buffer.clear();
+            int read = 0;
+            while (read == 0) {
+                read = channel.read(buffer);
+            } // while
+            buffer.flip();
+            if (read < 0) {
+                return -1;
+            }
+        }
+        int b = buffer.get() & 0xff;
+        if (b == '\n') {
+            line++;
+            column = 1;
+        } else {
+            column++;
+        }
+        return b;
+    } // read
+
+    /**
+     * Returns true if {@code b} separates words in a seed file.
+     *
+     * @param b the byte
+     * @return true if {@code b} is a space, tab, line break, or form feed
+     */
+    private static boolean isWhitespace(int b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t' || b == '\f' || b == 0x0B;
+    } // isWhitespace
+
+    /**
+     * Returns the mine field described by the seed file.
+     *
+     * @return the mine field
+     */
+    public Board getMineField() {
+        return mineField;
+    } // getMineField
+
+    /**
+     * Returns the generator that places the mines if the seed file gives a random seed
+     * instead of mine locations, or null if it does not. The mines of such a seed file
+     * have not been placed yet; {@code MinesweeperEngine} places them when the first
+     * square is revealed, so that square never contains a mine.
+     *
+     * @return the generator, or null
+     */
+    public MineGenerator getGenerator() {
+        return generator;
+    } // getGenerator
+
+    /**
+     * Returns the number of mines given by the seed file.
+     *
+     * @return the number of mines
+     */
+    public int getNumberOfMines() {
+        return numberOfMines;
+    } // getNumberOfMines
+
+} // SeedFile
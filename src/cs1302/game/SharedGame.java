@@ -0,0 +1,214 @@
+package cs1302.game;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Object class that plays one game of Minesweeper with several players at once, each on
+ * their own thread, all on the same {@code ConcurrentBoard}. Nothing is locked: every move
+ * changes its squares with the compare-and-set operations of the mine field, so when two
+ * players play the same square at once, the first move to reach it wins and the other
+ * move is {@code INVALID}. Only revealed and flagged squares count as played; a guessed
+ * square can still be revealed or flagged by anyone. Revealing a mine is not an invalid
+ * move: it is answered with {@code LOST}, as in {@code MinesweeperEngine}, and ends the
+ * game for every player.
+ *
+ * <p>
+ * The game ends the first time a mine is revealed or the mine field is cleared, and that
+ * is decided by one compare-and-set of the final {@code MoveResult}, so exactly one move
+ * is ever answered with {@code WON} or {@code LOST}. Moves started after that are
+ * {@code INVALID}; a move already under way when the game ended still changes its squares
+ * and is answered with {@code PLAYED}. Every move that changes the mine field counts as
+ * one round, and a won game is scored the same way as a {@code MinesweeperEngine} game,
+ * from the rounds played by all of the players together.
+ */
+public class SharedGame {
+
+    private final ConcurrentBoard mineField;
+    private final int rows;
+    private final int cols;
+    private final int numberOfMines;
+    private final boolean cascade;
+    private final AtomicInteger rounds = new AtomicInteger();
+    private final AtomicReference<MoveResult> ending = new AtomicReference<MoveResult>();
+
+    /**
+     * Constructor method that creates a new {@code SharedGame} on {@code mineField}, which
+     * has its mines placed and every square hidden.
+     *
+     * @param mineField     the mine field to play on
+     * @param numberOfMines the number of mines in the mine field
+     * @param cascade       whether revealing a square with no surrounding mines also
+     *                      reveals the region around it
+     */
+    public SharedGame(ConcurrentBoard mineField, int numberOfMines, boolean cascade) {
+        this.mineField = mineField;
+        this.rows = mineField.getRows();
+        this.cols = mineField.getCols();
+        this.numberOfMines = numberOfMines;
+        this.cascade = cascade;
+    } // constructor
+
+    /**
+     * Reveals the square given by {@code row} and {@code column} if nobody has revealed or
+     * flagged it yet. If the square contains a mine, the game is lost.
+     *
+     * @param row    the row number of the square
+     * @param column the column number of the square
+     * @return what the move did; {@code LOST} if the square contains a mine and no other
+     * move ended the game first, {@code INVALID} if the square is out of bounds or already
+     * played, or the game is over
+     */
+    public MoveResult reveal(int row, int column) {
+        if (ending.get() != null) {
+            return invalid("the game is over");
+        }
+        SquareList changed = new SquareList();
+        try {
+            if (mineField.tryReveal(row, column, cascade, changed) == 0) {
+                return invalid("square already played");
+            }
+        } catch (ArrayIndexOutOfBoundsException aie) {
+            return invalid(aie.getMessage());
+        } // try-catch
+        int round = rounds.incrementAndGet();
+        if (mineField.isMine(row, column)) {
+            return end(MoveResult.Outcome.LOST, changed, round, 0);
+        }
+        return played(changed, round);
+    } // reveal
+
+    /**
+     * Flags the square given by {@code row} and {@code column} if nobody has revealed or
+     * flagged it yet.
+     *
+     * @param row    the row number of the square
+     * @param column the column number of the square
+     * @return what the move did; {@code INVALID} if the square is out of bounds or already
+     * played, or the game is over
+     */
+    public MoveResult mark(int row, int column) {
+        if (ending.get() != null) {
+            return invalid("the game is over");
+        }
+        try {
+            if (!mineField.tryFlag(row, column)) {
+                return invalid("square already played");
+            }
+        } catch (ArrayIndexOutOfBoundsException aie) {
+            return invalid(aie.getMessage());
+        } // try-catch
+        SquareList changed = new SquareList();
+        changed.add(row * cols + column);
+        return played(changed, rounds.incrementAndGet());
+    } // mark
+
+    /**
+     * Adds a "?" to the square given by {@code row} and {@code column} if nobody has
+     * revealed or flagged it yet.
+     *
+     * @param row    the row number of the square
+     * @param column the column number of the square
+     * @return what the move did; {@code INVALID} if the square is out of bounds or already
+     * played, or the game is over
+     */
+    public MoveResult guess(int row, int column) {
+        if (ending.get() != null) {
+            return invalid("the game is over");
+        }
+        try {
+            if (!mineField.tryGuess(row, column)) {
+                return invalid("square already played");
+            }
+        } catch (ArrayIndexOutOfBoundsException aie) {
+            return invalid(aie.getMessage());
+        } // try-catch
+        SquareList changed = new SquareList();
+        changed.add(row * cols + column);
+        int round = rounds.incrementAndGet();
+        return new MoveResult(MoveResult.Outcome.PLAYED, null, changed.toArray(), round, 0);
+    } // guess
+
+    /**
+     * Returns the mine field the game is played on.
+     *
+     * @return the mine field
+     */
+    public ConcurrentBoard getMineField() {
+        return mineField;
+    } // getMineField
+
+    /**
+     * Returns the number of rounds played by all of the players together.
+     *
+     * @return the number of rounds
+     */
+    public int getRounds() {
+        return rounds.get();
+    } // getRounds
+
+    /**
+     * Returns {@code true} if the game has been won or lost.
+     *
+     * @return true if the game is over, otherwise false
+     */
+    public boolean isOver() {
+        return ending.get() != null;
+    } // isOver
+
+    /**
+     * Returns the move that ended the game: the only move answered with {@code WON} or
+     * {@code LOST}, with the score if the game was won.
+     *
+     * @return the result of the move, or {@code null} if the game is not over
+     */
+    public MoveResult getEnding() {
+        return ending.get();
+    } // getEnding
+
+    /**
+     * Returns the result of a reveal or mark that changed the mine field, which wins the
+     * game if the mine field is now cleared and nobody has ended the game yet.
+     *
+     * @param changed the squares the move changed
+     * @param round   the round of the move
+     * @return the result
+     */
+    private MoveResult played(SquareList changed, int round) {
+        if (mineField.isCleared(numberOfMines)) {
+            double score = 100.0 * rows * cols / round;
+            return end(MoveResult.Outcome.WON, changed, round, score);
+        }
+        return new MoveResult(MoveResult.Outcome.PLAYED, null, changed.toArray(), round, 0);
+    } // played
+
+    /**
+     * Ends the game with {@code outcome} if nobody has ended it yet.
+     *
+     * @param outcome how the game ended: {@code WON} or {@code LOST}
+     * @param changed the squares the move changed
+     * @param round   the round of the move
+     * @param score   the score if the game was won, otherwise 0
+     * @return the result, or {@code PLAYED} if another move ended the game first
+     */
+    private MoveResult end(MoveResult.Outcome outcome, SquareList changed, int round,
+        double score) {
+        MoveResult result = new MoveResult(outcome, null, changed.toArray(), round, score);
+        if (ending.compareAndSet(null, result)) {
+            return result;
+        }
+        return new MoveResult(MoveResult.Outcome.PLAYED, "the game is over", result.getChanged(),
+            round, 0);
+    } // end
+
+    /**
+     * Returns the result of a move that did not change the mine field.
+     *
+     * @param message why the move is invalid
+     * @return the result
+     */
+    private MoveResult invalid(String message) {
+        return new MoveResult(MoveResult.Outcome.INVALID, message, new int[0], rounds.get(), 0);
+    } // invalid
+
+} // SharedGame
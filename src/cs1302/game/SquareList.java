@@ -0,0 +1,67 @@
+package cs1302.game;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of square indices, where square ({@code row}, {@code col}) of a
+ * mine field with {@code cols} columns has index {@code row * cols + col}. Indices are
+ * stored as {@code int}s, so a list can be cleared and reused without allocating.
+ */
+public class SquareList {
+
+    private int[] squares = new int[8];
+    private int size = 0;
+
+    /**
+     * Adds the square with index {@code square} to the end of the list.
+     *
+     * @param square the index of the square
+     */
+    public void add(int square) {
+        if (size == squares.length) {
+            squares = Arrays.copyOf(squares, size * 2);
+        }
+        squares[size++] = square;
+    } // add
+
+    /**
+     * Returns the index of the square at position {@code i} of the list.
+     *
+     * @param i the position in the list
+     * @return the index of the square
+     * @throws ArrayIndexOutOfBoundsException if {@code i} is not less than {@code size}
+     */
+    public int get(int i) {
+        if (i >= size) {
+            throw new ArrayIndexOutOfBoundsException(
+                "Index " + i + " out of bounds for length " + size);
+        }
+        return squares[i];
+    } // get
+
+    /**
+     * Returns the number of squares in the list.
+     *
+     * @return the number of squares
+     */
+    public int size() {
+        return size;
+    } // size
+
+    /**
+     * Removes every square from the list.
+     */
+    public void clear() {
+        size = 0;
+    } // clear
+
+    /**
+     * Returns a new array with the indices of the squares in the list.
+     *
+     * @return the indices of the squares
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(squares, size);
+    } // toArray
+
+} // SquareList
@@ -0,0 +1,97 @@
+package cs1302.game;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Compares the memory used by a {@code BitBoard} with the memory used by the
+ * {@code boolean[][]} and {@code String[][]} arrays that {@code MinesweeperGame} kept the
+ * mine field in before {@code Board} was added. The size of each is the number of bytes
+ * the current thread allocates while creating it, as counted by the Java runtime, which
+ * is the memory the mine field holds for as long as the game lasts. The old arrays are
+ * measured twice: for a new game, where every marker is the shared " " string, and for a
+ * game with every square revealed, where every marker is a string made by
+ * {@code Integer.toString}, as the old {@code reveal} made them.
+ *
+ * <p>
+ * With 64-bit HotSpot and compressed pointers, a 100 x 100 mine field takes about 15 KB
+ * as a {@code BitBoard}, 54 KB as the old arrays of a new game, and 534 KB once every
+ * square is revealed. The sizes are given in the message of a failed check.
+ */
+public class BitBoardFootprintTest {
+
+    private static final int[] SIZES = {10, 100, 1000};
+
+    /**
+     * Checks that a {@code BitBoard} is smaller than the old arrays at every size, and
+     * uses at most 1.5 bytes and a few words per square.
+     */
+    @Test
+    public void bitBoardIsSmallerThanArrays() {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        assumeTrue(threadBean instanceof com.sun.management.ThreadMXBean,
+            "the Java runtime cannot count allocated bytes");
+        com.sun.management.ThreadMXBean allocations =
+            (com.sun.management.ThreadMXBean) threadBean;
+        assumeTrue(allocations.isThreadAllocatedMemorySupported(),
+            "the Java runtime cannot count allocated bytes");
+        allocations.setThreadAllocatedMemoryEnabled(true);
+        for (int size : SIZES) {
+            long bitBoard = allocated(allocations, () -> new BitBoard(size, size));
+            long newGame = allocated(allocations, () -> arrays(size, false));
+            long revealed = allocated(allocations, () -> arrays(size, true));
+            String sizes = size + " x " + size + ": BitBoard " + bitBoard + " B, arrays "
+                + newGame + " B new, " + revealed + " B revealed";
+            assertTrue(bitBoard < newGame, sizes + "; BitBoard is not smaller");
+            assertTrue(bitBoard <= 1.5 * size * size + 256,
+                sizes + "; BitBoard is more than 1.5 bytes per square");
+        } // for
+    } // bitBoardIsSmallerThanArrays
+
+    /**
+     * Returns the number of bytes the current thread allocates while running
+     * {@code create}, the smallest of a few runs so that nothing else the runtime does on
+     * the thread is counted.
+     *
+     * @param allocations counts the bytes allocated by a thread
+     * @param create      creates the object to measure
+     * @return the number of bytes allocated
+     */
+    private static long allocated(com.sun.management.ThreadMXBean allocations,
+        Runnable create) {
+        long id = Thread.currentThread().getId();
+        long least = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            long before = allocations.getThreadAllocatedBytes(id);
+            create.run();
+            least = Math.min(least, allocations.getThreadAllocatedBytes(id) - before);
+        } // for
+        return least;
+    } // allocated
+
+    /**
+     * Creates the arrays {@code MinesweeperGame} kept a {@code size} x {@code size} mine
+     * field in before {@code Board} was added.
+     *
+     * @param size     the number of rows and columns
+     * @param revealed whether every square is revealed, with a new string holding the
+     *                 number of mines around it, instead of the shared " " string
+     * @return the arrays
+     */
+    private static Object[] arrays(int size, boolean revealed) {
+        boolean[][] isMine = new boolean[size][size];
+        String[][] markers = new String[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                markers[i][j] = revealed ? Integer.toString((i + j) % 9) : " ";
+            } // for-inner
+        } // for-outer
+        return new Object[] {isMine, markers};
+    } // arrays
+
+} // BitBoardFootprintTest
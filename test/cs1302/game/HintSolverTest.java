@@ -0,0 +1,355 @@
+package cs1302.game;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests {@code HintSolver} against brute force and against itself. Small random mine
+ * fields are played part of the way with random moves, and after every move the hint is
+ * checked against every way of placing mines on the hidden squares next to a revealed
+ * number: a square called safe (or a mine) must be safe (or a mine) in every placement
+ * that agrees with the numbers and the number of mines, every square that is safe (or a
+ * mine) in every placement that agrees with the numbers alone must be called so, and the
+ * chances must match the same placements weighed the way the solver weighs them. Larger
+ * mine fields are played with long random move sequences, and after every move the hint
+ * of the engine, whose solver only works out again what the moves changed, must be the
+ * same as the hint of a new solver; that test is tagged "slow".
+ */
+public class HintSolverTest {
+
+    private static final double EPSILON = 1e-6;
+
+    /**
+     * Checks hints on small mine fields against every placement of mines.
+     */
+    @Test
+    public void hintsMatchEnumeration() {
+        Random random = new Random(1302);
+        int hints = 0;
+        int withChances = 0;
+        for (int game = 0; game < 300; game++) {
+            int rows = 2 + random.nextInt(3);
+            int cols = 3 + random.nextInt(2);
+            int numberOfMines = 1 + random.nextInt(rows * cols / 2);
+            Board mineField = RandomGames.randomMineField(rows, cols, numberOfMines, random);
+            MinesweeperEngine engine = new MinesweeperEngine(mineField, numberOfMines);
+            engine.setCascade(random.nextBoolean());
+            for (int move = 0; move < rows * cols && !engine.isOver(); move++) {
+                RandomGames.playSafely(engine, mineField, random);
+                Hint hint = new HintSolver(mineField, numberOfMines).hint();
+                String where = "game " + game + ", move " + move;
+                if (checkAgainstEnumeration(hint, mineField, numberOfMines, where)) {
+                    withChances++;
+                }
+                hints++;
+            } // for
+        } // for
+        assertTrue(hints > 1000, "too few hints checked: " + hints);
+        assertTrue(withChances > 100, "too few hints with chances checked: " + withChances);
+    } // hintsMatchEnumeration
+
+    /**
+     * Checks that the hint of a solver kept up to date move by move is the same as the hint
+     * of a new solver, after every move of long random games. Smaller or shorter games miss
+     * bugs this has found, and this takes about half a minute, so it is tagged "slow" and
+     * only runs when asked for.
+     */
+    @Test
+    @Tag("slow")
+    public void incrementalHintsMatchNewSolver() {
+        Random random = new Random(302);
+        int hints = 0;
+        for (int game = 0; game < 60; game++) {
+            int rows = 6 + random.nextInt(15);
+            int cols = 6 + random.nextInt(15);
+            int numberOfMines = 1 + random.nextInt(rows * cols / 4);
+            Board mineField = RandomGames.randomMineField(rows, cols, numberOfMines, random);
+            MinesweeperEngine engine = new MinesweeperEngine(mineField, numberOfMines);
+            engine.setCascade(random.nextInt(4) == 0);
+            int hintEvery = 1 + random.nextInt(3);
+            for (int move = 0; move < 400 && !engine.isOver(); move++) {
+                RandomGames.playSafely(engine, mineField, random);
+                if (move % hintEvery != 0) {
+                    continue;
+                }
+                Hint kept = engine.hint();
+                Hint fresh = new HintSolver(mineField, numberOfMines).hint();
+                String where = "game " + game + ", move " + move;
+                assertArrayEquals(fresh.getSafe(), kept.getSafe(), where + ": safe");
+                assertArrayEquals(fresh.getMines(), kept.getMines(), where + ": mines");
+                assertArrayEquals(fresh.getSquares(), kept.getSquares(), where + ": squares");
+                assertArrayEquals(fresh.getProbabilities(), kept.getProbabilities(), EPSILON,
+                    where + ": chances");
+                assertEquals(fresh.getOtherProbability(), kept.getOtherProbability(), EPSILON,
+                    where + ": chance away from the frontier");
+                hints++;
+            } // for
+        } // for
+        assertTrue(hints > 2000, "too few hints checked: " + hints);
+    } // incrementalHintsMatchNewSolver
+
+    /**
+     * Checks {@code hint} against every placement of mines on the frontier of
+     * {@code mineField} that agrees with its revealed numbers.
+     *
+     * @param hint          the hint of a solver for the mine field
+     * @param mineField     the mine field
+     * @param numberOfMines the number of mines in the mine field
+     * @param where         the game and move, for failure messages
+     * @return true if the hint gave chances, which were checked too
+     */
+    private static boolean checkAgainstEnumeration(Hint hint, Board mineField,
+        int numberOfMines, String where) {
+        int rows = mineField.getRows();
+        int cols = mineField.getCols();
+        int squares = rows * cols;
+        int[] frontier = frontier(mineField);
+        int f = frontier.length;
+        int others = squares - mineField.getNumRevealed() - f;
+        List<long[]> numbers = numbers(mineField, frontier);
+        // every placement on the frontier that agrees with the numbers
+        List<Long> placements = new ArrayList<Long>();
+        for (long mask = 0; mask < 1L << f; mask++) {
+            boolean fits = true;
+            for (int j = 0; j < numbers.size() && fits; j++) {
+                fits = Long.bitCount(mask & numbers.get(j)[0]) == numbers.get(j)[1];
+            } // for
+            if (fits) {
+                placements.add(mask);
+            }
+        } // for
+        assertTrue(placements.size() > 0, where + ": the real placement was not found");
+        // chance of a mine on each square, counting placements on the whole mine field
+        double[] mineWays = new double[squares];
+        double otherWays = 0;
+        double allWays = 0;
+        long alwaysMine = (1L << f) - 1;
+        long neverMine = (1L << f) - 1;
+        for (long mask : placements) {
+            alwaysMine &= mask;
+            neverMine &= ~mask;
+            int left = numberOfMines - Long.bitCount(mask);
+            double ways = choose(others, left);
+            allWays += ways;
+            otherWays += choose(others - 1, left - 1);
+            for (int i = 0; i < f; i++) {
+                if ((mask >>> i & 1) != 0) {
+                    mineWays[frontier[i]] += ways;
+                }
+            } // for
+        } // for
+        boolean[] onFrontier = new boolean[squares];
+        for (int x : frontier) {
+            onFrontier[x] = true;
+        } // for
+        for (int x : hint.getSafe()) {
+            double chance = onFrontier[x] ? mineWays[x] / allWays : otherWays / allWays;
+            assertEquals(0, chance, where + ": square " + x + " called safe");
+        } // for
+        for (int x : hint.getMines()) {
+            double chance = onFrontier[x] ? mineWays[x] / allWays : otherWays / allWays;
+            assertEquals(1, chance, EPSILON, where + ": square " + x + " called a mine");
+        } // for
+        for (int i = 0; i < f; i++) {
+            int x = frontier[i];
+            if ((neverMine >>> i & 1) != 0) {
+                assertTrue(Arrays.binarySearch(hint.getSafe(), x) >= 0,
+                    where + ": square " + x + " is safe but not called safe");
+            }
+            if ((alwaysMine >>> i & 1) != 0 && !mineField.isFlagged(x / cols, x % cols)) {
+                assertTrue(Arrays.binarySearch(hint.getMines(), x) >= 0,
+                    where + ": square " + x + " is a mine but not called a mine");
+            }
+        } // for
+        if (hint.getSafe().length > 0) {
+            return false;
+        }
+        checkChances(hint, placements, frontier, others, numberOfMines, alwaysMine, where);
+        return true;
+    } // checkAgainstEnumeration
+
+    /**
+     * Checks the chances of {@code hint} against {@code placements} weighed the way the
+     * solver weighs them: each square away from the frontier holds a mine with the same
+     * chance, picked so that the expected number of mines is the number of mines in the
+     * mine field, so a placement of {@code k} mines on the frontier counts {@code e^(t k)}
+     * times as much as one with none, where {@code t} is the log odds of that chance.
+     *
+     * @param hint          the hint
+     * @param placements    every placement on the frontier that agrees with the numbers
+     * @param frontier      the frontier squares, in the order of the bits of a placement
+     * @param others        the number of hidden squares away from the frontier
+     * @param numberOfMines the number of mines in the mine field
+     * @param alwaysMine    the squares that hold a mine in every placement
+     * @param where         the game and move, for failure messages
+     */
+    private static void checkChances(Hint hint, List<Long> placements, int[] frontier,
+        int others, int numberOfMines, long alwaysMine, String where) {
+        double low = -40;
+        double high = 40;
+        for (int step = 0; step < 60; step++) {
+            double t = (low + high) / 2;
+            double expected = others / (1 + Math.exp(-t)) + expectedMines(placements, t);
+            if (expected < numberOfMines) {
+                low = t;
+            } else {
+                high = t;
+            } // if
+        } // for
+        double t = (low + high) / 2;
+        double top = Double.NEGATIVE_INFINITY;
+        for (long mask : placements) {
+            top = Math.max(top, Long.bitCount(mask) * t);
+        } // for
+        double total = 0;
+        double[] mines = new double[frontier.length];
+        for (long mask : placements) {
+            double weight = Math.exp(Long.bitCount(mask) * t - top);
+            total += weight;
+            for (int i = 0; i < frontier.length; i++) {
+                if ((mask >>> i & 1) != 0) {
+                    mines[i] += weight;
+                }
+            } // for
+        } // for
+        List<Integer> expectedSquares = new ArrayList<Integer>();
+        for (int i = 0; i < frontier.length; i++) {
+            if ((alwaysMine >>> i & 1) == 0) {
+                expectedSquares.add(frontier[i]);
+            }
+        } // for
+        int[] squares = hint.getSquares();
+        assertEquals(expectedSquares.size(), squares.length, where + ": squares");
+        for (int k = 0; k < squares.length; k++) {
+            int i = Arrays.binarySearch(frontier, squares[k]);
+            assertEquals(expectedSquares.get(k).intValue(), squares[k], where + ": squares");
+            assertEquals(mines[i] / total, hint.getProbabilities()[k], EPSILON,
+                where + ": chance of square " + squares[k]);
+        } // for
+        if (others > 0) {
+            assertEquals(1 / (1 + Math.exp(-t)), hint.getOtherProbability(), EPSILON,
+                where + ": chance away from the frontier");
+        }
+    } // checkChances
+
+    /**
+     * Returns the expected number of mines in {@code placements} when a placement of
+     * {@code k} mines counts {@code e^(t k)} times.
+     *
+     * @param placements the placements
+     * @param t          the log odds
+     * @return the expected number of mines
+     */
+    private static double expectedMines(List<Long> placements, double t) {
+        double top = Double.NEGATIVE_INFINITY;
+        for (long mask : placements) {
+            top = Math.max(top, Long.bitCount(mask) * t);
+        } // for
+        double total = 0;
+        double mines = 0;
+        for (long mask : placements) {
+            double weight = Math.exp(Long.bitCount(mask) * t - top);
+            total += weight;
+            mines += weight * Long.bitCount(mask);
+        } // for
+        return mines / total;
+    } // expectedMines
+
+    /**
+     * Returns the hidden squares next to a revealed square, in increasing order.
+     *
+     * @param mineField the mine field
+     * @return the frontier squares
+     */
+    private static int[] frontier(Board mineField) {
+        int rows = mineField.getRows();
+        int cols = mineField.getCols();
+        List<Integer> frontier = new ArrayList<Integer>();
+        for (int x = 0; x < rows * cols; x++) {
+            if (!mineField.isRevealed(x / cols, x % cols)
+                && !revealedAround(mineField, x).isEmpty()) {
+                frontier.add(x);
+            }
+        } // for
+        return frontier.stream().mapToInt(Integer::intValue).toArray();
+    } // frontier
+
+    /**
+     * Returns, for every revealed square next to a frontier square, the bits of the
+     * frontier squares next to it and the number of mines next to it.
+     *
+     * @param mineField the mine field
+     * @param frontier  the frontier squares
+     * @return the numbers, each as {bits, count}
+     */
+    private static List<long[]> numbers(Board mineField, int[] frontier) {
+        int cols = mineField.getCols();
+        List<long[]> numbers = new ArrayList<long[]>();
+        for (int x = 0; x < mineField.getRows() * cols; x++) {
+            if (!mineField.isRevealed(x / cols, x % cols)) {
+                continue;
+            }
+            long bits = 0;
+            for (int i = 0; i < frontier.length; i++) {
+                if (revealedAround(mineField, frontier[i]).contains(x)) {
+                    bits |= 1L << i;
+                }
+            } // for
+            if (bits != 0) {
+                numbers.add(new long[] {bits, mineField.getNumAdjMines(x / cols, x % cols)});
+            }
+        } // for
+        return numbers;
+    } // numbers
+
+    /**
+     * Returns the revealed squares next to square {@code x}.
+     *
+     * @param mineField the mine field
+     * @param x         the index of the square
+     * @return the revealed squares
+     */
+    private static List<Integer> revealedAround(Board mineField, int x) {
+        int rows = mineField.getRows();
+        int cols = mineField.getCols();
+        List<Integer> around = new ArrayList<Integer>();
+        for (int r = Math.max(x / cols - 1, 0); r <= Math.min(x / cols + 1, rows - 1); r++) {
+            for (int c = Math.max(x % cols - 1, 0); c <= Math.min(x % cols + 1, cols - 1);
+                c++) {
+                if (r * cols + c != x && mineField.isRevealed(r, c)) {
+                    around.add(r * cols + c);
+                }
+            } // for-inner
+        } // for-outer
+        return around;
+    } // revealedAround
+
+    /**
+     * Returns the number of ways to choose {@code k} of {@code n} things, or 0 if there
+     * are none.
+     *
+     * @param n the number of things
+     * @param k the number chosen
+     * @return the number of ways
+     */
+    private static double choose(int n, int k) {
+        if (k < 0 || k > n) {
+            return 0;
+        }
+        double ways = 1;
+        for (int i = 0; i < k; i++) {
+            ways = ways * (n - i) / (i + 1);
+        } // for
+        return ways;
+    } // choose
+
+} // HintSolverTest
@@ -0,0 +1,90 @@
+package cs1302.game;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that the revealed and flagged counts kept by the mine field, and so
+ * {@code MinesweeperEngine.isWon}, always agree with a full scan of the mine field. Many
+ * games on random mine fields are played with long random sequences of reveal, mark, and
+ * guess commands, in both reveal modes, and the counts are checked after every move.
+ */
+public class MinesweeperEngineTest {
+
+    private static final int GAMES = 400;
+    private static final int MOVES = 3000;
+
+    /**
+     * Plays random games and checks the counts and {@code isWon} after every move.
+     */
+    @Test
+    public void countersMatchScanAfterRandomMoves() {
+        Random random = new Random(1302);
+        int moves = 0;
+        int won = 0;
+        for (int game = 0; game < GAMES; game++) {
+            int rows = 1 + random.nextInt(12);
+            int cols = 2 + random.nextInt(12);
+            int numberOfMines = 1 + random.nextInt(rows * cols - 1);
+            Board mineField = RandomGames.randomMineField(rows, cols, numberOfMines, random);
+            MinesweeperEngine engine = new MinesweeperEngine(mineField, numberOfMines);
+            engine.setCascade(random.nextBoolean());
+            for (int move = 0; move < MOVES && !engine.isOver(); move++) {
+                RandomGames.play(engine, mineField, random);
+                moves++;
+                String where = "game " + game + ", move " + move;
+                assertEquals(countRevealed(mineField), mineField.getNumRevealed(), where);
+                assertEquals(countFlagged(mineField), mineField.getNumFlagged(), where);
+                assertEquals(engine.isWonByScan(), engine.isWon(), where);
+                assertEquals(engine.isWonByScan(),
+                    engine.getEnding() == MoveResult.Outcome.WON, where);
+            } // for
+            if (engine.getEnding() == MoveResult.Outcome.WON) {
+                won++;
+            }
+        } // for
+        assertTrue(moves > GAMES * 10, "too few moves played: " + moves);
+        assertTrue(won > 0, "no game was won, so winning was never checked");
+    } // countersMatchScanAfterRandomMoves
+
+    /**
+     * Returns the number of revealed squares, counted one square at a time.
+     *
+     * @param mineField the mine field
+     * @return the number of revealed squares
+     */
+    private static int countRevealed(Board mineField) {
+        int count = 0;
+        for (int i = 0; i < mineField.getRows(); i++) {
+            for (int j = 0; j < mineField.getCols(); j++) {
+                if (mineField.isRevealed(i, j)) {
+                    count++;
+                }
+            } // for-inner
+        } // for-outer
+        return count;
+    } // countRevealed
+
+    /**
+     * Returns the number of flagged squares, counted one square at a time.
+     *
+     * @param mineField the mine field
+     * @return the number of flagged squares
+     */
+    private static int countFlagged(Board mineField) {
+        int count = 0;
+        for (int i = 0; i < mineField.getRows(); i++) {
+            for (int j = 0; j < mineField.getCols(); j++) {
+                if (mineField.isFlagged(i, j)) {
+                    count++;
+                }
+            } // for-inner
+        } // for-outer
+        return count;
+    } // countFlagged
+
+} // MinesweeperEngineTest
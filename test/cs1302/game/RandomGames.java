@@ -0,0 +1,118 @@
+package cs1302.game;
+
+import java.util.Random;
+
+/**
+ * Random mine fields and random commands shared by the tests that play many random games.
+ * Everything comes from a given {@code Random}, so a test with a fixed seed plays the same
+ * games every time.
+ */
+final class RandomGames {
+
+    /**
+     * This class only has static methods.
+     */
+    private RandomGames() {
+    } // constructor
+
+    /**
+     * Returns a new mine field with {@code numberOfMines} mines at random squares.
+     *
+     * @param rows          the number of rows
+     * @param cols          the number of columns
+     * @param numberOfMines the number of mines
+     * @param random        where the squares come from
+     * @return the mine field
+     */
+    static Board randomMineField(int rows, int cols, int numberOfMines, Random random) {
+        Board mineField = new BitBoard(rows, cols);
+        int placed = 0;
+        while (placed < numberOfMines) {
+            int row = random.nextInt(rows);
+            int col = random.nextInt(cols);
+            if (!mineField.isMine(row, col)) {
+                mineField.placeMine(row, col);
+                placed++;
+            }
+        } // while
+        return mineField;
+    } // randomMineField
+
+    /**
+     * Plays one random command on {@code engine}. Reveals are mostly of squares without a
+     * mine so games last long; marks are mostly of mines so some games are won; a few
+     * commands are out of bounds.
+     *
+     * @param engine    the game
+     * @param mineField the mine field of the game
+     * @param random    where the command comes from
+     */
+    static void play(MinesweeperEngine engine, Board mineField, Random random) {
+        int rows = mineField.getRows();
+        int cols = mineField.getCols();
+        int row = random.nextInt(rows);
+        int col = random.nextInt(cols);
+        int pick = random.nextInt(100);
+        if (pick == 0) {
+            engine.reveal(rows, col);
+        } else if (pick < 45) {
+            int x = safeSquare(mineField, row * cols + col, random);
+            if (!mineField.isMine(x / cols, x % cols) || random.nextInt(20) == 0) {
+                engine.reveal(x / cols, x % cols);
+            }
+        } else if (pick < 85) {
+            for (int tries = 0; tries < 4 && !mineField.isMine(row, col); tries++) {
+                row = random.nextInt(rows);
+                col = random.nextInt(cols);
+            } // for
+            engine.mark(row, col);
+        } else {
+            engine.guess(row, col);
+        } // if
+    } // play
+
+    /**
+     * Plays one random command on {@code engine} that does not lose the game: mostly a
+     * reveal of a square without a mine, otherwise a mark or a guess of any square.
+     *
+     * @param engine    the game
+     * @param mineField the mine field of the game
+     * @param random    where the command comes from
+     */
+    static void playSafely(MinesweeperEngine engine, Board mineField, Random random) {
+        int rows = mineField.getRows();
+        int cols = mineField.getCols();
+        int row = random.nextInt(rows);
+        int col = random.nextInt(cols);
+        int pick = random.nextInt(10);
+        if (pick < 6) {
+            int x = safeSquare(mineField, row * cols + col, random);
+            if (!mineField.isMine(x / cols, x % cols)) {
+                engine.reveal(x / cols, x % cols);
+            }
+        } else if (pick < 9) {
+            engine.mark(row, col);
+        } else {
+            engine.guess(row, col);
+        } // if
+    } // playSafely
+
+    /**
+     * Returns square {@code x} if it has no mine, otherwise the first of up to 100 random
+     * squares that has no mine, or the last one tried if they all have one.
+     *
+     * @param mineField the mine field
+     * @param x         the index of the first square tried
+     * @param random    where the other squares come from
+     * @return the index of the square
+     */
+    private static int safeSquare(Board mineField, int x, Random random) {
+        int rows = mineField.getRows();
+        int cols = mineField.getCols();
+        for (int tries = 0; tries < 100 && mineField.isMine(x / cols, x % cols); tries++) {
+            x = random.nextInt(rows) * cols + random.nextInt(cols);
+        } // for
+        return x;
+    } // safeSquare
+
+} // RandomGames
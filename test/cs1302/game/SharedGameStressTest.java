@@ -0,0 +1,200 @@
+package cs1302.game;
+
+import java.util.Random;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Stress test for {@code SharedGame} and {@code ConcurrentBoard}. Plays {@code GAMES}
+ * games with each number of threads in {@code THREADS}, where every thread plays every
+ * square of the same mine field at once, in its own random order, so most squares are
+ * played by several threads at the same moment. After every game it checks that:
+ * <ul>
+ * <li>every revealed or flagged square was changed by exactly one successful move,</li>
+ * <li>at most one move was answered with {@code WON} or {@code LOST}, and it is the move
+ * returned by {@code getEnding},</li>
+ * <li>a game with no mistakes was won, and a won game has every mine flagged and every
+ * other square revealed,</li>
+ * <li>the number of revealed and flagged squares matches the squares themselves.</li>
+ * </ul>
+ * One game in four is played with mistakes (a few mines revealed and a few squares flagged
+ * wrongly), and every other game reveals regions as in cascade reveal mode. Every failed
+ * check counts as one violation, and the test fails if there are any.
+ */
+public class SharedGameStressTest {
+
+    private static final double DENSITY = 0.15;
+    private static final int GAMES = 200;
+    private static final int SIZE = 64;
+    private static final int[] THREADS = {1, 2, 4, 8, 16, 32};
+
+    /**
+     * Plays the games with each number of threads and checks that none of them broke a
+     * rule.
+     *
+     * @throws InterruptedException if interrupted while waiting for the threads
+     */
+    @Test
+    public void sharedGamesHaveNoViolations() throws InterruptedException {
+        for (int threads : THREADS) {
+            AtomicLong moves = new AtomicLong();
+            long violations = 0;
+            for (int game = 0; game < GAMES; game++) {
+                violations += play(game, SIZE, threads, moves);
+            } // for
+            assertEquals(0, violations, threads + " threads, " + moves.get() + " moves");
+        } // for
+    } // sharedGamesHaveNoViolations
+
+    /**
+     * Plays one game with {@code threads} threads and checks it.
+     *
+     * @param game    the number of the game, which picks its mines and its mode
+     * @param size    the number of rows and columns
+     * @param threads the number of threads
+     * @param moves   counts every move made
+     * @return the number of checks that failed
+     * @throws InterruptedException if interrupted while waiting for the threads
+     */
+    private static long play(int game, int size, int threads, AtomicLong moves)
+        throws InterruptedException {
+        int numberOfMines = (int) (size * size * DENSITY);
+        BitBoard layout = new BitBoard(size, size);
+        new MineGenerator(size, size, numberOfMines, game).placeMines(layout);
+        ConcurrentBoard mineField = new ConcurrentBoard(layout);
+        SharedGame shared = new SharedGame(mineField, numberOfMines, game % 2 == 0);
+        boolean mistakes = game % 4 == 3;
+        AtomicIntegerArray claims = new AtomicIntegerArray(size * size);
+        AtomicLong decided = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        MoveResult[] endings = new MoveResult[threads];
+        CyclicBarrier start = new CyclicBarrier(threads);
+        Thread[] players = new Thread[threads];
+        for (int p = 0; p < threads; p++) {
+            final int player = p;
+            players[p] = new Thread(() -> {
+                Random random = new Random(game * 1000003L + player);
+                int[] order = shuffled(size * size, random);
+                long made = 0;
+                try {
+                    start.await();
+                } catch (Exception e) {
+                    failed.incrementAndGet();
+                    return;
+                } // try-catch
+                for (int square : order) {
+                    if (shared.isOver()) {
+                        break;
+                    }
+                    int row = square / size;
+                    int col = square % size;
+                    boolean mine = layout.isMine(row, col);
+                    boolean wrong = mistakes && random.nextInt(500) == 0;
+                    MoveResult result;
+                    if (random.nextInt(10) == 0) {
+                        shared.guess(row, col);
+                        made++;
+                    }
+                    if (mine != wrong) {
+                        result = shared.mark(row, col);
+                    } else {
+                        result = shared.reveal(row, col);
+                    } // if
+                    made++;
+                    MoveResult.Outcome outcome = result.getOutcome();
+                    if (outcome == MoveResult.Outcome.INVALID) {
+                        continue;
+                    }
+                    for (int changed : result.getChanged()) {
+                        if (claims.getAndIncrement(changed) != 0) {
+                            failed.incrementAndGet();
+                        }
+                    } // for
+                    if (outcome == MoveResult.Outcome.WON || outcome == MoveResult.Outcome.LOST) {
+                        decided.incrementAndGet();
+                        endings[player] = result;
+                    }
+                } // for
+                moves.addAndGet(made);
+            });
+            players[p].start();
+        } // for
+        for (Thread player : players) {
+            player.join();
+        } // for
+        return failed.get() + check(shared, layout, claims, decided.get(), endings, mistakes);
+    } // play
+
+    /**
+     * Checks a game after every thread has finished.
+     *
+     * @param shared   the game
+     * @param layout   the mines
+     * @param claims   the number of successful moves that changed each square
+     * @param decided  the number of moves answered with {@code WON} or {@code LOST}
+     * @param endings  the move answered with {@code WON} or {@code LOST} by each thread
+     * @param mistakes whether the game was played with mistakes
+     * @return the number of checks that failed
+     */
+    private static long check(SharedGame shared, Board layout, AtomicIntegerArray claims,
+        long decided, MoveResult[] endings, boolean mistakes) {
+        ConcurrentBoard mineField = shared.getMineField();
+        int size = mineField.getRows();
+        long failed = 0;
+        if (decided > 1 || (decided == 1) != shared.isOver()) {
+            failed++;
+        }
+        for (MoveResult ending : endings) {
+            if (ending != null && ending != shared.getEnding()) {
+                failed++;
+            }
+        } // for
+        MoveResult.Outcome outcome = shared.isOver() ? shared.getEnding().getOutcome() : null;
+        if (!mistakes && outcome != MoveResult.Outcome.WON) {
+            failed++;
+        }
+        int revealed = 0;
+        int flagged = 0;
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                boolean played = mineField.isPlayed(i, j);
+                revealed += mineField.isRevealed(i, j) ? 1 : 0;
+                flagged += mineField.isFlagged(i, j) ? 1 : 0;
+                if (played != (claims.get(i * size + j) == 1)) {
+                    failed++;
+                }
+                if (outcome == MoveResult.Outcome.WON
+                    && mineField.isFlagged(i, j) != layout.isMine(i, j)) {
+                    failed++;
+                }
+            } // for-inner
+        } // for-outer
+        if (revealed != mineField.getNumRevealed() || flagged != mineField.getNumFlagged()) {
+            failed++;
+        }
+        return failed;
+    } // check
+
+    /**
+     * Returns the numbers from 0 to {@code n - 1} in random order.
+     *
+     * @param n      how many numbers
+     * @param random where the order comes from
+     * @return the numbers
+     */
+    private static int[] shuffled(int n, Random random) {
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            int j = random.nextInt(i + 1);
+            order[i] = order[j];
+            order[j] = i;
+        } // for
+        return order;
+    } // shuffled
+
+} // SharedGameStressTest